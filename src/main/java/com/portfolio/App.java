@@ -1,8 +1,16 @@
 package com.portfolio;
 
+import com.portfolio.domain.Stock;
 import com.portfolio.service.DatabaseService;
+import com.portfolio.service.DeltaGammaRevaluer;
 import com.portfolio.service.MarketDataPublisher;
 import com.portfolio.service.PortfolioService;
+import com.portfolio.service.PricingContextCache;
+import com.portfolio.service.SpotGridPricer;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.CholeskyCorrelation;
+import com.portfolio.util.FactorCorrelation;
+import com.portfolio.util.GaussianSource;
 
 import java.util.ArrayList;
 
@@ -18,18 +26,48 @@ public class App {
         var dbService = new DatabaseService();
         var productDefinitions = dbService.loadProductDefinitions();
 
-        // 2. Initialize the portfolio service and load the positions from CSV.
-        var portfolioService = new PortfolioService(productDefinitions);
+        // 2. Precompute per-option pricing inputs and refresh them at each day boundary.
+        var pricingContexts = new PricingContextCache(productDefinitions.allOptions(),
+                productDefinitions.riskFreeCurve(), productDefinitions.dividendCurves());
+        pricingContexts.startRollover();
+
+        // 3. Initialize the portfolio service and load the positions from CSV.
+        var portfolioService = new PortfolioService(productDefinitions, pricingContexts);
         portfolioService.loadPortfolio("src/main/resources/portfolio.csv");
+        // Options are fully repriced on every update by default, or revalued from their cached
+        // Greeks between reprices (-Dportfolio.revaluation=DELTA_GAMMA), or interpolated on
+        // precomputed spot grids (SPOT_GRID).
+        switch (System.getProperty("portfolio.revaluation", "FULL")) {
+            case "FULL" -> portfolioService.setDeltaGammaRevaluation(null);
+            case "DELTA_GAMMA" -> portfolioService.setDeltaGammaRevaluation(DeltaGammaRevaluer.Config.DEFAULT);
+            case "SPOT_GRID" -> portfolioService.setSpotGridPricing(
+                    new SpotGridPricer(pricingContexts, SpotGridPricer.Config.DEFAULT));
+            default -> throw new IllegalArgumentException("Unknown portfolio.revaluation setting");
+        }
 
-        // 3. Initialize the market data publisher with the initial state of stocks.
+        // 4. Initialize the market data publisher with the initial state of stocks, stepping each
+        // with its configured price process.
         var initialStocks = new ArrayList<>(productDefinitions.stocks().values());
-        var marketDataPublisher = new MarketDataPublisher(initialStocks);
+        var marketDataPublisher = new MarketDataPublisher(initialStocks,
+                GaussianSource.pseudoRandom(System.nanoTime()), TickScheduler.Config.configured(),
+                productDefinitions.priceProcesses());
+
+        // 5. Correlate the price shocks: a full Cholesky factor by default, or the factor model
+        // (-Dportfolio.correlation=FACTOR) for large universes, or none (NONE).
+        var tickers = initialStocks.stream().map(Stock::ticker).toList();
+        switch (System.getProperty("portfolio.correlation", "CHOLESKY")) {
+            case "CHOLESKY" -> marketDataPublisher.setShockCorrelation(
+                    CholeskyCorrelation.of(tickers, productDefinitions.correlations()));
+            case "FACTOR" -> marketDataPublisher.setShockCorrelation(
+                    FactorCorrelation.of(tickers, productDefinitions.factorLoadings()));
+            case "NONE" -> marketDataPublisher.setShockCorrelation(null);
+            default -> throw new IllegalArgumentException("Unknown portfolio.correlation setting");
+        }
 
-        // 4. Register the portfolio service as a listener to market updates.
-        marketDataPublisher.addListener(portfolioService);
+        // 6. Register the portfolio service as a listener to updates of the stocks it depends on.
+        marketDataPublisher.addListener(portfolioService, portfolioService.tickers());
 
-        // 5. Start the market simulation in a new thread.
+        // 7. Start the market simulation in a new thread.
         var marketThread = new Thread(marketDataPublisher);
         marketThread.start();
 
@@ -0,0 +1,74 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.AmericanOptionPricer;
+import com.portfolio.util.BlackScholesCalculator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures Leisen-Reimer American option pricing throughput at 200 and 1000
+ * steps, sequentially and in parallel, and checks convergence against
+ * Black-Scholes for calls without dividends (where early exercise is never
+ * optimal).
+ * Run with {@code gradle benchmark -PbenchmarkClass=AmericanOptionBenchmark}.
+ */
+public class AmericanOptionBenchmark {
+    private static final int OPTIONS = 2_000;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] spot = new double[OPTIONS];
+        double[] strike = new double[OPTIONS];
+        double[] vol = new double[OPTIONS];
+        double[] timeToExpiry = new double[OPTIONS];
+        double[] rate = new double[OPTIONS];
+        double[] dividendYield = new double[OPTIONS];
+        boolean[] isCall = new boolean[OPTIONS];
+        double[] out = new double[OPTIONS];
+        for (int i = 0; i < OPTIONS; i++) {
+            spot[i] = rnd.nextDouble(50, 150);
+            strike[i] = rnd.nextDouble(50, 150);
+            vol[i] = rnd.nextDouble(0.1, 0.8);
+            timeToExpiry[i] = rnd.nextDouble(0.05, 2.0);
+            rate[i] = RATE;
+            isCall[i] = rnd.nextBoolean();
+        }
+
+        for (int steps : new int[] { 200, 1000 }) {
+            double maxCallError = 0;
+            double minPutPremium = Double.MAX_VALUE;
+            for (int i = 0; i < OPTIONS; i++) {
+                double american = AmericanOptionPricer.price(isCall[i], spot[i], strike[i], vol[i], timeToExpiry[i],
+                        RATE, 0.0, steps);
+                double european = BlackScholesCalculator.price(isCall[i], spot[i], strike[i], vol[i],
+                        timeToExpiry[i]);
+                if (isCall[i]) {
+                    maxCallError = Math.max(maxCallError, Math.abs(american - european));
+                } else {
+                    minPutPremium = Math.min(minPutPremium, american - european);
+                }
+            }
+            System.out.printf("%4d steps: max |call - Black-Scholes| %.2e, min put early-exercise premium %.2e%n",
+                    steps, maxCallError, minPutPremium);
+
+            int n = steps;
+            int rounds = steps > 500 ? 3 : 10;
+            double sequential = Bench.opsPerSecond(rounds, rounds, OPTIONS, () -> {
+                double sum = 0;
+                for (int i = 0; i < OPTIONS; i++) {
+                    sum += AmericanOptionPricer.price(isCall[i], spot[i], strike[i], vol[i], timeToExpiry[i],
+                            rate[i], dividendYield[i], n);
+                }
+                Bench.sink = sum;
+            });
+            Bench.report(steps + " steps, one thread", sequential, "prices/s");
+
+            double parallel = Bench.opsPerSecond(rounds, rounds, OPTIONS, () -> {
+                AmericanOptionPricer.calculate(spot, strike, vol, timeToExpiry, rate, dividendYield, isCall, n, out);
+                Bench.sink = out[0];
+            });
+            Bench.report(steps + " steps, common pool", parallel, "prices/s");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.portfolio.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Minimal timing harness shared by the benchmark entry points.
+ * It warms the code up, then reports the best observed throughput so that
+ * JIT and GC noise from a single round does not dominate the result.
+ */
+final class Bench {
+    // Results are accumulated here so the JIT cannot eliminate the measured work.
+    static volatile double sink;
+
+    private Bench() {
+    }
+
+    /**
+     * Runs the body repeatedly and returns the best throughput observed.
+     * 
+     * @param warmupRounds Rounds executed before measuring.
+     * @param rounds       Measured rounds.
+     * @param opsPerRound  Number of logical operations performed by one call of
+     *                     the body.
+     * @param body         The work to measure.
+     * @return The best throughput in operations per second.
+     */
+    static double opsPerSecond(int warmupRounds, int rounds, long opsPerRound, Runnable body) {
+        for (int i = 0; i < warmupRounds; i++) {
+            body.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return opsPerRound * 1e9 / Math.max(1, best);
+    }
+
+    /**
+     * Prints one aligned result line.
+     */
+    static void report(String name, double opsPerSecond, String unit) {
+        System.out.println(String.format(Locale.US, "%-40s %,18.0f %s", name, opsPerSecond, unit));
+    }
+}
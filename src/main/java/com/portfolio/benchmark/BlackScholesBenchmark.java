@@ -0,0 +1,60 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the per-record Black-Scholes path against the batch
+ * struct-of-arrays entry point.
+ * Run with {@code gradle benchmark -PbenchmarkClass=BlackScholesBenchmark}.
+ */
+public class BlackScholesBenchmark {
+    private static final int OPTIONS = 50_000;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        var today = LocalDate.now();
+
+        var options = new EuropeanOption[OPTIONS];
+        double[] spot = new double[OPTIONS];
+        double[] strike = new double[OPTIONS];
+        double[] vol = new double[OPTIONS];
+        double[] timeToExpiry = new double[OPTIONS];
+        boolean[] isCall = new boolean[OPTIONS];
+        double[] out = new double[OPTIONS];
+
+        for (int i = 0; i < OPTIONS; i++) {
+            var type = rnd.nextBoolean() ? OptionType.CALL : OptionType.PUT;
+            var expiry = today.plusDays(rnd.nextInt(1, 730));
+            options[i] = new EuropeanOption("OPT" + i, "UND", type, rnd.nextDouble(50, 150), expiry);
+            spot[i] = rnd.nextDouble(50, 150);
+            strike[i] = options[i].strikePrice();
+            vol[i] = rnd.nextDouble(0.1, 0.8);
+            timeToExpiry[i] = ChronoUnit.DAYS.between(today, expiry) / 365.0;
+            isCall[i] = type == OptionType.CALL;
+        }
+
+        System.out.printf("Pricing %,d options per round%n", OPTIONS);
+
+        double perRecord = Bench.opsPerSecond(20, 20, OPTIONS, () -> {
+            double sum = 0;
+            for (int i = 0; i < OPTIONS; i++) {
+                sum += BlackScholesCalculator.calculate(options[i], spot[i], vol[i]);
+            }
+            Bench.sink = sum;
+        });
+        Bench.report("per-record calculate(EuropeanOption)", perRecord, "options/s");
+
+        double batch = Bench.opsPerSecond(20, 20, OPTIONS, () -> {
+            BlackScholesCalculator.calculate(spot, strike, vol, timeToExpiry, isCall, out);
+            Bench.sink = out[OPTIONS - 1];
+        });
+        Bench.report("batch calculate(double[]...)", batch, "options/s");
+        System.out.printf("Speed-up: %.2fx%n", batch / perRecord);
+    }
+}
@@ -0,0 +1,119 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.CholeskyCorrelation;
+import com.portfolio.util.FactorCorrelation;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.ShockCorrelation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Measures publisher ticks per second with independent, Cholesky-correlated
+ * and factor-model shocks, and checks that both correlations reproduce their
+ * target correlation matrix.
+ * Run with {@code gradle benchmark -PbenchmarkClass=CorrelationBenchmark}.
+ */
+public class CorrelationBenchmark {
+    private static final int FACTORS = 10;
+
+    public static void main(String[] args) {
+        checkAccuracy();
+        for (int n : new int[] { 2_000, 50_000 }) {
+            System.out.printf(Locale.US, "%n%,d stocks, %d factors%n", n, FACTORS);
+            double[][] loadings = loadings(n, new SplittableRandom(n));
+            run("independent", n, null);
+            run("factor model", n, new FactorCorrelation(loadings));
+            if (n <= 2_000) {
+                long start = System.nanoTime();
+                var cholesky = new CholeskyCorrelation(impliedMatrix(loadings));
+                System.out.printf(Locale.US, "Cholesky factorisation: %.0f ms%n", (System.nanoTime() - start) / 1e6);
+                run("cholesky", n, cholesky);
+            }
+        }
+    }
+
+    private static void run(String name, int n, ShockCorrelation correlation) {
+        var universe = new ArrayList<Stock>(n);
+        for (int i = 0; i < n; i++) {
+            universe.add(new Stock("T" + i, "Ticker " + i, 100, 0.1, 0.3));
+        }
+        var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(1),
+                TickScheduler.Config.DEFAULT);
+        publisher.setShockCorrelation(correlation);
+        double rate = Bench.opsPerSecond(5, 5, 20, () -> {
+            for (int t = 0; t < 20; t++) {
+                Bench.sink = publisher.publishNext().size();
+            }
+        });
+        Bench.report(name, rate, "ticks/s");
+    }
+
+    // Samples shocks from both models on a small universe and reports the worst correlation error.
+    private static void checkAccuracy() {
+        int n = 40;
+        int samples = 100_000;
+        double[][] loadings = loadings(n, new SplittableRandom(3));
+        double[][] target = impliedMatrix(loadings);
+        for (ShockCorrelation model : List.of(new CholeskyCorrelation(target), new FactorCorrelation(loadings))) {
+            var draws = GaussianSource.pseudoRandom(5).open(0, n + FACTORS);
+            double[] z = new double[n + FACTORS];
+            double[] independent = new double[n];
+            double[] common = new double[FACTORS];
+            double[] x = new double[n];
+            double[][] sum = new double[n][n];
+            for (int s = 0; s < samples; s++) {
+                draws.next(z);
+                System.arraycopy(z, 0, independent, 0, n);
+                System.arraycopy(z, n, common, 0, FACTORS);
+                model.correlate(independent, common, 0, n, x);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        sum[i][j] += x[i] * x[j];
+                    }
+                }
+            }
+            double worst = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    worst = Math.max(worst, Math.abs(sum[i][j] / samples - target[i][j]));
+                }
+            }
+            System.out.printf(Locale.US, "%-20s max |sample - target| correlation over %,d draws: %.4f%n",
+                    model.getClass().getSimpleName(), samples, worst);
+        }
+    }
+
+    private static double[][] loadings(int n, SplittableRandom rnd) {
+        double[][] loadings = new double[n][FACTORS];
+        for (double[] row : loadings) {
+            row[0] = rnd.nextDouble(0.3, 0.6);
+            for (int f = 1; f < FACTORS; f++) {
+                row[f] = rnd.nextDouble(-0.2, 0.2);
+            }
+        }
+        return loadings;
+    }
+
+    // The correlation matrix implied by factor loadings, with unit diagonal.
+    private static double[][] impliedMatrix(double[][] loadings) {
+        int n = loadings.length;
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double dot = 0;
+                for (int f = 0; f < FACTORS; f++) {
+                    dot += loadings[i][f] * loadings[j][f];
+                }
+                matrix[i][j] = i == j ? 1.0 : dot;
+                matrix[j][i] = matrix[i][j];
+            }
+        }
+        return matrix;
+    }
+}
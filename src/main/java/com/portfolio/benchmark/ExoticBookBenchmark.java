@@ -0,0 +1,117 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.BarrierType;
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.PathSimulationEngine;
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+import com.portfolio.util.PathSimulationEngine.Settings;
+import com.portfolio.util.PricingContext;
+import com.portfolio.util.VolatilitySurface;
+import com.portfolio.util.YieldCurve;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Compares pricing a book of 5,000 barrier and Asian options on one
+ * underlying from a single shared path simulation against simulating once per
+ * contract, and checks the engine against Black-Scholes, in/out barrier
+ * parity and Black-Scholes again under term structures of rate and volatility.
+ * Run with {@code gradle benchmark -PbenchmarkClass=ExoticBookBenchmark}.
+ */
+public class ExoticBookBenchmark {
+    private static final int CONTRACTS = 5_000;
+    private static final int SAMPLED = 50;
+    private static final double SPOT = 100;
+    private static final double VOL = 0.3;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final Settings SETTINGS = new Settings(10_000, 252, 42);
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        var payoffs = new PathPayoff[CONTRACTS];
+        double[] timeToExpiry = new double[CONTRACTS];
+        double[] discountFactor = new double[CONTRACTS];
+        var barrierTypes = BarrierType.values();
+        for (int i = 0; i < CONTRACTS; i++) {
+            boolean isCall = rnd.nextBoolean();
+            double strike = rnd.nextDouble(70, 130);
+            // Monthly expiries out to a year, as a listed book would have.
+            timeToExpiry[i] = (1 + rnd.nextInt(12)) / 12.0;
+            discountFactor[i] = Math.exp(-RATE * timeToExpiry[i]);
+            if (rnd.nextBoolean()) {
+                var type = barrierTypes[rnd.nextInt(barrierTypes.length)];
+                double level = type == BarrierType.UP_AND_OUT || type == BarrierType.UP_AND_IN
+                        ? rnd.nextDouble(110, 160)
+                        : rnd.nextDouble(50, 90);
+                payoffs[i] = PathPayoff.barrier(isCall, strike, type, level);
+            } else {
+                payoffs[i] = PathPayoff.asian(isCall, strike);
+            }
+        }
+        double[] out = new double[CONTRACTS];
+
+        double shared = Bench.opsPerSecond(2, 5, CONTRACTS, () -> {
+            PathSimulationEngine.price(SPOT, VOL, RATE, 0, payoffs, timeToExpiry, discountFactor, SETTINGS, out);
+            Bench.sink = out[0];
+        });
+        // One simulation per contract is far too slow for the whole book; time a sample.
+        double[] single = new double[1];
+        double perContract = Bench.opsPerSecond(2, 5, SAMPLED, () -> {
+            for (int i = 0; i < SAMPLED; i++) {
+                PathSimulationEngine.price(SPOT, VOL, RATE, 0, new PathPayoff[] { payoffs[i] },
+                        new double[] { timeToExpiry[i] }, new double[] { discountFactor[i] }, SETTINGS, single);
+                Bench.sink = single[0];
+            }
+        });
+        Bench.report("shared simulation", shared, "contracts/s");
+        Bench.report("one simulation per contract", perContract, "contracts/s");
+        System.out.printf(Locale.US,
+                "Book of %,d on %,d paths: %.1f ms per tick shared, %.1f ms per contract (%.0fx)%n", CONTRACTS,
+                SETTINGS.paths(), CONTRACTS * 1e3 / shared, CONTRACTS * 1e3 / perContract, shared / perContract);
+
+        // Sanity: a vanilla payoff converges to Black-Scholes, and in + out equals vanilla.
+        var checks = new PathPayoff[] {
+                PathPayoff.vanilla(true, 105),
+                PathPayoff.barrier(true, 105, BarrierType.UP_AND_OUT, 130),
+                PathPayoff.barrier(true, 105, BarrierType.UP_AND_IN, 130) };
+        double[] checkOut = new double[checks.length];
+        double t = 0.5;
+        double df = Math.exp(-RATE * t);
+        PathSimulationEngine.price(SPOT, VOL, RATE, 0, checks, new double[] { t, t, t },
+                new double[] { df, df, df }, new Settings(400_000, 252, 7), checkOut);
+        System.out.printf(Locale.US, "Vanilla call MC %.4f vs closed form %.4f; out + in - vanilla = %.2e%n",
+                checkOut[0], BlackScholesCalculator.price(true, SPOT, 105, VOL, t),
+                checkOut[1] + checkOut[2] - checkOut[0]);
+
+        // A three-month call in a book reaching out two years, on a rising curve and vol term structure,
+        // must still match Black-Scholes at its own rate and volatility.
+        var curve = new YieldCurve(new double[] { 0.25, 2 }, new double[] { 0.01, 0.05 });
+        var surface = new VolatilitySurface(new double[] { 0.25, 2 }, new double[] { SPOT },
+                new double[] { 0.2, 0.35 });
+        var dynamics = new PathSimulationEngine.Dynamics() {
+            @Override
+            public double carry(double t) {
+                return curve.rate(t) * t;
+            }
+
+            @Override
+            public double variance(double t) {
+                double vol = surface.volatility(t, SPOT);
+                return vol * vol * t;
+            }
+        };
+        var shortCall = PricingContext.of(105, 0.25, curve.rate(0.25), 0);
+        var longCall = PricingContext.of(105, 2, curve.rate(2), 0);
+        PathSimulationEngine.price(SPOT, dynamics, new PathPayoff[] { checks[0], checks[0] },
+                new double[] { 0.25, 2 }, new double[] { shortCall.discountFactor(), longCall.discountFactor() },
+                new Settings(400_000, 252, 3), checkOut);
+        var call = new EuropeanOption("C", "S", OptionType.CALL, 105, LocalDate.now());
+        System.out.printf(Locale.US, "Term structure: 3m call MC %.4f vs closed form %.4f, 2y call %.4f vs %.4f%n",
+                checkOut[0], BlackScholesCalculator.calculate(call, shortCall, SPOT, 0.2), checkOut[1],
+                BlackScholesCalculator.calculate(call, longCall, SPOT, 0.35));
+    }
+}
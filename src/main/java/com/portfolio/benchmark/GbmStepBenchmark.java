@@ -0,0 +1,82 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.GbmStepper;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the publisher's original Euler step, which recomputed its
+ * coefficients for every stock on every tick, with the exact log-normal
+ * {@link GbmStepper}. Also reports the stepper's steady-state allocation and
+ * checks that uneven time steps give the right terminal variance.
+ * Run with {@code gradle benchmark -PbenchmarkClass=GbmStepBenchmark}.
+ */
+public class GbmStepBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final double T_SECONDS = 7257600.0;
+    private static final double DELTA_T_SECONDS = 1.0;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] prices = new double[STOCKS];
+        double[] mu = new double[STOCKS];
+        double[] sigma = new double[STOCKS];
+        double[] epsilon = new double[STOCKS];
+        for (int i = 0; i < STOCKS; i++) {
+            prices[i] = rnd.nextDouble(50, 150);
+            mu[i] = 0.1;
+            sigma[i] = rnd.nextDouble(0.2, 0.6);
+            epsilon[i] = rnd.nextGaussian();
+        }
+
+        double[] euler = prices.clone();
+        double eulerRate = Bench.opsPerSecond(20, 20, STOCKS, () -> {
+            for (int i = 0; i < STOCKS; i++) {
+                double s = euler[i];
+                double deltaS = s * (mu[i] * (DELTA_T_SECONDS / T_SECONDS)
+                        + sigma[i] * epsilon[i] * Math.sqrt(DELTA_T_SECONDS / T_SECONDS));
+                euler[i] = Math.max(0.5, Math.min(s + deltaS, 1000.0));
+            }
+            Bench.sink = euler[0];
+        });
+        var stepper = new GbmStepper(prices, mu, sigma, T_SECONDS, 0.5, 1000.0);
+        double exactRate = Bench.opsPerSecond(20, 20, STOCKS, () -> {
+            stepper.step(0, STOCKS, epsilon, DELTA_T_SECONDS);
+            Bench.sink = stepper.price(0);
+        });
+        Bench.report("Euler step, per-stock coefficients", eulerRate, "stock-steps/s");
+        Bench.report("exact log-normal step, precomputed", exactRate, "stock-steps/s");
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int t = 0; t < 1_000; t++) {
+            stepper.step(0, STOCKS, epsilon, 0.5 + (t & 1));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf(Locale.US, "Allocated over 1,000 steps of %,d stocks: %,d bytes%n", STOCKS, allocated);
+
+        // Uneven (exponential) time steps: log returns should have variance sigma^2 * T / T_SECONDS.
+        int paths = 20_000;
+        double horizon = 3_600;
+        double[] one = new double[1];
+        double sum = 0, sumSq = 0;
+        for (int p = 0; p < paths; p++) {
+            var single = new GbmStepper(new double[] { 100 }, new double[] { 0.1 }, new double[] { 0.3 }, T_SECONDS,
+                    0.5, 1000.0);
+            for (double t = 0; t < horizon;) {
+                double dt = Math.min(horizon - t, -Math.log(1 - rnd.nextDouble()) * 10);
+                one[0] = rnd.nextGaussian();
+                single.step(0, 1, one, dt);
+                t += dt;
+            }
+            double r = Math.log(single.price(0) / 100);
+            sum += r;
+            sumSq += r * r;
+        }
+        double variance = sumSq / paths - (sum / paths) * (sum / paths);
+        System.out.printf(Locale.US, "Poisson-timed steps over %.0f s: log-return variance %.3e, expected %.3e%n",
+                horizon, variance, 0.3 * 0.3 * horizon / T_SECONDS);
+    }
+}
@@ -0,0 +1,104 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.GreeksCalculator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares single-pass analytic Greeks with bump-and-reprice finite
+ * differences, and reports the largest disagreement between the two. The
+ * second-order Greeks are checked against bumps of the analytic delta and
+ * vega.
+ * Run with {@code gradle benchmark -PbenchmarkClass=GreeksBenchmark}.
+ */
+public class GreeksBenchmark {
+    private static final int OPTIONS = 100_000;
+    private static final double BUMP = 1e-4;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] spot = new double[OPTIONS];
+        double[] strike = new double[OPTIONS];
+        double[] vol = new double[OPTIONS];
+        double[] timeToExpiry = new double[OPTIONS];
+        boolean[] isCall = new boolean[OPTIONS];
+        double[] analytic = new double[OPTIONS * GreeksCalculator.STRIDE];
+        double[] bumped = new double[OPTIONS * GreeksCalculator.STRIDE];
+
+        for (int i = 0; i < OPTIONS; i++) {
+            spot[i] = rnd.nextDouble(50, 150);
+            strike[i] = rnd.nextDouble(50, 150);
+            vol[i] = rnd.nextDouble(0.1, 0.8);
+            timeToExpiry[i] = rnd.nextDouble(30.0 / 365, 2.0);
+            isCall[i] = rnd.nextBoolean();
+        }
+
+        double single = Bench.opsPerSecond(10, 10, OPTIONS, () -> {
+            GreeksCalculator.calculate(spot, strike, vol, timeToExpiry, isCall, analytic);
+            Bench.sink = analytic[GreeksCalculator.DELTA];
+        });
+        Bench.report("single-pass analytic Greeks", single, "options/s");
+
+        double bump = Bench.opsPerSecond(10, 10, OPTIONS, () -> {
+            for (int i = 0; i < OPTIONS; i++) {
+                bumpAndReprice(isCall[i], spot[i], strike[i], vol[i], timeToExpiry[i], bumped,
+                        i * GreeksCalculator.STRIDE);
+            }
+            Bench.sink = bumped[GreeksCalculator.DELTA];
+        });
+        Bench.report("bump-and-reprice (6 prices)", bump, "options/s");
+        System.out.printf("Speed-up: %.2fx%n", single / bump);
+
+        String[] names = { "price", "delta", "gamma", "vega", "theta" };
+        for (int g = 0; g < names.length; g++) {
+            double maxDiff = 0;
+            for (int i = 0; i < OPTIONS; i++) {
+                int idx = i * GreeksCalculator.STRIDE + g;
+                maxDiff = Math.max(maxDiff, Math.abs(analytic[idx] - bumped[idx]));
+            }
+            System.out.printf("max |analytic - bumped| %-6s %.3e%n", names[g], maxDiff);
+        }
+
+        // Second-order Greeks against central differences of the analytic first-order ones.
+        var greeks = new GreeksCalculator.Greeks();
+        double[] maxDiff = new double[3];
+        for (int i = 0; i < OPTIONS; i++) {
+            double s = spot[i], k = strike[i], v = vol[i], t = timeToExpiry[i], hs = s * BUMP;
+            int idx = i * GreeksCalculator.STRIDE;
+            double vegaUp = GreeksCalculator.calculate(isCall[i], s + hs, k, v, t, greeks).vega();
+            double vegaDown = GreeksCalculator.calculate(isCall[i], s - hs, k, v, t, greeks).vega();
+            maxDiff[0] = Math.max(maxDiff[0],
+                    Math.abs(analytic[idx + GreeksCalculator.VANNA] - (vegaUp - vegaDown) / (2 * hs)));
+            vegaUp = GreeksCalculator.calculate(isCall[i], s, k, v + BUMP, t, greeks).vega();
+            vegaDown = GreeksCalculator.calculate(isCall[i], s, k, v - BUMP, t, greeks).vega();
+            maxDiff[1] = Math.max(maxDiff[1],
+                    Math.abs(analytic[idx + GreeksCalculator.VOLGA] - (vegaUp - vegaDown) / (2 * BUMP)));
+            double later = GreeksCalculator.calculate(isCall[i], s, k, v, t - BUMP, greeks).delta();
+            maxDiff[2] = Math.max(maxDiff[2], Math.abs(analytic[idx + GreeksCalculator.CHARM]
+                    - (later - analytic[idx + GreeksCalculator.DELTA]) / BUMP));
+        }
+        System.out.printf("max |analytic - bumped| vanna  %.3e, volga %.3e, charm %.3e (bumping delta and vega)%n",
+                maxDiff[0], maxDiff[1], maxDiff[2]);
+    }
+
+    // Central differences in spot and volatility, forward difference in time.
+    // Rho is left out because the calculator's rate is a fixed constant.
+    private static void bumpAndReprice(boolean call, double s, double k, double v, double t, double[] out,
+            int offset) {
+        double hs = s * BUMP;
+        double base = BlackScholesCalculator.price(call, s, k, v, t);
+        double up = BlackScholesCalculator.price(call, s + hs, k, v, t);
+        double down = BlackScholesCalculator.price(call, s - hs, k, v, t);
+        double volUp = BlackScholesCalculator.price(call, s, k, v + BUMP, t);
+        double volDown = BlackScholesCalculator.price(call, s, k, v - BUMP, t);
+        double later = BlackScholesCalculator.price(call, s, k, v, t - BUMP);
+
+        out[offset + GreeksCalculator.PRICE] = base;
+        out[offset + GreeksCalculator.DELTA] = (up - down) / (2 * hs);
+        out[offset + GreeksCalculator.GAMMA] = (up - 2 * base + down) / (hs * hs);
+        out[offset + GreeksCalculator.VEGA] = (volUp - volDown) / (2 * BUMP);
+        out[offset + GreeksCalculator.THETA] = (later - base) / BUMP;
+        out[offset + GreeksCalculator.RHO] = 0.0;
+    }
+}
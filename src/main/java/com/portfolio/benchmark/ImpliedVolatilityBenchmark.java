@@ -0,0 +1,117 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.ImpliedVolatilitySolver;
+import com.portfolio.util.PricingContext;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Measures implied volatility solves per second from a cold start and when
+ * warm-started from the previous tick's solution after a small market move,
+ * and checks the solves against each option's own rate and dividend yield.
+ * Run with {@code gradle benchmark -PbenchmarkClass=ImpliedVolatilityBenchmark}.
+ */
+public class ImpliedVolatilityBenchmark {
+    private static final int OPTIONS = 100_000;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] spot = new double[OPTIONS];
+        double[] strike = new double[OPTIONS];
+        double[] timeToExpiry = new double[OPTIONS];
+        boolean[] isCall = new boolean[OPTIONS];
+        double[] trueVol = new double[OPTIONS];
+        double[] price = new double[OPTIONS];
+        double[] nextPrice = new double[OPTIONS];
+        double[] vol = new double[OPTIONS];
+        double[] previousVol = new double[OPTIONS];
+        int[] iterations = new int[OPTIONS];
+
+        for (int i = 0; i < OPTIONS; i++) {
+            spot[i] = rnd.nextDouble(50, 150);
+            strike[i] = spot[i] * rnd.nextDouble(0.7, 1.3);
+            timeToExpiry[i] = rnd.nextDouble(7.0 / 365, 2.0);
+            isCall[i] = rnd.nextBoolean();
+            trueVol[i] = rnd.nextDouble(0.1, 0.8);
+            price[i] = BlackScholesCalculator.price(isCall[i], spot[i], strike[i], trueVol[i], timeToExpiry[i]);
+            // The next tick: the option's implied volatility moves by up to half a vol point.
+            nextPrice[i] = BlackScholesCalculator.price(isCall[i], spot[i], strike[i],
+                    trueVol[i] + rnd.nextDouble(-0.005, 0.005), timeToExpiry[i]);
+        }
+
+        var solver = new ImpliedVolatilitySolver();
+
+        long coldIterations = solver.solve(price, spot, strike, timeToExpiry, isCall, vol, iterations);
+        int coldNotConverged = notConverged(iterations);
+        int solved = 0;
+        double maxError = 0;
+        for (int i = 0; i < OPTIONS; i++) {
+            if (!Double.isNaN(vol[i])) {
+                solved++;
+                // Deep in-the-money options have almost no vega, so volatility itself is
+                // ill-determined there; the repricing error is the meaningful check.
+                double repriced = BlackScholesCalculator.price(isCall[i], spot[i], strike[i], vol[i],
+                        timeToExpiry[i]);
+                maxError = Math.max(maxError, Math.abs(repriced - price[i]));
+            }
+        }
+        System.arraycopy(vol, 0, previousVol, 0, OPTIONS);
+        long warmIterations = solver.solve(nextPrice, spot, strike, timeToExpiry, isCall, vol, iterations);
+
+        System.out.printf("Solved %,d of %,d options, max |repricing error| %.2e, %,d did not converge%n",
+                solved, OPTIONS, maxError, coldNotConverged);
+
+        // The same options on curves: rates of 0-5% and dividend yields of 0-4% to expiry.
+        var contexts = new PricingContext[OPTIONS];
+        var options = new EuropeanOption[OPTIONS];
+        double[] dividendPrice = new double[OPTIONS];
+        for (int i = 0; i < OPTIONS; i++) {
+            contexts[i] = PricingContext.of(strike[i], timeToExpiry[i], rnd.nextDouble(0.0, 0.05),
+                    rnd.nextDouble(0.0, 0.04));
+            options[i] = new EuropeanOption("O" + i, "S", isCall[i] ? OptionType.CALL : OptionType.PUT, strike[i],
+                    LocalDate.now());
+            dividendPrice[i] = BlackScholesCalculator.calculate(options[i], contexts[i], spot[i], trueVol[i]);
+        }
+        java.util.Arrays.fill(vol, 0.0);
+        solver.solve(dividendPrice, spot, strike, contexts, isCall, vol, iterations);
+        solved = 0;
+        maxError = 0;
+        for (int i = 0; i < OPTIONS; i++) {
+            if (!Double.isNaN(vol[i])) {
+                solved++;
+                double repriced = BlackScholesCalculator.calculate(options[i], contexts[i], spot[i], vol[i]);
+                maxError = Math.max(maxError, Math.abs(repriced - dividendPrice[i]));
+            }
+        }
+        System.out.printf("With rates and dividends: solved %,d, max |repricing error| %.2e, "
+                + "%,d did not converge%n", solved, maxError, notConverged(iterations));
+        System.out.printf("Mean iterations: cold %.2f, warm %.2f%n",
+                (double) coldIterations / OPTIONS, (double) warmIterations / OPTIONS);
+
+        double cold = Bench.opsPerSecond(5, 10, OPTIONS, () -> {
+            java.util.Arrays.fill(vol, 0.0);
+            Bench.sink = solver.solve(price, spot, strike, timeToExpiry, isCall, vol, iterations);
+        });
+        Bench.report("cold start", cold, "solves/s");
+
+        double warm = Bench.opsPerSecond(5, 10, OPTIONS, () -> {
+            System.arraycopy(previousVol, 0, vol, 0, OPTIONS);
+            Bench.sink = solver.solve(nextPrice, spot, strike, timeToExpiry, isCall, vol, iterations);
+        });
+        Bench.report("warm start from previous tick", warm, "solves/s");
+    }
+
+    private static int notConverged(int[] iterations) {
+        int count = 0;
+        for (int used : iterations) {
+            if (used < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
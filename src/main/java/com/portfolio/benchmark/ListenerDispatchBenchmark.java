@@ -0,0 +1,89 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataListener;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the publisher flat out with a fast listener and a slow one that takes
+ * 5 ms per update, as console output can. Reports the tick rate the slow
+ * listener would allow if called inline, the rate achieved with per-listener
+ * conflating mailboxes, each listener's delivery counters, and whether both
+ * listeners end with the publisher's latest prices.
+ * Run with {@code gradle benchmark -PbenchmarkClass=ListenerDispatchBenchmark}.
+ */
+public class ListenerDispatchBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final int TICKS = 2_000;
+    private static final long SLOW_NANOS = 5_000_000;
+
+    // Keeps the latest prices, optionally taking its time over each update.
+    private static final class Recorder implements MarketDataListener {
+        private final long delayNanos;
+        private double[] prices;
+        private volatile long deliveries;
+
+        Recorder(long delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        public void onSnapshot(List<Stock> stocks, long sequence) {
+            prices = stocks.stream().mapToDouble(Stock::currentPrice).toArray();
+        }
+
+        @Override
+        public void onMarketUpdate(PriceChangeSet changes) {
+            for (int k = 0; k < changes.size(); k++) {
+                prices[changes.tickerId(k)] = changes.price(k);
+            }
+            deliveries++;
+            long until = System.nanoTime() + delayNanos;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var universe = new ArrayList<Stock>(STOCKS);
+        for (int i = 0; i < STOCKS; i++) {
+            universe.add(new Stock("T" + i, "Ticker " + i, 100, 0.1, 0.3));
+        }
+        var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(5),
+                TickScheduler.Config.DEFAULT);
+        publisher.setMinimumPriceChange(0.05);
+        var fast = new Recorder(0);
+        var slow = new Recorder(SLOW_NANOS);
+        publisher.addListener(fast);
+        publisher.addListener(slow);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < TICKS; t++) {
+            publisher.publishNext();
+        }
+        double rate = TICKS / ((System.nanoTime() - start) / 1e9);
+        Bench.report("slow listener called inline (bound)", 1e9 / SLOW_NANOS, "ticks/s");
+        Bench.report("mailboxes, fast and slow listener", rate, "ticks/s");
+
+        while (publisher.listenerStats().stream().anyMatch(s -> s.lag() > 0)) {
+            Thread.sleep(10);
+        }
+        double[] latest = publisher.snapshot().stream().mapToDouble(Stock::currentPrice).toArray();
+        for (var stats : publisher.listenerStats()) {
+            var recorder = (Recorder) stats.listener();
+            System.out.printf(Locale.US,
+                    "%s listener: %,d deliveries for %,d ticks, %,d updates, %,d dropped, latest prices: %b%n",
+                    recorder == fast ? "fast" : "slow", recorder.deliveries, TICKS, stats.updates(), stats.dropped(),
+                    Arrays.equals(latest, recorder.prices));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares republishing the whole universe every tick, with the subscriber
+ * rebuilding its ticker map, against publishing change sets that the
+ * subscriber applies to its local prices, for several minimum price changes.
+ * Also checks that the applied change sets reproduce the publisher's snapshot.
+ * Run with {@code gradle benchmark -PbenchmarkClass=MarketUpdateBenchmark}.
+ */
+public class MarketUpdateBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final int TICKS = 20;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        var universe = new ArrayList<Stock>(STOCKS);
+        for (int i = 0; i < STOCKS; i++) {
+            universe.add(new Stock("T" + i, "Ticker " + i, rnd.nextDouble(5, 500), 0.1, rnd.nextDouble(0.1, 0.6)));
+        }
+
+        var full = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(7), TickScheduler.Config.DEFAULT);
+        double fullRate = Bench.opsPerSecond(3, 5, TICKS, () -> {
+            for (int t = 0; t < TICKS; t++) {
+                full.publishNext();
+                Map<String, Stock> byTicker = full.snapshot().stream()
+                        .collect(Collectors.toUnmodifiableMap(Stock::ticker, Function.identity()));
+                Bench.sink = byTicker.size();
+            }
+        });
+        Bench.report("full list, subscriber rebuilds map", fullRate, "ticks/s");
+
+        for (double minimumChange : new double[] { 0.0, 0.01, 0.25 }) {
+            var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(7),
+                    TickScheduler.Config.DEFAULT);
+            publisher.setMinimumPriceChange(minimumChange);
+            double[] local = universe.stream().mapToDouble(Stock::currentPrice).toArray();
+            long[] changes = new long[2];
+            double rate = Bench.opsPerSecond(3, 5, TICKS, () -> {
+                for (int t = 0; t < TICKS; t++) {
+                    var set = publisher.publishNext();
+                    for (int k = 0; k < set.size(); k++) {
+                        local[set.tickerId(k)] = set.price(k);
+                    }
+                    changes[0] += set.size();
+                    changes[1]++;
+                }
+            });
+            Bench.report(String.format(Locale.US, "change sets, minimum change %.2f", minimumChange), rate,
+                    "ticks/s");
+            boolean consistent = Arrays.equals(local,
+                    publisher.snapshot().stream().mapToDouble(Stock::currentPrice).toArray());
+            System.out.printf(Locale.US, "    %,.0f changes per tick, subscriber matches snapshot: %b%n",
+                    (double) changes[0] / changes[1], consistent);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.MonteCarloPricer;
+import com.portfolio.util.MonteCarloPricer.ControlVariate;
+import com.portfolio.util.MonteCarloPricer.Settings;
+import com.portfolio.util.TerminalPayoff;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shows the effect of antithetic variates and the Black-Scholes control
+ * variate on the standard error and on the paths needed to reach a target
+ * error, and checks that results do not depend on the thread count.
+ * Run with {@code gradle benchmark -PbenchmarkClass=MonteCarloBenchmark}.
+ */
+public class MonteCarloBenchmark {
+    private static final double SPOT = 100;
+    private static final double STRIKE = 105;
+    private static final double VOL = 0.3;
+    private static final double T = 0.5;
+    private static final long PATHS = 1_000_000;
+    private static final double TARGET_ERROR = 0.001;
+
+    public static void main(String[] args) throws Exception {
+        double closedForm = BlackScholesCalculator.price(true, SPOT, STRIKE, VOL, T);
+        System.out.printf("Call S=%.0f K=%.0f vol=%.2f T=%.1f, closed form %.6f%n", SPOT, STRIKE, VOL, T, closedForm);
+
+        // Capped call: no closed form, but highly correlated with the vanilla call control.
+        TerminalPayoff cappedCall = s -> Math.min(Math.max(0, s - STRIKE), 40);
+        var control = new ControlVariate(true, STRIKE);
+
+        run("vanilla call, plain", TerminalPayoff.call(STRIKE), null, false);
+        run("vanilla call, antithetic", TerminalPayoff.call(STRIKE), null, true);
+        run("capped call, plain", cappedCall, null, false);
+        run("capped call, antithetic", cappedCall, null, true);
+        run("capped call, control variate", cappedCall, control, false);
+        run("capped call, antithetic + control", cappedCall, control, true);
+
+        var settings = new Settings(PATHS, 7, true);
+        var single = priceOn(1, cappedCall, control, settings);
+        var many = priceOn(8, cappedCall, control, settings);
+        System.out.printf("Reproducible across thread counts (1 vs 8): %b%n", single.price() == many.price());
+    }
+
+    // Parallel streams submitted from inside a pool run on that pool's workers.
+    private static MonteCarloPricer.Result priceOn(int threads, TerminalPayoff payoff, ControlVariate control,
+            Settings settings) throws Exception {
+        var pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> MonteCarloPricer.price(payoff, SPOT, VOL, T, control, settings)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void run(String name, TerminalPayoff payoff, ControlVariate control, boolean antithetic) {
+        var settings = new Settings(antithetic ? PATHS / 2 : PATHS, 42, antithetic);
+        // Warm-up so the reported throughput reflects compiled code.
+        MonteCarloPricer.price(payoff, SPOT, VOL, T, control, settings);
+        var result = MonteCarloPricer.price(payoff, SPOT, VOL, T, control, settings);
+        double pathsForTarget = result.paths() * Math.pow(result.standardError() / TARGET_ERROR, 2);
+        System.out.printf("%-36s price %.5f  s.e. %.6f  paths for s.e. %.3f: %,14.0f  %,14.0f paths/s%n",
+                name, result.price(), result.standardError(), TARGET_ERROR, pathsForTarget,
+                result.pathsPerSecond());
+    }
+}
@@ -0,0 +1,82 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.GreeksCalculator;
+import com.portfolio.util.MonteCarloGreeks;
+import com.portfolio.util.MonteCarloGreeks.AdjointPayoff;
+import com.portfolio.util.PathSimulationEngine;
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+
+import java.util.Locale;
+
+/**
+ * Checks pathwise Monte Carlo Greeks of a European call against the closed
+ * form, then compares the cost of adjoint Greeks for a 64-fixing Asian call
+ * with pricing alone and with central-difference bump-and-reprice.
+ * Run with {@code gradle benchmark -PbenchmarkClass=MonteCarloGreeksBenchmark}.
+ */
+public class MonteCarloGreeksBenchmark {
+    private static final double SPOT = 100;
+    private static final double STRIKE = 105;
+    private static final double VOL = 0.3;
+    private static final double T = 1.0;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final int STEPS = 64;
+    private static final int PATHS = 100_000;
+    private static final GaussianSource SOURCE = GaussianSource.pseudoRandom(7);
+
+    public static void main(String[] args) {
+        var exact = GreeksCalculator.calculate(true, SPOT, STRIKE, VOL, T, new GreeksCalculator.Greeks());
+        var pathwise = MonteCarloGreeks.european(true, SPOT, STRIKE, VOL, RATE, T, 1_000_000, SOURCE);
+        var oneStep = MonteCarloGreeks.adjoint(AdjointPayoff.european(true, STRIKE), SPOT, VOL, RATE, T, 1,
+                1_000_000, SOURCE);
+        System.out.printf(Locale.US, "%-22s %10s %10s %10s %10s %10s%n", "European call", "price", "delta", "gamma",
+                "vega", "rho");
+        System.out.printf(Locale.US, "%-22s %10.5f %10.5f %10.5f %10.4f %10.4f%n", "closed form", exact.price(),
+                exact.delta(), exact.gamma(), exact.vega(), exact.rho());
+        print("pathwise, 1M paths", pathwise);
+        print("adjoint, 1M paths", oneStep);
+
+        var asian = AdjointPayoff.asian(true, STRIKE);
+        var aad = MonteCarloGreeks.adjoint(asian, SPOT, VOL, RATE, T, STEPS, PATHS, SOURCE);
+        double bumpS = 0.01 * SPOT, bumpVol = 0.001, bumpRate = 0.0001;
+        var bumped = new MonteCarloGreeks.Result(asianPrice(SPOT, VOL, RATE),
+                (asianPrice(SPOT + bumpS, VOL, RATE) - asianPrice(SPOT - bumpS, VOL, RATE)) / (2 * bumpS), Double.NaN,
+                (asianPrice(SPOT, VOL + bumpVol, RATE) - asianPrice(SPOT, VOL - bumpVol, RATE)) / (2 * bumpVol),
+                (asianPrice(SPOT, VOL, RATE + bumpRate) - asianPrice(SPOT, VOL, RATE - bumpRate)) / (2 * bumpRate),
+                PATHS);
+        System.out.printf(Locale.US, "%nAsian call, %d fixings, %,d paths%n", STEPS, PATHS);
+        print("adjoint", aad);
+        print("bump and reprice", bumped);
+
+        double priceOnly = Bench.opsPerSecond(3, 5, PATHS, () -> Bench.sink = asianPrice(SPOT, VOL, RATE));
+        double adjoint = Bench.opsPerSecond(3, 5, PATHS,
+                () -> Bench.sink = MonteCarloGreeks.adjoint(asian, SPOT, VOL, RATE, T, STEPS, PATHS, SOURCE).delta());
+        double bump = Bench.opsPerSecond(1, 3, PATHS, () -> {
+            double sum = 0;
+            for (int i = 0; i < 7; i++) {
+                sum += asianPrice(SPOT + i * 1e-6, VOL, RATE);
+            }
+            Bench.sink = sum;
+        });
+        Bench.report("price only", priceOnly, "paths/s");
+        Bench.report("adjoint price + delta, vega, rho", adjoint, "paths/s");
+        Bench.report("bump and reprice (7 runs)", bump, "paths/s");
+        System.out.printf(Locale.US, "Adjoint Greeks cost %.1fx pricing; bump and reprice %.1fx%n",
+                priceOnly / adjoint, priceOnly / bump);
+    }
+
+    private static double asianPrice(double spot, double vol, double rate) {
+        double[] out = new double[1];
+        PathSimulationEngine.price(spot, vol, rate, 0, new PathPayoff[] { PathPayoff.asian(true, STRIKE) },
+                new double[] { T }, new double[] { Math.exp(-rate * T) },
+                new PathSimulationEngine.Settings(PATHS, STEPS, 0), SOURCE, out);
+        return out[0];
+    }
+
+    private static void print(String name, MonteCarloGreeks.Result r) {
+        System.out.printf(Locale.US, "%-22s %10.5f %10.5f %10.5f %10.4f %10.4f%n", name, r.price(), r.delta(),
+                r.gamma(), r.vega(), r.rho());
+    }
+}
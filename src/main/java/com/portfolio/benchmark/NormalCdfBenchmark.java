@@ -0,0 +1,66 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.NormalCdf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the accuracy and speed of each {@link NormalCdf} engine.
+ * Accuracy is measured against a 60-digit Taylor series evaluation of the
+ * CDF on a grid over [-8, 8].
+ * Run with {@code gradle benchmark -PbenchmarkClass=NormalCdfBenchmark}.
+ */
+public class NormalCdfBenchmark {
+    private static final int GRID_POINTS = 1601;
+    private static final int SAMPLES = 1_000_000;
+    private static final MathContext MC = new MathContext(60);
+
+    public static void main(String[] args) {
+        double[] grid = new double[GRID_POINTS];
+        double[] reference = new double[GRID_POINTS];
+        for (int i = 0; i < GRID_POINTS; i++) {
+            // Offset from the table nodes so interpolation error is actually sampled.
+            grid[i] = -8.0 + 16.0 * (i + 0.37) / GRID_POINTS;
+            reference[i] = referenceCdf(grid[i]);
+        }
+
+        var rnd = new SplittableRandom(42);
+        double[] inputs = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            inputs[i] = rnd.nextDouble(-4.0, 4.0);
+        }
+
+        System.out.printf("%-20s %14s %18s%n", "engine", "max abs error", "evaluations/s");
+        for (var engine : NormalCdf.values()) {
+            double maxError = 0;
+            for (int i = 0; i < GRID_POINTS; i++) {
+                maxError = Math.max(maxError, Math.abs(engine.cdf(grid[i]) - reference[i]));
+            }
+
+            double throughput = Bench.opsPerSecond(20, 20, SAMPLES, () -> {
+                double sum = 0;
+                for (double z : inputs) {
+                    sum += engine.cdf(z);
+                }
+                Bench.sink = sum;
+            });
+            System.out.printf("%-20s %14.3e %,18.0f%n", engine, maxError, throughput);
+        }
+    }
+
+    // Phi(z) = 1/2 + phi-series: sum (-1)^n z^(2n+1) / (2^n n! (2n+1)) / sqrt(2 pi).
+    private static double referenceCdf(double z) {
+        var x = new BigDecimal(z);
+        var x2 = x.multiply(x, MC);
+        var term = x; // (-1)^n z^(2n+1) / (2^n n!)
+        var sum = BigDecimal.ZERO;
+        for (int n = 0; n < 400; n++) {
+            sum = sum.add(term.divide(BigDecimal.valueOf(2L * n + 1), MC), MC);
+            term = term.multiply(x2, MC).divide(BigDecimal.valueOf(-2L * (n + 1)), MC);
+        }
+        var invSqrt2Pi = BigDecimal.ONE.divide(new BigDecimal(2 * Math.PI).sqrt(MC), MC);
+        return sum.multiply(invSqrt2Pi, MC).add(new BigDecimal("0.5"), MC).doubleValue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.service.OptionChainIndex;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.PricingContext;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+/**
+ * Builds an option chain index over about a million contracts and measures
+ * range query latency and per-expiry strip pricing against per-option pricing.
+ * Run with {@code gradle benchmark -PbenchmarkClass=OptionChainBenchmark}.
+ */
+public class OptionChainBenchmark {
+    private static final int UNDERLYINGS = 100;
+    private static final int EXPIRIES = 50;
+    private static final int STRIKES = 100;
+    private static final double VOL = 0.4;
+
+    public static void main(String[] args) {
+        var today = LocalDate.now();
+        var options = new ArrayList<EuropeanOption>();
+        for (int u = 0; u < UNDERLYINGS; u++) {
+            for (int e = 0; e < EXPIRIES; e++) {
+                var expiry = today.plusWeeks(e + 1);
+                for (int k = 0; k < STRIKES; k++) {
+                    double strike = 50 + k;
+                    for (var type : OptionType.values()) {
+                        options.add(new EuropeanOption("U" + u + "-" + expiry + "-" + strike + "-" + type,
+                                "U" + u, type, strike, expiry));
+                    }
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        var index = OptionChainIndex.of(options);
+        System.out.printf("Indexed %,d options in %d ms%n", index.size(), (System.nanoTime() - start) / 1_000_000);
+
+        var rnd = new SplittableRandom(42);
+        double queries = Bench.opsPerSecond(5, 10, 10_000, () -> {
+            long found = 0;
+            for (int i = 0; i < 10_000; i++) {
+                var from = today.plusDays(rnd.nextInt(0, 300));
+                double minStrike = rnd.nextDouble(50, 140);
+                found += index.find("U" + rnd.nextInt(UNDERLYINGS), OptionType.PUT, from, from.plusDays(60),
+                        minStrike, minStrike + 10).size();
+            }
+            Bench.sink = found;
+        });
+        System.out.printf("range query (60 days x 10 strikes): %.2f us/query%n", 1e6 / queries);
+
+        var expiries = index.expiries("U0", OptionType.CALL);
+        // One context per expiry, as a PricingContextCache holds them.
+        var contexts = new HashMap<LocalDate, PricingContext>();
+        for (var slice : expiries.values()) {
+            contexts.put(slice.expiry(), PricingContext.of(slice.strike(0),
+                    ChronoUnit.DAYS.between(today, slice.expiry()) / 365.0));
+        }
+        double[] out = new double[STRIKES];
+        double strips = Bench.opsPerSecond(20, 20, (long) EXPIRIES * STRIKES, () -> {
+            for (var slice : expiries.values()) {
+                slice.price(contexts.get(slice.expiry()), 100, VOL, out);
+            }
+            Bench.sink = out[0];
+        });
+        Bench.report("strip pricing per expiry", strips, "options/s");
+
+        double perOption = Bench.opsPerSecond(20, 20, (long) EXPIRIES * STRIKES, () -> {
+            for (var slice : expiries.values()) {
+                double t = ChronoUnit.DAYS.between(today, slice.expiry()) / 365.0;
+                for (int i = 0; i < slice.size(); i++) {
+                    out[i] = BlackScholesCalculator.price(true, 100, slice.strike(i), VOL, t);
+                }
+            }
+            Bench.sink = out[0];
+        });
+        Bench.report("per-option price()", perOption, "options/s");
+    }
+}
@@ -0,0 +1,81 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures ticks per second for a 50,000-stock universe: the original loop
+ * (one shared {@link Random} in a sequential stream) against the publisher's
+ * partitioned generation on one worker and on every core, and checks that a
+ * seeded run gives identical prices whatever the number of workers.
+ * Run with {@code gradle benchmark -PbenchmarkClass=PriceGenerationBenchmark}.
+ */
+public class PriceGenerationBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final int TICKS = 20;
+    private static final double T_SECONDS = 7257600.0;
+    private static final double DELTA_T_SECONDS = 1.0;
+
+    public static void main(String[] args) {
+        var universe = new ArrayList<Stock>(STOCKS);
+        var rnd = new Random(42);
+        for (int i = 0; i < STOCKS; i++) {
+            universe.add(new Stock("T" + i, "Ticker " + i, 50 + 100 * rnd.nextDouble(), 0.1,
+                    0.2 + 0.4 * rnd.nextDouble()));
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%,d stocks, %d available cores%n", STOCKS, cores);
+
+        var shared = new Random();
+        var state = new AtomicReference<List<Stock>>(universe);
+        double baseline = Bench.opsPerSecond(3, 5, TICKS, () -> {
+            for (int t = 0; t < TICKS; t++) {
+                state.set(state.get().stream().map(s -> eulerStep(s, shared.nextGaussian())).toList());
+            }
+            Bench.sink = state.get().get(0).currentPrice();
+        });
+        Bench.report("shared Random, sequential stream", baseline, "ticks/s");
+
+        for (int workers : cores > 1 ? new int[] { 1, cores } : new int[] { 1 }) {
+            var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(7),
+                    TickScheduler.Config.DEFAULT);
+            publisher.setWorkerThreads(workers);
+            double rate = Bench.opsPerSecond(3, 5, TICKS, () -> {
+                for (int t = 0; t < TICKS; t++) {
+                    Bench.sink = publisher.publishNext().size();
+                }
+            });
+            Bench.report("partitioned, " + workers + " worker(s)", rate, "ticks/s");
+        }
+
+        var one = run(universe, 1);
+        var many = run(universe, 8);
+        System.out.printf("Reproducible across worker counts (1 vs 8): %b%n", one.equals(many));
+    }
+
+    private static List<Stock> run(List<Stock> universe, int workers) {
+        var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(99),
+                TickScheduler.Config.DEFAULT);
+        publisher.setWorkerThreads(workers);
+        for (int t = 0; t < 10; t++) {
+            publisher.publishNext();
+        }
+        return publisher.snapshot();
+    }
+
+    // The publisher's original step, kept here as the baseline.
+    private static Stock eulerStep(Stock old, double epsilon) {
+        double s = old.currentPrice();
+        double deltaS = s * (old.mu() * (DELTA_T_SECONDS / T_SECONDS)
+                + old.sigma() * epsilon * Math.sqrt(DELTA_T_SECONDS / T_SECONDS));
+        double newPrice = Math.max(0.5, Math.min(s + deltaS, 1000.0));
+        return new Stock(old.ticker(), old.companyName(), newPrice, old.mu(), old.sigma());
+    }
+}
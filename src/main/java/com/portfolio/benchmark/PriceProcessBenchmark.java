@@ -0,0 +1,100 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.PriceProcess;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the step cost of each {@link PriceProcess} on its own, then the
+ * publisher's tick rate for an all-GBM universe against one where a tenth of
+ * the stocks follow a heavier model. Also checks that each model keeps the
+ * expected price {@code S0 e^{mu T}} over a year of daily steps.
+ * Run with {@code gradle benchmark -PbenchmarkClass=PriceProcessBenchmark}.
+ */
+public class PriceProcessBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final double T_SECONDS = 7257600.0;
+    private static final PriceProcess.Factory MERTON = PriceProcess.merton(4.0, -0.02, 0.08);
+    private static final PriceProcess.Factory HESTON = PriceProcess.heston(2.0, 0.16, 0.8, -0.7);
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] prices = new double[STOCKS];
+        double[] mu = new double[STOCKS];
+        double[] sigma = new double[STOCKS];
+        double[] shocks = new double[STOCKS];
+        double[] extra = new double[2 * STOCKS];
+        for (int i = 0; i < STOCKS; i++) {
+            prices[i] = rnd.nextDouble(50, 150);
+            mu[i] = 0.1;
+            sigma[i] = rnd.nextDouble(0.2, 0.6);
+            shocks[i] = rnd.nextGaussian();
+        }
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = rnd.nextGaussian();
+        }
+
+        for (var model : List.of(Map.entry("GBM", PriceProcess.gbm()), Map.entry("Merton", MERTON),
+                Map.entry("Heston", HESTON))) {
+            var process = model.getValue().create(prices, mu, sigma, T_SECONDS, 0.5, 1000.0, 42);
+            double rate = Bench.opsPerSecond(20, 20, STOCKS, () -> {
+                process.step(0, STOCKS, shocks, extra, 1.0);
+                Bench.sink = process.price(0);
+            });
+            Bench.report(model.getKey() + " step", rate, "stock-steps/s");
+        }
+
+        var stocks = new ArrayList<Stock>(STOCKS);
+        for (int i = 0; i < STOCKS; i++) {
+            stocks.add(new Stock("S" + i, "Stock " + i, prices[i], mu[i], sigma[i]));
+        }
+        var ticks = new TickScheduler.Config(TickScheduler.Mode.AS_FAST_AS_POSSIBLE, 0,
+                TickScheduler.WaitStrategy.SPIN);
+        for (var model : List.of(Map.entry("all GBM", Map.<String, PriceProcess.Factory>of()),
+                Map.entry("10% Merton", everyTenth(stocks, MERTON)),
+                Map.entry("10% Heston", everyTenth(stocks, HESTON)))) {
+            var publisher = new MarketDataPublisher(stocks, GaussianSource.pseudoRandom(7), ticks, model.getValue());
+            double rate = Bench.opsPerSecond(20, 20, 1, () -> Bench.sink = publisher.publishNext().size());
+            Bench.report("publisher, " + model.getKey(), rate, "ticks/s");
+        }
+
+        // One year of daily steps from 100: the mean terminal price should be 100 e^{0.1}.
+        int paths = 20_000;
+        int days = 252;
+        double dt = T_SECONDS / days;
+        double[] one = new double[1];
+        for (var model : List.of(Map.entry("GBM", PriceProcess.gbm()), Map.entry("Merton", MERTON),
+                Map.entry("Heston", HESTON))) {
+            double sum = 0;
+            for (int p = 0; p < paths; p++) {
+                var single = model.getValue().create(new double[] { 100 }, new double[] { 0.1 },
+                        new double[] { 0.4 }, T_SECONDS, 1e-6, 1e9, p);
+                for (int d = 0; d < days; d++) {
+                    one[0] = rnd.nextGaussian();
+                    extra[0] = rnd.nextGaussian();
+                    single.step(0, 1, one, extra, dt);
+                }
+                sum += single.price(0);
+            }
+            System.out.printf(Locale.US, "%s mean price after one year: %.2f, expected %.2f%n", model.getKey(),
+                    sum / paths, 100 * Math.exp(0.1));
+        }
+    }
+
+    private static Map<String, PriceProcess.Factory> everyTenth(List<Stock> stocks, PriceProcess.Factory factory) {
+        var processes = new HashMap<String, PriceProcess.Factory>();
+        for (int i = 0; i < stocks.size(); i += 10) {
+            processes.put(stocks.get(i).ticker(), factory);
+        }
+        return processes;
+    }
+}
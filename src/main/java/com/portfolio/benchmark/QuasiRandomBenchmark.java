@@ -0,0 +1,121 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.MonteCarloPricer;
+import com.portfolio.util.PathSimulationEngine;
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+import com.portfolio.util.TerminalPayoff;
+
+import java.util.Locale;
+import java.util.function.LongFunction;
+
+/**
+ * Compares pseudo-random and Sobol draws on the root-mean-square error of a
+ * European call (one dimension) and an Asian call (64 steps, Sobol with a
+ * Brownian bridge), and estimates the paths each needs to reach a target
+ * error. Errors are measured across independently seeded runs; for Sobol the
+ * seed selects the digital shift.
+ * Run with {@code gradle benchmark -PbenchmarkClass=QuasiRandomBenchmark}.
+ */
+public class QuasiRandomBenchmark {
+    private static final double SPOT = 100;
+    private static final double STRIKE = 105;
+    private static final double VOL = 0.3;
+    private static final double T = 1.0;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final int SEEDS = 16;
+    private static final double TARGET_ERROR = 0.001;
+
+    // Prices with the given source and path count.
+    private interface Pricer {
+        double price(GaussianSource source, int paths);
+    }
+
+    public static void main(String[] args) {
+        var call = TerminalPayoff.call(STRIKE);
+        Pricer european = (source, paths) -> MonteCarloPricer.price(call, SPOT, VOL, T, null,
+                new MonteCarloPricer.Settings(paths, 0, false), source).price();
+        double closedForm = BlackScholesCalculator.price(true, SPOT, STRIKE, VOL, T);
+        System.out.printf(Locale.US, "European call, closed form %.6f%n", closedForm);
+        compare(european, closedForm, 10, 18);
+
+        var asian = new PathPayoff[] { PathPayoff.asian(true, STRIKE) };
+        Pricer asianPricer = (source, paths) -> {
+            double[] out = new double[1];
+            PathSimulationEngine.price(SPOT, VOL, RATE, 0, asian, new double[] { T },
+                    new double[] { Math.exp(-RATE * T) }, new PathSimulationEngine.Settings(paths, 64, 0), source,
+                    out);
+            return out[0];
+        };
+        // No closed form: use the mean of several large bridged Sobol runs as the reference.
+        double reference = 0;
+        for (int seed = 0; seed < 8; seed++) {
+            reference += asianPricer.price(GaussianSource.sobol(1_000 + seed).withBrownianBridge(), 1 << 17) / 8;
+        }
+        System.out.printf(Locale.US, "%nAsian call, 64 fixings, reference %.6f%n", reference);
+        compare(asianPricer, reference, 10, 15);
+
+        int dimension = 64;
+        double[] z = new double[dimension];
+        for (var entry : new Object[][] { { "pseudo-random", GaussianSource.pseudoRandom(1) },
+                { "sobol", GaussianSource.sobol(1) },
+                { "sobol + brownian bridge", GaussianSource.sobol(1).withBrownianBridge() } }) {
+            var draws = ((GaussianSource) entry[1]).open(0, dimension);
+            double rate = Bench.opsPerSecond(3, 5, 100_000L * dimension, () -> {
+                for (int i = 0; i < 100_000; i++) {
+                    draws.next(z);
+                }
+                Bench.sink = z[0];
+            });
+            Bench.report("draws, " + entry[0], rate, "draws/s");
+        }
+    }
+
+    private static void compare(Pricer pricer, double exact, int minLog2, int maxLog2) {
+        System.out.printf("%10s %14s %14s%n", "paths", "rmse pseudo", "rmse sobol");
+        int points = maxLog2 - minLog2 + 1;
+        double[] logN = new double[points];
+        double[] logPseudo = new double[points];
+        double[] logSobol = new double[points];
+        LongFunction<GaussianSource> pseudo = GaussianSource::pseudoRandom;
+        LongFunction<GaussianSource> sobol = seed -> GaussianSource.sobol(seed).withBrownianBridge();
+        for (int i = 0; i < points; i++) {
+            int paths = 1 << (minLog2 + i);
+            double pseudoRmse = rmse(pricer, pseudo, paths, exact);
+            double sobolRmse = rmse(pricer, sobol, paths, exact);
+            logN[i] = Math.log(paths);
+            logPseudo[i] = Math.log(pseudoRmse);
+            logSobol[i] = Math.log(sobolRmse);
+            System.out.printf(Locale.US, "%,10d %14.6f %14.6f%n", paths, pseudoRmse, sobolRmse);
+        }
+        System.out.printf(Locale.US, "Paths for rmse %.3f: pseudo-random %,.0f, sobol %,.0f%n", TARGET_ERROR,
+                pathsFor(logN, logPseudo), pathsFor(logN, logSobol));
+    }
+
+    private static double rmse(Pricer pricer, LongFunction<GaussianSource> source, int paths, double exact) {
+        double sum = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            double error = pricer.price(source.apply(seed), paths) - exact;
+            sum += error * error;
+        }
+        return Math.sqrt(sum / SEEDS);
+    }
+
+    // Fits log(rmse) = a + b log(paths) by least squares and solves for the target error.
+    private static double pathsFor(double[] x, double[] y) {
+        int n = x.length;
+        double mx = 0, my = 0;
+        for (int i = 0; i < n; i++) {
+            mx += x[i] / n;
+            my += y[i] / n;
+        }
+        double sxy = 0, sxx = 0;
+        for (int i = 0; i < n; i++) {
+            sxy += (x[i] - mx) * (y[i] - my);
+            sxx += (x[i] - mx) * (x[i] - mx);
+        }
+        double slope = sxy / sxx;
+        return Math.exp((Math.log(TARGET_ERROR) - (my - slope * mx)) / slope);
+    }
+}
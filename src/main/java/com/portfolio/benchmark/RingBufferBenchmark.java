@@ -0,0 +1,161 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.MarketDataRingBuffer;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the ring buffer between the publisher and its listeners: the
+ * publisher's allocation per tick on all threads, the producer's tick rate with a slow
+ * listener called inline versus consuming from the ring on its own thread,
+ * and the publish-to-handle latency of each consumer wait strategy.
+ * Run with {@code gradle benchmark -PbenchmarkClass=RingBufferBenchmark}.
+ */
+public class RingBufferBenchmark {
+    private static final int CHANGES = 500;
+    private static final long SLOW_HANDLER_NANOS = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int stocks : new int[] { 4_000, 50_000 }) {
+            var universe = new ArrayList<Stock>(stocks);
+            for (int i = 0; i < stocks; i++) {
+                universe.add(new Stock("T" + i, "Ticker " + i, 100, 0.1, 0.3));
+            }
+            var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(1),
+                    TickScheduler.Config.DEFAULT);
+            for (int t = 0; t < 5_000; t++) {
+                publisher.publishNext();
+            }
+            // Counted on every thread, so the publisher's workers are included.
+            long[] ids = threads.getAllThreadIds();
+            long before = allocatedBytes(threads, ids);
+            for (int t = 0; t < 1_000; t++) {
+                publisher.publishNext();
+            }
+            System.out.printf(Locale.US, "Publisher allocation, %,d stocks: %,.0f bytes/tick%n", stocks,
+                    (allocatedBytes(threads, ids) - before) / 1_000.0);
+        }
+
+        int[] ids = new int[CHANGES];
+        double[] prices = new double[CHANGES];
+        for (int k = 0; k < CHANGES; k++) {
+            ids[k] = k;
+            prices[k] = 100 + k;
+        }
+
+        // A slow listener called inline holds back every tick.
+        var inlineTick = new MarketDataRingBuffer(CHANGES, new MarketDataRingBuffer.Config(1,
+                MarketDataRingBuffer.WaitStrategy.BLOCKING), 0);
+        double inline = Bench.opsPerSecond(2, 3, 1_000, () -> {
+            for (int t = 0; t < 1_000; t++) {
+                var tick = inlineTick.claim();
+                tick.addAll(ids, prices, CHANGES);
+                inlineTick.publish(tick);
+                slowHandle(tick);
+            }
+        });
+        Bench.report("slow listener inline", inline, "ticks/s");
+
+        // The same listener on the ring: the producer runs on, and the listener resynchronizes when overrun.
+        var ring = new MarketDataRingBuffer(CHANGES, MarketDataRingBuffer.Config.DEFAULT, 0);
+        var slow = ring.subscribe(new MarketDataRingBuffer.Handler() {
+            @Override
+            public void onTick(PriceChangeSet changes) {
+                slowHandle(changes);
+            }
+
+            @Override
+            public long onOverrun() {
+                return ring.cursor();
+            }
+        }, 0, "slow-consumer");
+        double decoupled = Bench.opsPerSecond(2, 3, 1_000, () -> {
+            for (int t = 0; t < 1_000; t++) {
+                var tick = ring.claim();
+                tick.addAll(ids, prices, CHANGES);
+                ring.publish(tick);
+            }
+        });
+        // Let the listener notice it was overrun before reporting.
+        Thread.sleep(100);
+        slow.close();
+        Bench.report("slow listener on the ring", decoupled, "ticks/s");
+        System.out.printf(Locale.US, "    slow listener overrun %,d times, %,d ticks behind at the end%n",
+                slow.overruns(), slow.lag());
+
+        for (var strategy : MarketDataRingBuffer.WaitStrategy.values()) {
+            latency(strategy, ids, prices);
+        }
+        System.out.printf("%d available cores; spinning strategies need a core per consumer%n",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    // Publishes ticks 50 us apart to one consumer and reports the mean delay until it handles each.
+    private static void latency(MarketDataRingBuffer.WaitStrategy strategy, int[] ids, double[] prices)
+            throws InterruptedException {
+        int ticks = 2_000;
+        var ring = new MarketDataRingBuffer(CHANGES, new MarketDataRingBuffer.Config(4_096, strategy), 0);
+        long[] publishedAt = new long[ticks + 1];
+        long[] totals = new long[2];
+        var consumer = ring.subscribe(new MarketDataRingBuffer.Handler() {
+            @Override
+            public void onTick(PriceChangeSet changes) {
+                long delay = System.nanoTime() - publishedAt[(int) changes.sequence()];
+                synchronized (totals) {
+                    totals[0] += delay;
+                    totals[1]++;
+                }
+            }
+
+            @Override
+            public long onOverrun() {
+                return ring.cursor();
+            }
+        }, 0, "latency-consumer");
+        for (int t = 1; t <= ticks; t++) {
+            var tick = ring.claim();
+            tick.addAll(ids, prices, CHANGES);
+            publishedAt[t] = System.nanoTime();
+            ring.publish(tick);
+            LockSupport.parkNanos(50_000);
+        }
+        while (consumer.lag() > 0) {
+            Thread.sleep(1);
+        }
+        consumer.close();
+        synchronized (totals) {
+            System.out.printf(Locale.US, "%-10s wait: mean publish-to-handle latency %,.1f us over %,d ticks%n",
+                    strategy, totals[0] / 1e3 / totals[1], totals[1]);
+        }
+    }
+
+    // The bytes allocated so far by the given threads.
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads, long[] ids) {
+        long total = 0;
+        for (long id : ids) {
+            total += Math.max(0, threads.getThreadAllocatedBytes(id));
+        }
+        return total;
+    }
+
+    private static void slowHandle(PriceChangeSet changes) {
+        double sum = 0;
+        for (int k = 0; k < changes.size(); k++) {
+            sum += changes.price(k);
+        }
+        Bench.sink = sum;
+        long until = System.nanoTime() + SLOW_HANDLER_NANOS;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+}
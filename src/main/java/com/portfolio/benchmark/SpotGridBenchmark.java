@@ -0,0 +1,80 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.service.PricingContextCache;
+import com.portfolio.service.SpotGridPricer;
+import com.portfolio.util.BlackScholesCalculator;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compares spot-grid interpolation with direct
+ * {@link BlackScholesCalculator#calculate} calls for accuracy and latency.
+ * Run with {@code gradle benchmark -PbenchmarkClass=SpotGridBenchmark}.
+ */
+public class SpotGridBenchmark {
+    private static final int OPTIONS = 2_000;
+    private static final int TICKS = 200;
+    private static final double SPOT = 100;
+    private static final double VOL = 0.35;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        var today = LocalDate.now();
+        var options = new EuropeanOption[OPTIONS];
+        for (int i = 0; i < OPTIONS; i++) {
+            options[i] = new EuropeanOption("OPT" + i, "UND", rnd.nextBoolean() ? OptionType.CALL : OptionType.PUT,
+                    rnd.nextDouble(70, 130), today.plusDays(rnd.nextInt(7, 730)));
+        }
+        // A random walk of spot moves within the grid range.
+        double[] spots = new double[TICKS];
+        double s = SPOT;
+        for (int i = 0; i < TICKS; i++) {
+            s *= Math.exp(0.002 * rnd.nextGaussian());
+            spots[i] = s;
+        }
+
+        var contexts = new PricingContextCache(Arrays.asList(options));
+        for (int nodes : new int[] { 65, 257, 1025 }) {
+            try (var pricer = new SpotGridPricer(contexts, new SpotGridPricer.Config(0.2, nodes))) {
+                for (var option : options) {
+                    pricer.rebuild(option, SPOT, VOL);
+                }
+
+                double maxError = 0;
+                for (double spot : spots) {
+                    for (var option : options) {
+                        double direct = BlackScholesCalculator.calculate(option, contexts.get(option), spot, VOL);
+                        maxError = Math.max(maxError, Math.abs(pricer.price(option, spot, VOL) - direct));
+                    }
+                }
+
+                double grid = Bench.opsPerSecond(5, 10, (long) OPTIONS * TICKS, () -> {
+                    double sum = 0;
+                    for (double spot : spots) {
+                        for (var option : options) {
+                            sum += pricer.price(option, spot, VOL);
+                        }
+                    }
+                    Bench.sink = sum;
+                });
+                System.out.printf("grid %5d nodes: max abs error %.3e, %6.1f ns/price, stats %s%n",
+                        nodes, maxError, 1e9 / grid, pricer.stats());
+            }
+        }
+
+        double direct = Bench.opsPerSecond(5, 10, (long) OPTIONS * TICKS, () -> {
+            double sum = 0;
+            for (double spot : spots) {
+                for (var option : options) {
+                    sum += BlackScholesCalculator.calculate(option, contexts.get(option), spot, VOL);
+                }
+            }
+            Bench.sink = sum;
+        });
+        System.out.printf("direct Black-Scholes:                      %6.1f ns/price%n", 1e9 / direct);
+    }
+}
@@ -0,0 +1,151 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import com.portfolio.service.MarketDataListener;
+import com.portfolio.service.MarketDataPublisher;
+import com.portfolio.service.TickScheduler;
+import com.portfolio.util.GaussianSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the publisher with many per-account listeners that each care about a
+ * handful of underlyings. Compares broadcasting every change to every
+ * listener, which then filters, with subscribing each listener to its own
+ * tickers through the publisher's subscription index. Reports the end-to-end
+ * tick rate against the publisher on its own, the updates each listener
+ * handled, and checks that every listener saw only its own tickers and ends
+ * with their latest prices.
+ * Run with {@code gradle benchmark -PbenchmarkClass=SubscriptionBenchmark}.
+ */
+public class SubscriptionBenchmark {
+    private static final int STOCKS = 50_000;
+    private static final int LISTENERS = 200;
+    private static final int TICKERS_PER_LISTENER = 5;
+    private static final int TICKS = 200;
+
+    // A portfolio listener tracking the prices of its own tickers.
+    private static final class Account implements MarketDataListener {
+        private final boolean[] wanted = new boolean[STOCKS];
+        private final double[] prices = new double[STOCKS];
+        private volatile long handled;
+        private volatile boolean foreign;
+
+        Account(int[] tickerIds) {
+            for (int id : tickerIds) {
+                wanted[id] = true;
+            }
+        }
+
+        @Override
+        public void onSnapshot(List<Stock> stocks, long sequence) {
+            for (int i = 0; i < STOCKS; i++) {
+                prices[i] = stocks.get(i).currentPrice();
+            }
+        }
+
+        @Override
+        public void onMarketUpdate(PriceChangeSet changes) {
+            long count = 0;
+            for (int k = 0; k < changes.size(); k++) {
+                int id = changes.tickerId(k);
+                foreign |= !wanted[id];
+                prices[id] = changes.price(k);
+                count++;
+            }
+            handled += count;
+        }
+
+        // Broadcast listeners filter for themselves.
+        MarketDataListener filtering() {
+            return new MarketDataListener() {
+                @Override
+                public void onSnapshot(List<Stock> stocks, long sequence) {
+                    Account.this.onSnapshot(stocks, sequence);
+                }
+
+                @Override
+                public void onMarketUpdate(PriceChangeSet changes) {
+                    long count = 0;
+                    for (int k = 0; k < changes.size(); k++) {
+                        int id = changes.tickerId(k);
+                        if (wanted[id]) {
+                            prices[id] = changes.price(k);
+                            count++;
+                        }
+                    }
+                    handled += count;
+                }
+            };
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var rnd = new SplittableRandom(11);
+        var universe = new ArrayList<Stock>(STOCKS);
+        for (int i = 0; i < STOCKS; i++) {
+            universe.add(new Stock("T" + i, "Ticker " + i, rnd.nextDouble(5, 500), 0.1, rnd.nextDouble(0.1, 0.6)));
+        }
+        int[][] subscriptions = new int[LISTENERS][];
+        for (int l = 0; l < LISTENERS; l++) {
+            subscriptions[l] = rnd.ints(TICKERS_PER_LISTENER, 0, STOCKS).toArray();
+        }
+        run("no listeners", universe, new int[0][], true);
+        run("broadcast, listeners filter", universe, subscriptions, false);
+        run("subscription index", universe, subscriptions, true);
+    }
+
+    private static void run(String name, List<Stock> universe, int[][] subscriptions, boolean indexed)
+            throws InterruptedException {
+        var publisher = new MarketDataPublisher(universe, GaussianSource.pseudoRandom(3),
+                TickScheduler.Config.DEFAULT);
+        var accounts = new ArrayList<Account>();
+        for (int[] tickerIds : subscriptions) {
+            var account = new Account(tickerIds);
+            accounts.add(account);
+            if (indexed) {
+                var tickers = new ArrayList<String>();
+                for (int id : tickerIds) {
+                    tickers.add(universe.get(id).ticker());
+                }
+                publisher.addListener(account, tickers);
+            } else {
+                publisher.addListener(account.filtering());
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int t = 0; t < TICKS; t++) {
+            publisher.publishNext();
+        }
+        while (publisher.listenerStats().stream().anyMatch(s -> s.lag() > 0)) {
+            Thread.sleep(1);
+        }
+        double rate = TICKS / ((System.nanoTime() - start) / 1e9);
+        Bench.report(name, rate, "ticks/s");
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        var latest = publisher.snapshot();
+        boolean correct = true;
+        long handled = 0;
+        for (var account : accounts) {
+            handled += account.handled;
+            correct &= !account.foreign;
+            for (int id = 0; id < STOCKS; id++) {
+                if (account.wanted[id]) {
+                    correct &= account.prices[id] == latest.get(id).currentPrice();
+                }
+            }
+        }
+        long delivered = publisher.listenerStats().stream().mapToLong(s -> s.updates() + s.dropped()).sum();
+        System.out.printf(Locale.US,
+                "    %,.0f updates per listener handled, %,.0f sent to it; only own tickers, latest prices: %b%n",
+                (double) handled / accounts.size(), (double) delivered / accounts.size(), correct);
+    }
+}
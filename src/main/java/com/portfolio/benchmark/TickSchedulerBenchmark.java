@@ -0,0 +1,41 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.service.TickScheduler;
+import com.portfolio.service.TickScheduler.Config;
+import com.portfolio.service.TickScheduler.Mode;
+import com.portfolio.service.TickScheduler.WaitStrategy;
+
+import java.util.Locale;
+
+/**
+ * Measures the achieved tick rate and jitter of each tick mode and wait
+ * strategy at a 10 kHz target.
+ * Run with {@code gradle benchmark -PbenchmarkClass=TickSchedulerBenchmark}.
+ */
+public class TickSchedulerBenchmark {
+    private static final double TARGET_RATE = 10_000;
+    private static final long RUN_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%-22s %-8s %14s %16s %16s%n", "mode", "wait", "ticks/s", "mean jitter us",
+                "max jitter us");
+        run(new Config(Mode.AS_FAST_AS_POSSIBLE, TARGET_RATE, WaitStrategy.SPIN));
+        for (var mode : new Mode[] { Mode.FIXED_RATE, Mode.POISSON }) {
+            for (var wait : WaitStrategy.values()) {
+                run(new Config(mode, TARGET_RATE, wait));
+            }
+        }
+    }
+
+    private static void run(Config config) throws InterruptedException {
+        var scheduler = new TickScheduler(config);
+        scheduler.start();
+        long end = System.nanoTime() + RUN_NANOS;
+        while (System.nanoTime() < end) {
+            scheduler.awaitNextTick();
+        }
+        var stats = scheduler.drainStats();
+        System.out.printf(Locale.US, "%-22s %-8s %,14.0f %16.1f %16.1f%n", config.mode(), config.waitStrategy(),
+                stats.ticksPerSecond(), stats.meanJitterMicros(), stats.maxJitterMicros());
+    }
+}
@@ -0,0 +1,58 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.VectorBlackScholes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Revalues one million options with the scalar batch loop and with
+ * {@link VectorBlackScholes}, and checks that both agree within the documented
+ * tolerance.
+ * Run with {@code gradle benchmark -PbenchmarkClass=VectorBlackScholesBenchmark}.
+ */
+public class VectorBlackScholesBenchmark {
+    private static final int OPTIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        var rnd = new SplittableRandom(42);
+        double[] spot = new double[OPTIONS];
+        double[] strike = new double[OPTIONS];
+        double[] vol = new double[OPTIONS];
+        double[] timeToExpiry = new double[OPTIONS];
+        boolean[] isCall = new boolean[OPTIONS];
+        double[] scalarOut = new double[OPTIONS];
+        double[] vectorOut = new double[OPTIONS];
+
+        for (int i = 0; i < OPTIONS; i++) {
+            spot[i] = rnd.nextDouble(50, 150);
+            strike[i] = rnd.nextDouble(50, 150);
+            vol[i] = rnd.nextDouble(0.1, 0.8);
+            // A few expired contracts exercise the intrinsic-value branch.
+            timeToExpiry[i] = rnd.nextInt(100) == 0 ? 0.0 : rnd.nextDouble(1.0 / 365, 2.0);
+            isCall[i] = rnd.nextBoolean();
+        }
+
+        System.out.printf("Revaluing %,d options, vectorized=%b%n", OPTIONS, VectorBlackScholes.isVectorized());
+
+        double scalar = Bench.opsPerSecond(5, 10, OPTIONS, () -> {
+            BlackScholesCalculator.calculate(spot, strike, vol, timeToExpiry, isCall, scalarOut);
+            Bench.sink = scalarOut[OPTIONS - 1];
+        });
+        Bench.report("scalar batch", scalar, "options/s");
+
+        double vector = Bench.opsPerSecond(5, 10, OPTIONS, () -> {
+            VectorBlackScholes.calculate(spot, strike, vol, timeToExpiry, isCall, vectorOut);
+            Bench.sink = vectorOut[OPTIONS - 1];
+        });
+        Bench.report("vector batch", vector, "options/s");
+        System.out.printf("Speed-up: %.2fx%n", vector / scalar);
+
+        double maxError = 0;
+        for (int i = 0; i < OPTIONS; i++) {
+            maxError = Math.max(maxError, Math.abs(scalarOut[i] - vectorOut[i]));
+        }
+        System.out.printf("Max abs difference: %.3e (tolerance %.0e) %s%n", maxError, VectorBlackScholes.TOLERANCE,
+                maxError <= VectorBlackScholes.TOLERANCE ? "OK" : "FAILED");
+    }
+}
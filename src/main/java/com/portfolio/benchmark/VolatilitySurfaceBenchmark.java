@@ -0,0 +1,54 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.util.VolatilitySurface;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures the cost of a bilinear {@link VolatilitySurface} lookup.
+ * Run with {@code gradle benchmark -PbenchmarkClass=VolatilitySurfaceBenchmark}.
+ */
+public class VolatilitySurfaceBenchmark {
+    // Inputs stay cache-resident so the timing reflects the lookup, not memory bandwidth.
+    private static final int INPUTS = 4_096;
+    private static final int PASSES = 250;
+
+    public static void main(String[] args) {
+        // A listed-chain sized grid: 20 expiries by 60 strikes.
+        double[] expiries = new double[20];
+        double[] strikes = new double[60];
+        double[] vols = new double[expiries.length * strikes.length];
+        for (int e = 0; e < expiries.length; e++) {
+            expiries[e] = (e + 1) / 12.0;
+        }
+        for (int k = 0; k < strikes.length; k++) {
+            strikes[k] = 50 + 2.5 * k;
+        }
+        for (int e = 0; e < expiries.length; e++) {
+            for (int k = 0; k < strikes.length; k++) {
+                vols[e * strikes.length + k] = 0.3 + 0.1 * (100 - strikes[k]) / 100 / Math.sqrt(expiries[e]);
+            }
+        }
+        var surface = new VolatilitySurface(expiries, strikes, vols);
+
+        var rnd = new SplittableRandom(42);
+        double[] t = new double[INPUTS];
+        double[] k = new double[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            t[i] = rnd.nextDouble(0.05, 1.8);
+            k[i] = rnd.nextDouble(45, 205);
+        }
+
+        double lookups = Bench.opsPerSecond(20, 20, (long) INPUTS * PASSES, () -> {
+            double sum = 0;
+            for (int pass = 0; pass < PASSES; pass++) {
+                for (int i = 0; i < INPUTS; i++) {
+                    sum += surface.volatility(t[i], k[i]);
+                }
+            }
+            Bench.sink = sum;
+        });
+        System.out.printf("bilinear lookup on %dx%d grid: %.1f ns/lookup%n", expiries.length, strikes.length,
+                1e9 / lookups);
+    }
+}
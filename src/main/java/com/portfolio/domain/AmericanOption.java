@@ -0,0 +1,15 @@
+package com.portfolio.domain;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable record representing an American Option's static definition.
+ * Unlike a European option it may be exercised on any day up to expiry.
+ */
+public record AmericanOption(
+        String ticker,
+        String underlyingTicker,
+        OptionType optionType,
+        double strikePrice,
+        LocalDate expiryDate) implements OptionContract {
+}
@@ -0,0 +1,16 @@
+package com.portfolio.domain;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable record representing an arithmetic-average-price Asian option.
+ * Its payoff compares the strike with the average underlying price observed
+ * up to expiry rather than with the final price.
+ */
+public record AsianOption(
+        String ticker,
+        String underlyingTicker,
+        OptionType optionType,
+        double strikePrice,
+        LocalDate expiryDate) implements OptionContract {
+}
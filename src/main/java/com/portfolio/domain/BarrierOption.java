@@ -0,0 +1,18 @@
+package com.portfolio.domain;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable record representing a European-exercise barrier option.
+ * It pays the vanilla payoff at expiry only if the barrier was (knock-in) or
+ * was not (knock-out) touched during the option's life.
+ */
+public record BarrierOption(
+        String ticker,
+        String underlyingTicker,
+        OptionType optionType,
+        double strikePrice,
+        LocalDate expiryDate,
+        BarrierType barrierType,
+        double barrierLevel) implements OptionContract {
+}
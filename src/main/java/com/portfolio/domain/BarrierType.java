@@ -0,0 +1,11 @@
+package com.portfolio.domain;
+
+/**
+ * An enumeration for the knock-in/knock-out behaviour of a barrier option.
+ */
+public enum BarrierType {
+    UP_AND_OUT,
+    UP_AND_IN,
+    DOWN_AND_OUT,
+    DOWN_AND_IN
+}
@@ -11,5 +11,5 @@ public record EuropeanOption(
         String underlyingTicker,
         OptionType optionType,
         double strikePrice,
-        LocalDate expiryDate) implements Product {
+        LocalDate expiryDate) implements OptionContract {
 }
\ No newline at end of file
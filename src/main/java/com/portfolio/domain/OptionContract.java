@@ -0,0 +1,18 @@
+package com.portfolio.domain;
+
+import java.time.LocalDate;
+
+/**
+ * A sealed interface for the static definition shared by all listed option
+ * contracts, whatever their exercise style or payoff.
+ */
+public sealed interface OptionContract extends Product
+        permits EuropeanOption, AmericanOption, BarrierOption, AsianOption {
+    String underlyingTicker();
+
+    OptionType optionType();
+
+    double strikePrice();
+
+    LocalDate expiryDate();
+}
@@ -0,0 +1,35 @@
+package com.portfolio.domain;
+
+/**
+ * The prices that changed in one market data tick.
+ * Tickers are identified by their index in the publisher's universe, as
+ * given in the snapshot each listener receives when it subscribes, so a
+ * subscriber applies a tick in time proportional to the number of changes.
+ * <p>
+ * Change sets are views of pre-allocated buffers that are reused for later
+ * ticks; a subscriber must copy out anything it keeps.
+ */
+public interface PriceChangeSet {
+
+    /**
+     * @return The tick's sequence number, one more than the previous tick's.
+     */
+    long sequence();
+
+    /**
+     * @return The number of changed prices.
+     */
+    int size();
+
+    /**
+     * @param k The index of a change, below {@link #size()}.
+     * @return The id of the changed ticker; each ticker changes at most once.
+     */
+    int tickerId(int k);
+
+    /**
+     * @param k The index of a change, below {@link #size()}.
+     * @return The ticker's new price.
+     */
+    double price(int k);
+}
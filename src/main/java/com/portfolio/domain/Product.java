@@ -2,10 +2,11 @@ package com.portfolio.domain;
 
 /**
  * A sealed interface representing a financial product.
- * It restricts implementations to a known set of classes (Stock and
- * EuropeanOption),
+ * It restricts implementations to a known set of classes (Stock and the
+ * OptionContract types EuropeanOption, AmericanOption, BarrierOption and
+ * AsianOption),
  * enabling exhaustive checks in pattern matching.
  */
-public sealed interface Product permits Stock, EuropeanOption {
+public sealed interface Product permits Stock, OptionContract {
     String ticker();
 }
\ No newline at end of file
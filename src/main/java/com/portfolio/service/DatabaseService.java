@@ -1,11 +1,18 @@
 package com.portfolio.service;
 
 import com.portfolio.domain.*;
+import com.portfolio.util.PriceProcess;
+import com.portfolio.util.VolatilitySurface;
+import com.portfolio.util.YieldCurve;
 import org.h2.tools.RunScript;
 import java.io.FileReader;
 import java.sql.DriverManager;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * Service to manage database interactions.
@@ -17,10 +24,38 @@ public class DatabaseService {
     private static final String SCHEMA_PATH = "src/main/resources/schema.sql";
 
     /**
-     * A record to hold the loaded product definitions, separating stocks and
-     * options.
+     * A record to hold the loaded product definitions, separating stocks,
+     * vanilla options and path-dependent exotic options, together with the
+     * implied volatility surface and dividend yield curve of each underlying
+     * that has one, the risk-free rate curve, the pairwise correlations and
+     * factor loadings that drive correlated price simulation, and the price
+     * process of each ticker that does not follow GBM.
      */
-    public record ProductDefinitions(Map<String, Stock> stocks, Map<String, EuropeanOption> options) {
+    public record ProductDefinitions(Map<String, Stock> stocks, Map<String, EuropeanOption> options,
+            Map<String, AmericanOption> americanOptions, Map<String, OptionContract> exoticOptions,
+            Map<String, VolatilitySurface> volatilitySurfaces,
+            YieldCurve riskFreeCurve, Map<String, YieldCurve> dividendCurves,
+            Map<String, Map<String, Double>> correlations, Map<String, double[]> factorLoadings,
+            Map<String, PriceProcess.Factory> priceProcesses) {
+
+        /**
+         * @return Every option contract, European, American and exotic.
+         */
+        public List<OptionContract> allOptions() {
+            var all = new ArrayList<OptionContract>(options.values());
+            all.addAll(americanOptions.values());
+            all.addAll(exoticOptions.values());
+            return all;
+        }
+
+        /**
+         * Builds an index of the options by underlying, expiry and strike.
+         * 
+         * @return A new OptionChainIndex over all loaded options.
+         */
+        public OptionChainIndex optionChains() {
+            return OptionChainIndex.of(options.values());
+        }
     }
 
     /**
@@ -32,6 +67,19 @@ public class DatabaseService {
     public ProductDefinitions loadProductDefinitions() {
         var stocks = new HashMap<String, Stock>();
         var options = new HashMap<String, EuropeanOption>();
+        var americanOptions = new HashMap<String, AmericanOption>();
+        var exoticOptions = new HashMap<String, OptionContract>();
+        // underlying -> time to expiry -> strike -> volatility, sorted for grid assembly.
+        var surfaceRows = new HashMap<String, TreeMap<Double, TreeMap<Double, Double>>>();
+        // Curve points sorted by tenor; the risk-free curve is stored under the empty key.
+        var curvePoints = new HashMap<String, TreeMap<Double, Double>>();
+        // Correlations are stored both ways round; loadings as ticker -> factor -> loading.
+        var correlations = new HashMap<String, Map<String, Double>>();
+        var loadingRows = new HashMap<String, TreeMap<String, Double>>();
+        var factorNames = new TreeSet<String>();
+        // Tickers in the same group share one factory, so the publisher steps them together.
+        var processGroups = new HashMap<String, PriceProcess.Factory>();
+        var priceProcesses = new HashMap<String, PriceProcess.Factory>();
 
         // Use try-with-resources for automatic resource management
         try (var connection = DriverManager.getConnection(DB_URL);
@@ -53,21 +101,147 @@ public class DatabaseService {
                     stocks.put(stock.ticker(), stock);
                 }
 
-                // Load Options from the database
+                // Load Options from the database, split by exercise style
                 rs = stmt.executeQuery("SELECT * FROM OPTIONS");
                 while (rs.next()) {
-                    var option = new EuropeanOption(
-                            rs.getString("ticker"),
-                            rs.getString("underlying_ticker"),
-                            OptionType.valueOf(rs.getString("option_type")),
-                            rs.getDouble("strike_price"),
-                            rs.getDate("expiry_date").toLocalDate());
-                    options.put(option.ticker(), option);
+                    var ticker = rs.getString("ticker");
+                    var underlyingTicker = rs.getString("underlying_ticker");
+                    var optionType = OptionType.valueOf(rs.getString("option_type"));
+                    var strikePrice = rs.getDouble("strike_price");
+                    var expiryDate = rs.getDate("expiry_date").toLocalDate();
+                    if ("AMERICAN".equals(rs.getString("exercise_style"))) {
+                        americanOptions.put(ticker,
+                                new AmericanOption(ticker, underlyingTicker, optionType, strikePrice, expiryDate));
+                    } else {
+                        options.put(ticker,
+                                new EuropeanOption(ticker, underlyingTicker, optionType, strikePrice, expiryDate));
+                    }
+                }
+
+                // Load barrier and Asian options from the database
+                rs = stmt.executeQuery("SELECT * FROM EXOTIC_OPTIONS");
+                while (rs.next()) {
+                    var ticker = rs.getString("ticker");
+                    var underlyingTicker = rs.getString("underlying_ticker");
+                    var optionType = OptionType.valueOf(rs.getString("option_type"));
+                    var strikePrice = rs.getDouble("strike_price");
+                    var expiryDate = rs.getDate("expiry_date").toLocalDate();
+                    if ("BARRIER".equals(rs.getString("payoff_style"))) {
+                        exoticOptions.put(ticker, new BarrierOption(ticker, underlyingTicker, optionType, strikePrice,
+                                expiryDate, BarrierType.valueOf(rs.getString("barrier_type")),
+                                rs.getDouble("barrier_level")));
+                    } else {
+                        exoticOptions.put(ticker,
+                                new AsianOption(ticker, underlyingTicker, optionType, strikePrice, expiryDate));
+                    }
+                }
+
+                // Load volatility surface grid points from the database
+                rs = stmt.executeQuery("SELECT * FROM VOL_SURFACE");
+                while (rs.next()) {
+                    surfaceRows.computeIfAbsent(rs.getString("underlying_ticker"), u -> new TreeMap<>())
+                            .computeIfAbsent(rs.getDouble("time_to_expiry"), t -> new TreeMap<>())
+                            .put(rs.getDouble("strike"), rs.getDouble("volatility"));
+                }
+
+                // Load the risk-free and dividend yield curves from the database
+                rs = stmt.executeQuery("SELECT * FROM RATE_CURVE");
+                while (rs.next()) {
+                    curvePoints.computeIfAbsent("", k -> new TreeMap<>())
+                            .put(rs.getDouble("tenor"), rs.getDouble("zero_rate"));
+                }
+                rs = stmt.executeQuery("SELECT * FROM DIVIDEND_CURVE");
+                while (rs.next()) {
+                    curvePoints.computeIfAbsent(rs.getString("underlying_ticker"), k -> new TreeMap<>())
+                            .put(rs.getDouble("tenor"), rs.getDouble("dividend_yield"));
+                }
+
+                // Load pairwise correlations and factor loadings from the database
+                rs = stmt.executeQuery("SELECT * FROM CORRELATION");
+                while (rs.next()) {
+                    var a = rs.getString("ticker_a");
+                    var b = rs.getString("ticker_b");
+                    double correlation = rs.getDouble("correlation");
+                    correlations.computeIfAbsent(a, k -> new HashMap<>()).put(b, correlation);
+                    correlations.computeIfAbsent(b, k -> new HashMap<>()).put(a, correlation);
+                }
+                rs = stmt.executeQuery("SELECT * FROM FACTOR_LOADINGS");
+                while (rs.next()) {
+                    var factor = rs.getString("factor");
+                    factorNames.add(factor);
+                    loadingRows.computeIfAbsent(rs.getString("ticker"), k -> new TreeMap<>())
+                            .put(factor, rs.getDouble("loading"));
+                }
+
+                // Load the price process groups and their members from the database
+                rs = stmt.executeQuery("SELECT * FROM PRICE_PROCESS");
+                while (rs.next()) {
+                    processGroups.put(rs.getString("group_name"), switch (rs.getString("model")) {
+                        case "GBM" -> PriceProcess.gbm();
+                        case "MERTON" -> PriceProcess.merton(rs.getDouble("jump_intensity"),
+                                rs.getDouble("jump_mean"), rs.getDouble("jump_volatility"));
+                        case "HESTON" -> PriceProcess.heston(rs.getDouble("mean_reversion"),
+                                rs.getDouble("long_run_variance"), rs.getDouble("vol_of_vol"),
+                                rs.getDouble("correlation"));
+                        default -> throw new IllegalStateException(
+                                "Unknown price process " + rs.getString("model"));
+                    });
+                }
+                rs = stmt.executeQuery("SELECT * FROM PRICE_PROCESS_MEMBERS");
+                while (rs.next()) {
+                    priceProcesses.put(rs.getString("ticker"), processGroups.get(rs.getString("group_name")));
                 }
             }
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize or load from database", e);
         }
-        return new ProductDefinitions(stocks, options);
+
+        var surfaces = new HashMap<String, VolatilitySurface>();
+        surfaceRows.forEach((underlying, rows) -> surfaces.put(underlying, toSurface(underlying, rows)));
+
+        var riskFreePoints = curvePoints.remove("");
+        if (riskFreePoints == null) {
+            throw new IllegalStateException("RATE_CURVE must contain at least one tenor");
+        }
+        var dividendCurves = new HashMap<String, YieldCurve>();
+        curvePoints.forEach((underlying, points) -> dividendCurves.put(underlying, toCurve(points)));
+        // Every ticker's loadings cover all factors, in factor name order.
+        var factorLoadings = new HashMap<String, double[]>();
+        loadingRows.forEach((ticker, row) -> factorLoadings.put(ticker,
+                factorNames.stream().mapToDouble(f -> row.getOrDefault(f, 0.0)).toArray()));
+        return new ProductDefinitions(stocks, options, americanOptions, exoticOptions, surfaces,
+                toCurve(riskFreePoints), dividendCurves, correlations, factorLoadings, priceProcesses);
+    }
+
+    private static YieldCurve toCurve(TreeMap<Double, Double> points) {
+        return new YieldCurve(
+                points.keySet().stream().mapToDouble(Double::doubleValue).toArray(),
+                points.values().stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Assembles a volatility surface from its grid points. Every expiry must
+     * quote the same set of strikes.
+     */
+    private static VolatilitySurface toSurface(String underlying, TreeMap<Double, TreeMap<Double, Double>> rows) {
+        var strikeSet = rows.firstEntry().getValue().keySet();
+        double[] expiries = new double[rows.size()];
+        double[] strikes = strikeSet.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] vols = new double[expiries.length * strikes.length];
+
+        int e = 0;
+        for (var row : rows.entrySet()) {
+            if (!row.getValue().keySet().equals(strikeSet)) {
+                throw new IllegalStateException("Volatility surface for " + underlying
+                        + " has a different strike set at expiry " + row.getKey());
+            }
+            expiries[e] = row.getKey();
+            int k = 0;
+            for (double vol : row.getValue().values()) {
+                vols[e * strikes.length + k++] = vol;
+            }
+            e++;
+        }
+        return new VolatilitySurface(expiries, strikes, vols);
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.GreeksCalculator;
+import com.portfolio.util.PricingContext;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values options from a Taylor expansion around their last full reprice:
+ * {@code P + delta * dS + gamma * dS^2 / 2 + theta * dT}.
+ * A full Black-Scholes reprice (which also refreshes the cached Greeks) is
+ * done when the spot has moved more than the configured fraction since the
+ * last reprice, when the volatility changes, or when the reprice interval has
+ * elapsed. The time term covers pricing-context rollovers between reprices.
+ * <p>
+ * Not thread-safe; it is meant to be driven from the market update thread.
+ */
+public class DeltaGammaRevaluer {
+
+    /**
+     * @param repriceThreshold     Relative spot move since the last full reprice
+     *                             beyond which an option is fully repriced
+     *                             (e.g. 0.005 for 50 basis points).
+     * @param fullRepriceInterval  Maximum time between full reprices of an option.
+     */
+    public record Config(double repriceThreshold, Duration fullRepriceInterval) {
+
+        /** Reprice after a 50 basis point move or a minute. */
+        public static final Config DEFAULT = new Config(0.005, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Counters for one revaluation cycle.
+     * 
+     * @param approximated       Options valued by the Taylor expansion.
+     * @param repriced           Options fully repriced.
+     * @param maxEstimatedError  Largest estimated per-unit price error of an
+     *                           approximated option, from the third-order (speed)
+     *                           term {@code |speed| * |dS|^3 / 6}.
+     */
+    public record Stats(int approximated, int repriced, double maxEstimatedError) {
+    }
+
+    // Cached state from an option's last full reprice.
+    private static final class Anchor {
+        double spot;
+        double volatility;
+        double timeToExpiry;
+        long repricedAtNanos;
+        final GreeksCalculator.Greeks greeks = new GreeksCalculator.Greeks();
+    }
+
+    private final Config config;
+    private final Map<String, Anchor> anchors = new HashMap<>();
+    private int approximated;
+    private int repriced;
+    private double maxEstimatedError;
+
+    public DeltaGammaRevaluer(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Values an option, approximating from cached Greeks when possible.
+     * 
+     * @param option            The option to value.
+     * @param context           The option's current pricing context.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @return The estimated or fully repriced option price.
+     */
+    public double value(EuropeanOption option, PricingContext context, double currentStockPrice,
+            double volatility) {
+        long now = System.nanoTime();
+        var anchor = anchors.get(option.ticker());
+        double t = context.timeToExpiryYears();
+
+        if (anchor == null
+                || volatility != anchor.volatility
+                || t <= 0
+                || Math.abs(currentStockPrice - anchor.spot) > config.repriceThreshold() * anchor.spot
+                || now - anchor.repricedAtNanos >= config.fullRepriceInterval().toNanos()) {
+            if (anchor == null) {
+                anchor = new Anchor();
+                anchors.put(option.ticker(), anchor);
+            }
+            GreeksCalculator.calculate(option.optionType() == OptionType.CALL, currentStockPrice,
+                    option.strikePrice(), volatility, context, anchor.greeks);
+            anchor.spot = currentStockPrice;
+            anchor.volatility = volatility;
+            anchor.timeToExpiry = t;
+            anchor.repricedAtNanos = now;
+            repriced++;
+            return anchor.greeks.price();
+        }
+
+        var greeks = anchor.greeks;
+        double dS = currentStockPrice - anchor.spot;
+        // Theta is the derivative in calendar time, i.e. the negative of d/dT.
+        double elapsed = anchor.timeToExpiry - t;
+        double estimate = greeks.price() + greeks.delta() * dS + 0.5 * greeks.gamma() * dS * dS
+                + greeks.theta() * elapsed;
+
+        approximated++;
+        maxEstimatedError = Math.max(maxEstimatedError, Math.abs(greeks.speed() * dS * dS * dS) / 6.0);
+        return estimate;
+    }
+
+    /**
+     * Returns the counters accumulated since the previous call and resets them.
+     */
+    public Stats drainStats() {
+        var stats = new Stats(approximated, repriced, maxEstimatedError);
+        approximated = 0;
+        repriced = 0;
+        maxEstimatedError = 0;
+        return stats;
+    }
+}
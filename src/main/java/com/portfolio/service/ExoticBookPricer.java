@@ -0,0 +1,244 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.AsianOption;
+import com.portfolio.domain.BarrierOption;
+import com.portfolio.domain.OptionContract;
+import com.portfolio.domain.OptionType;
+import com.portfolio.domain.Stock;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.PathSimulationEngine;
+import com.portfolio.util.PathSimulationEngine.PathHistory;
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+import com.portfolio.util.VolatilitySurface;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices a book of path-dependent options by running one shared path
+ * simulation per underlying, rather than one per contract.
+ * <p>
+ * Paths step along the risk-free and dividend curves and along the
+ * underlying's volatility surface at today's spot, or the stock's own sigma
+ * without a surface, so each contract sees the rate, dividend yield and
+ * at-the-money variance to its own expiry; each is also discounted with its
+ * own discount factor. One diffusion cannot carry the smile, so every strike
+ * shares the at-the-money term structure.
+ * <p>
+ * A simulation is far too heavy for every market update. An underlying's book
+ * is simulated again only when its spot has moved more than the configured
+ * fraction since the last simulation, when the reprice interval has elapsed,
+ * or when the pricing contexts roll over; in between, its last prices are
+ * returned.
+ * <p>
+ * Contracts are taken to start when the pricer is created. From then on, each
+ * live contract observes every spot it is priced at, for its barriers, and
+ * takes an averaging fixing at each simulation step's date since that first
+ * valuation time. Every simulation continues each contract's path from what
+ * it has observed, so a barrier that has knocked out stays out when the spot
+ * returns and an Asian average keeps the fixings already taken. An expired
+ * contract is worth its payoff on what it observed.
+ * <p>
+ * Not thread-safe; it is meant to be driven from the market update thread.
+ */
+public class ExoticBookPricer {
+    public static final PathSimulationEngine.Settings DEFAULT_SETTINGS =
+            new PathSimulationEngine.Settings(20_000, 252, 42);
+    private static final double SECONDS_PER_YEAR = 365.0 * 24 * 60 * 60;
+
+    /**
+     * @param repriceThreshold Relative spot move since the last simulation
+     *                         beyond which a book is simulated again (e.g.
+     *                         0.001 for 10 basis points).
+     * @param repriceInterval  Maximum time between simulations of a book.
+     */
+    public record Config(double repriceThreshold, Duration repriceInterval) {
+
+        /** A 10 basis point move or five seconds. */
+        public static final Config DEFAULT = new Config(0.001, Duration.ofSeconds(5));
+    }
+
+    private final Map<String, Book> books = new HashMap<>();
+    private final Map<String, VolatilitySurface> volatilitySurfaces;
+    private final PathSimulationEngine.Settings settings;
+    private final Config config;
+
+    // The contracts on one underlying, with their payoffs and last prices in matching order.
+    private static final class Book {
+        final List<OptionContract> contracts;
+        final PathPayoff[] payoffs;
+        final double[] timeToExpiry;
+        final double[] discountFactor;
+        final double[] prices;
+        final PathHistory history;
+        // The valuation time the contracts started at, and the fixings taken since.
+        LocalDateTime inception;
+        int fixingsTaken;
+        // The inputs of the last simulation; no valuation time before the first.
+        double spot;
+        LocalDateTime valuationTime;
+        long pricedAtNanos;
+
+        Book(List<OptionContract> contracts) {
+            this.contracts = List.copyOf(contracts);
+            this.payoffs = contracts.stream().map(ExoticBookPricer::payoffOf).toArray(PathPayoff[]::new);
+            this.timeToExpiry = new double[contracts.size()];
+            this.discountFactor = new double[contracts.size()];
+            this.prices = new double[contracts.size()];
+            this.history = new PathHistory(contracts.size());
+        }
+    }
+
+    public ExoticBookPricer(Collection<? extends OptionContract> exotics) {
+        this(exotics, Map.of());
+    }
+
+    public ExoticBookPricer(Collection<? extends OptionContract> exotics, PathSimulationEngine.Settings settings) {
+        this(exotics, Map.of(), settings, Config.DEFAULT);
+    }
+
+    /**
+     * @param exotics            The barrier and Asian options to price.
+     * @param volatilitySurfaces Volatility surfaces by underlying.
+     */
+    public ExoticBookPricer(Collection<? extends OptionContract> exotics,
+            Map<String, VolatilitySurface> volatilitySurfaces) {
+        this(exotics, volatilitySurfaces, DEFAULT_SETTINGS, Config.DEFAULT);
+    }
+
+    /**
+     * @param exotics            The barrier and Asian options to price.
+     * @param volatilitySurfaces Volatility surfaces by underlying; underlyings
+     *                           without one simulate at the stock's sigma.
+     * @param settings           The simulation settings.
+     * @param config             When a book is simulated again.
+     */
+    public ExoticBookPricer(Collection<? extends OptionContract> exotics,
+            Map<String, VolatilitySurface> volatilitySurfaces, PathSimulationEngine.Settings settings,
+            Config config) {
+        this.volatilitySurfaces = Map.copyOf(volatilitySurfaces);
+        this.settings = settings;
+        this.config = config;
+        var byUnderlying = new HashMap<String, List<OptionContract>>();
+        for (var option : exotics) {
+            byUnderlying.computeIfAbsent(option.underlyingTicker(), u -> new ArrayList<>()).add(option);
+        }
+        byUnderlying.forEach((underlying, contracts) -> books.put(underlying, new Book(contracts)));
+    }
+
+    /**
+     * @return The path payoff of a barrier or Asian option.
+     * @throws IllegalArgumentException if the contract has no path payoff.
+     */
+    public static PathPayoff payoffOf(OptionContract option) {
+        boolean isCall = option.optionType() == OptionType.CALL;
+        if (option instanceof BarrierOption barrier) {
+            return PathPayoff.barrier(isCall, barrier.strikePrice(), barrier.barrierType(), barrier.barrierLevel());
+        } else if (option instanceof AsianOption asian) {
+            return PathPayoff.asian(isCall, asian.strikePrice());
+        }
+        throw new IllegalArgumentException("No path payoff for " + option.ticker());
+    }
+
+    /**
+     * @return {@code true} if the book has no contracts.
+     */
+    public boolean isEmpty() {
+        return books.isEmpty();
+    }
+
+    /**
+     * Prices every contract in the book, simulating only the underlyings due
+     * for it.
+     * 
+     * @param currentStocks   The latest stocks, keyed by ticker.
+     * @param pricingContexts The cache holding each contract's pricing inputs
+     *                        and the curves.
+     * @return The price of each contract, keyed by its ticker.
+     */
+    public Map<String, Double> price(Map<String, Stock> currentStocks, PricingContextCache pricingContexts) {
+        long now = System.nanoTime();
+        // Read before the contexts, so a rollover in between is simulated again next time.
+        var valuationTime = pricingContexts.valuationTime();
+        var prices = new HashMap<String, Double>();
+        books.forEach((underlying, book) -> {
+            var stock = currentStocks.get(underlying);
+            double spot = stock.currentPrice();
+            boolean rolledOver = !valuationTime.equals(book.valuationTime);
+            if (rolledOver) {
+                // Contracts expiring at the rollover stop observing before they see the new spot.
+                refreshContexts(book, pricingContexts);
+            }
+            observe(book, spot, valuationTime);
+            if (rolledOver
+                    || Math.abs(spot - book.spot) > config.repriceThreshold() * book.spot
+                    || now - book.pricedAtNanos >= config.repriceInterval().toNanos()) {
+                simulate(underlying, book, stock, pricingContexts);
+                book.spot = spot;
+                book.valuationTime = valuationTime;
+                book.pricedAtNanos = now;
+            }
+            for (int i = 0; i < book.prices.length; i++) {
+                prices.put(book.contracts.get(i).ticker(), book.prices[i]);
+            }
+        });
+        return prices;
+    }
+
+    private static void refreshContexts(Book book, PricingContextCache pricingContexts) {
+        for (int i = 0; i < book.prices.length; i++) {
+            var context = pricingContexts.get(book.contracts.get(i));
+            book.timeToExpiry[i] = context.timeToExpiryYears();
+            book.discountFactor[i] = context.discountFactor();
+        }
+    }
+
+    // Adds the spot to every live contract's history, with the fixings due on the simulation grid since inception.
+    private void observe(Book book, double spot, LocalDateTime valuationTime) {
+        if (book.inception == null) {
+            book.inception = valuationTime;
+        }
+        double elapsedYears = ChronoUnit.SECONDS.between(book.inception, valuationTime) / SECONDS_PER_YEAR;
+        int fixingsDue = (int) Math.floor(elapsedYears * settings.stepsPerYear() + 1e-9);
+        int newFixings = fixingsDue - book.fixingsTaken;
+        book.fixingsTaken = fixingsDue;
+        for (int i = 0; i < book.prices.length; i++) {
+            if (book.timeToExpiry[i] <= 0) {
+                continue;
+            }
+            book.history.observe(i, spot);
+            // Fixings missed while no spot arrived are all taken at the first one after them.
+            for (int f = 0; f < newFixings; f++) {
+                book.history.fix(i, spot);
+            }
+        }
+    }
+
+    private void simulate(String underlying, Book book, Stock stock, PricingContextCache pricingContexts) {
+        var riskFreeCurve = pricingContexts.riskFreeCurve();
+        var dividendCurve = pricingContexts.dividendCurve(underlying);
+        var surface = volatilitySurfaces.get(underlying);
+        double spot = stock.currentPrice();
+        double sigma = stock.sigma();
+        var dynamics = new PathSimulationEngine.Dynamics() {
+            @Override
+            public double carry(double t) {
+                return (riskFreeCurve.rate(t) - dividendCurve.rate(t)) * t;
+            }
+
+            @Override
+            public double variance(double t) {
+                double volatility = surface == null ? sigma : surface.volatility(t, spot);
+                return volatility * volatility * t;
+            }
+        };
+        PathSimulationEngine.price(spot, dynamics, book.payoffs, book.timeToExpiry, book.discountFactor, book.history,
+                settings, GaussianSource.pseudoRandom(settings.seed()), book.prices);
+    }
+}
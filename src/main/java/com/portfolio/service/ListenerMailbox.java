@@ -0,0 +1,238 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * A listener's mailbox: the latest price of every subscribed ticker that
+ * changed since the listener last took delivery, delivered on a lane of its
+ * own.
+ * <p>
+ * The mailbox holds at most one entry per subscribed ticker, so it is bounded
+ * by the size of the subscription. A listener that falls behind receives one
+ * conflated set with each ticker's latest price instead of a growing backlog
+ * of ticks, and the prices it never saw are counted as dropped. Only one
+ * delivery runs at a time, so the listener is never called concurrently.
+ */
+final class ListenerMailbox {
+    private final MarketDataListener listener;
+    private final Executor lanes;
+    // Ticks up to this one are already in the listener's snapshot.
+    private final long after;
+    // The subscribed ticker ids in ascending order, or null for all of them.
+    private final int[] tickerIds;
+    // Where each subscribed ticker, by its place in the subscription, is in the filling batch, or -1.
+    private final int[] positions;
+    // Filled by the dispatcher under the lock; swapped with the spare for delivery.
+    private Batch filling;
+    private Batch spare;
+    private boolean started;
+    private boolean scheduled;
+    private volatile long committedSequence;
+    private volatile long deliveredSequence;
+    private volatile long updates;
+    private volatile long dropped;
+
+    // A conflated set of changes; sequence is the last tick it includes.
+    private static final class Batch implements PriceChangeSet {
+        private long sequence;
+        private int size;
+        private final int[] tickerIds;
+        private final double[] prices;
+
+        private Batch(int capacity, long sequence) {
+            this.tickerIds = new int[capacity];
+            this.prices = new double[capacity];
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int tickerId(int k) {
+            return tickerIds[k];
+        }
+
+        @Override
+        public double price(int k) {
+            return prices[k];
+        }
+    }
+
+    /**
+     * @param listener  The listener to deliver to.
+     * @param lanes     Runs the deliveries; it must not run them on the
+     *                  calling thread.
+     * @param tickerIds The subscribed ticker ids in ascending order, or
+     *                  {@code null} for the whole universe.
+     * @param universe  The size of the universe.
+     * @param after     The sequence number of the listener's snapshot.
+     */
+    ListenerMailbox(MarketDataListener listener, Executor lanes, int[] tickerIds, int universe, long after) {
+        this.listener = listener;
+        this.lanes = lanes;
+        this.after = after;
+        this.tickerIds = tickerIds;
+        int capacity = tickerIds == null ? universe : tickerIds.length;
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.filling = new Batch(capacity, after);
+        this.spare = new Batch(capacity, after);
+        this.committedSequence = after;
+        this.deliveredSequence = after;
+    }
+
+    /**
+     * Starts delivering, once the listener has taken its snapshot.
+     */
+    void start() {
+        synchronized (this) {
+            started = true;
+            if (!schedule()) {
+                return;
+            }
+        }
+        lanes.execute(this::drain);
+    }
+
+    /**
+     * Adds a subscribed ticker's price from tick {@code sequence}, replacing
+     * any undelivered price of the same ticker. It is delivered once the tick
+     * is committed; ticks already in the listener's snapshot are ignored.
+     */
+    void put(long sequence, int tickerId, double price) {
+        if (sequence <= after) {
+            return;
+        }
+        int slot = tickerIds == null ? tickerId : Arrays.binarySearch(tickerIds, tickerId);
+        synchronized (this) {
+            int position = positions[slot];
+            if (position >= 0) {
+                filling.prices[position] = price;
+                dropped++;
+            } else {
+                positions[slot] = filling.size;
+                filling.tickerIds[filling.size] = tickerId;
+                filling.prices[filling.size++] = price;
+            }
+        }
+    }
+
+    /**
+     * Completes tick {@code sequence}, starting a delivery unless one is
+     * already running.
+     */
+    void commit(long sequence) {
+        if (sequence <= after) {
+            return;
+        }
+        synchronized (this) {
+            filling.sequence = sequence;
+            committedSequence = sequence;
+            if (!schedule()) {
+                return;
+            }
+        }
+        lanes.execute(this::drain);
+    }
+
+    /**
+     * Adds every subscribed ticker's price as of tick {@code sequence} and
+     * commits it; for recovering ticks the dispatcher lost.
+     * 
+     * @param prices The prices of the whole universe.
+     */
+    void putAll(double[] prices, long sequence) {
+        if (tickerIds == null) {
+            for (int i = 0; i < prices.length; i++) {
+                put(sequence, i, prices[i]);
+            }
+        } else {
+            for (int tickerId : tickerIds) {
+                put(sequence, tickerId, prices[tickerId]);
+            }
+        }
+        commit(sequence);
+    }
+
+    // Under the lock: whether a drain must be started for new changes.
+    private boolean schedule() {
+        if (!started || scheduled || filling.sequence == deliveredSequence) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            Batch batch;
+            synchronized (this) {
+                if (filling.sequence == deliveredSequence) {
+                    scheduled = false;
+                    return;
+                }
+                batch = filling;
+                for (int k = 0; k < batch.size; k++) {
+                    int tickerId = batch.tickerIds[k];
+                    positions[tickerIds == null ? tickerId : Arrays.binarySearch(tickerIds, tickerId)] = -1;
+                }
+                filling = spare;
+                filling.size = 0;
+                filling.sequence = batch.sequence;
+                spare = batch;
+            }
+            try {
+                listener.onMarketUpdate(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            updates += batch.size;
+            deliveredSequence = batch.sequence;
+        }
+    }
+
+    /**
+     * @return The sequence number of the last tick with changes for the
+     *         listener.
+     */
+    long committedSequence() {
+        return committedSequence;
+    }
+
+    /**
+     * @return The sequence number of the last tick delivered.
+     */
+    long deliveredSequence() {
+        return deliveredSequence;
+    }
+
+    /**
+     * @return The number of price updates delivered.
+     */
+    long updates() {
+        return updates;
+    }
+
+    /**
+     * @return The number of price updates replaced by a later price before
+     *         they were delivered.
+     */
+    long dropped() {
+        return dropped;
+    }
+
+    MarketDataListener listener() {
+        return listener;
+    }
+}
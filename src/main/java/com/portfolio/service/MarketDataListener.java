@@ -0,0 +1,35 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+
+import java.util.List;
+
+/**
+ * A consumer of market data from the {@link MarketDataPublisher}.
+ * <p>
+ * A listener is added with the set of tickers it cares about. It receives a
+ * snapshot of the whole universe once, then only the changes of its own
+ * tickers, on a delivery lane of its own: calls to one listener never
+ * overlap, but different listeners are called concurrently.
+ */
+public interface MarketDataListener {
+
+    /**
+     * Called once, when the listener is added, before any update.
+     * 
+     * @param stocks   Every stock at its last published price; a stock's
+     *                 index is its id in subsequent change sets.
+     * @param sequence The sequence number of the last tick included.
+     */
+    void onSnapshot(List<Stock> stocks, long sequence);
+
+    /**
+     * Called when subscribed tickers have changed. If the listener falls
+     * behind, one update carries the latest prices of several ticks.
+     * 
+     * @param changes The subscribed prices that changed since the previous
+     *                update, valid only until this method returns.
+     */
+    void onMarketUpdate(PriceChangeSet changes);
+}
@@ -1,54 +1,480 @@
 package com.portfolio.service;
 
+import com.portfolio.domain.PriceChangeSet;
 import com.portfolio.domain.Stock;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.GbmStepper;
+import com.portfolio.util.PriceProcess;
+import com.portfolio.util.ShockCorrelation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
 
 /**
  * A publisher that simulates real-time stock price changes.
- * It runs in a separate thread and publishes immutable lists of updated stocks.
+ * It runs in a separate thread and publishes each tick as a
+ * {@link PriceChangeSet} holding only the prices that moved by at least the
+ * minimum price change since they were last published. A listener receives a
+ * full snapshot once, when it is added, and then applies the change sets.
+ * <p>
+ * Ticks are written into the pre-allocated slots of a
+ * {@link MarketDataRingBuffer}. A dispatcher thread consumes them and, through
+ * an index from ticker id to the set of subscribed listeners, merges each
+ * change only into the {@link ListenerMailbox} of the listeners that want it.
+ * Each mailbox delivers on a lane of its own and conflates per ticker, so a
+ * slow listener neither holds back the simulation nor the other listeners: it
+ * receives the latest prices when it catches up. If the dispatcher is
+ * overrun, every mailbox receives the full set of published prices.
+ * <p>
+ * The universe is split into fixed partitions of consecutive stocks. Each
+ * partition draws its shocks from its own stream of the
+ * {@link GaussianSource}, opened at the partition's index, and large
+ * universes are stepped one partition per task on the publisher's
+ * {@link TickWorkers}, threads started once that run each phase of a tick
+ * without allocating, one per core unless set otherwise. For a seeded source
+ * every run is therefore reproducible, whatever the number of workers.
+ * <p>
+ * Shocks are independent unless a {@link ShockCorrelation} is set, in which
+ * case the shared factors are drawn once all partitions have drawn, and every
+ * partition is then correlated.
+ * <p>
+ * Prices are stepped by a {@link PriceProcess} per group of tickers, exact
+ * log-normal GBM ({@link GbmStepper}) unless another model is assigned, so a
+ * heavier model on a few names does not slow the rest. Each group is stepped
+ * in chunks on the workers, with its model's extra draws from streams of
+ * their own; a model that draws for itself is seeded from the source. {@code dt}
+ * is the wall-clock time since the previous tick, so every model keeps the
+ * same volatility per second at any tick rate.
  */
 public class MarketDataPublisher implements Runnable {
-    // AtomicReference safely holds the current, immutable list of stocks for
-    // thread-safe updates.
-    private final AtomicReference<List<Stock>> currentStocks;
-    private final Random random = new Random();
-    // A thread-safe list for listeners.
-    private final List<PortfolioService> listeners = new CopyOnWriteArrayList<>();
+    // The stocks' static definitions; a stock's id is its index here.
+    private final List<Stock> definitions;
+    private final Map<String, Integer> idsByTicker = new HashMap<>();
+    // The last published price of every stock.
+    private final double[] published;
+    private volatile double minimumChange = DEFAULT_MINIMUM_CHANGE;
+    private final Partition[] partitions;
+    private final Chunk[] chunks;
+    // The number of changes each chunk recorded in the tick in progress.
+    private final int[] changeCounts;
+    // The tick in progress, read by the per-partition and per-chunk tasks, which are
+    // created once so that a tick allocates nothing.
+    private Correlated tickCorrelation;
+    private double tickDt;
+    private double tickMinimumChange;
+    private final IntConsumer draw = this::draw;
+    private final IntConsumer correlate = this::correlate;
+    private final IntConsumer step = this::step;
+    private TickWorkers workers = new TickWorkers(Runtime.getRuntime().availableProcessors() - 1,
+            "market-data-worker");
+    // The main shock of every stock for the tick in progress.
+    private final double[] shocks;
+    private final GaussianSource source;
+    // Null while shocks are independent.
+    private volatile Correlated correlated;
+    // Paces the ticks; the latest report is published for other threads.
+    private final TickScheduler scheduler;
+    private volatile TickScheduler.Stats tickStats;
+    // Carries the ticks to the dispatcher, which fills the listeners' mailboxes.
+    private final MarketDataRingBuffer ring;
+    private volatile SubscriptionIndex index = new SubscriptionIndex(new ListenerMailbox[0], 0, new long[0],
+            new long[0]);
+    // Started with the first listener.
+    private volatile MarketDataRingBuffer.Consumer dispatcher;
+    // Delivery lanes; a busy lane holds a thread of its own, so no listener waits for another.
+    private final ExecutorService lanes = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "market-data-lane");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     // Constants for the Geometric Brownian Motion model from the appendix.
     private static final double T_SECONDS = 7257600.0;
     private static final double DELTA_T_SECONDS = 1.0;
+    // Clamp prices to the range [0.5, 1000.0] as per a potential interpretation of the problem statement.
+    private static final double MIN_PRICE = 0.5;
+    private static final double MAX_PRICE = 1000.0;
+    private static final long REPORT_INTERVAL_NANOS = 10_000_000_000L;
+    // Stocks per partition; also the unit of parallel work.
+    private static final int PARTITION_SIZE = 4_096;
+    // One cent: smaller moves are not quoted.
+    private static final double DEFAULT_MINIMUM_CHANGE = 0.01;
 
+    // A range of stocks with its own shock stream: each tick draws one "path" of one shock per stock.
+    private record Partition(int from, int to, GaussianSource.Draws shocks, double[] epsilon) {
+    }
+
+    // A range of one group's stocks, stepped as one task, with room for the range's changes.
+    private record Chunk(PriceProcess process, int[] members, int from, int to, GaussianSource.Draws extraDraws,
+            double[] shocks, double[] extra, int[] changedIds, double[] changedPrices) {
+    }
+
+    // The listeners' mailboxes, in the order added, and which of them want each ticker: bit l of
+    // word (id * words + l / 64) is set when mailbox l subscribes to ticker id. Replaced whenever a
+    // listener is added; touched is the dispatcher's scratch space for the mailboxes of a tick.
+    private record SubscriptionIndex(ListenerMailbox[] mailboxes, int words, long[] bits, long[] touched) {
+    }
+
+    // The correlation in force, with its shared-factor stream and the whole universe's independent draws.
+    private record Correlated(ShockCorrelation correlation, GaussianSource.Draws commonDraws, double[] common,
+            double[] independent) {
+    }
+
+    /**
+     * Creates a publisher with pseudo-random shocks, paced by the tick
+     * configuration from the system properties.
+     * 
+     * @param initialStocks The stocks to simulate.
+     * @see TickScheduler.Config#configured()
+     */
     public MarketDataPublisher(List<Stock> initialStocks) {
-        this.currentStocks = new AtomicReference<>(initialStocks);
+        this(initialStocks, GaussianSource.pseudoRandom(System.nanoTime()));
+    }
+
+    /**
+     * @param initialStocks The stocks to simulate.
+     * @param source        The source of the price shocks. Quasi-random
+     *                      sources are meant for pricing, where each point is
+     *                      a whole path; consecutive points of a
+     *                      low-discrepancy sequence are not independent ticks.
+     */
+    public MarketDataPublisher(List<Stock> initialStocks, GaussianSource source) {
+        this(initialStocks, source, TickScheduler.Config.configured());
+    }
+
+    /**
+     * @param initialStocks The stocks to simulate.
+     * @param source        The source of the price shocks.
+     * @param ticks         How ticks are paced.
+     */
+    public MarketDataPublisher(List<Stock> initialStocks, GaussianSource source, TickScheduler.Config ticks) {
+        this(initialStocks, source, ticks, Map.of());
+    }
+
+    /**
+     * @param initialStocks The stocks to simulate.
+     * @param source        The source of the price shocks.
+     * @param ticks         How ticks are paced.
+     * @param processes     The price process of each ticker. Tickers sharing a
+     *                      factory instance form one group; tickers not listed
+     *                      follow GBM.
+     */
+    public MarketDataPublisher(List<Stock> initialStocks, GaussianSource source, TickScheduler.Config ticks,
+            Map<String, PriceProcess.Factory> processes) {
+        this(initialStocks, source, ticks, processes, MarketDataRingBuffer.Config.configured());
+    }
+
+    /**
+     * @param initialStocks The stocks to simulate.
+     * @param source        The source of the price shocks.
+     * @param ticks         How ticks are paced.
+     * @param processes     The price process of each ticker; see
+     *                      {@link #MarketDataPublisher(List, GaussianSource, TickScheduler.Config, Map)}.
+     * @param ring          The size of the ring buffer and how the
+     *                      dispatcher waits on it.
+     */
+    public MarketDataPublisher(List<Stock> initialStocks, GaussianSource source, TickScheduler.Config ticks,
+            Map<String, PriceProcess.Factory> processes, MarketDataRingBuffer.Config ring) {
+        this.definitions = List.copyOf(initialStocks);
+        for (int i = 0; i < definitions.size(); i++) {
+            idsByTicker.put(definitions.get(i).ticker(), i);
+        }
+        this.published = initialStocks.stream().mapToDouble(Stock::currentPrice).toArray();
+        this.ring = new MarketDataRingBuffer(initialStocks.size(), ring, 0);
+        this.source = source;
+        int count = (initialStocks.size() + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        this.partitions = new Partition[count];
+        for (int p = 0; p < count; p++) {
+            int from = p * PARTITION_SIZE;
+            int to = Math.min(initialStocks.size(), from + PARTITION_SIZE);
+            partitions[p] = new Partition(from, to, source.open(p, to - from), new double[to - from]);
+        }
+        this.scheduler = new TickScheduler(ticks);
+        this.shocks = new double[initialStocks.size()];
+
+        // Group the stocks by factory, keeping list order within each group.
+        var gbm = PriceProcess.gbm();
+        var groups = new LinkedHashMap<PriceProcess.Factory, List<Integer>>();
+        for (int i = 0; i < initialStocks.size(); i++) {
+            groups.computeIfAbsent(processes.getOrDefault(initialStocks.get(i).ticker(), gbm), f -> new ArrayList<>())
+                    .add(i);
+        }
+        // Each group's seed is drawn from a stream of its own, after every chunk's extra-draw stream.
+        long seedStream = partitions.length + 1 + groups.values().stream()
+                .mapToLong(indices -> (indices.size() + PARTITION_SIZE - 1) / PARTITION_SIZE).sum();
+        double[] seedDraw = new double[1];
+        var chunkList = new ArrayList<Chunk>();
+        for (var group : groups.entrySet()) {
+            var indices = group.getValue();
+            int[] members = indices.stream().mapToInt(Integer::intValue).toArray();
+            source.open(seedStream++, 1).next(seedDraw);
+            var process = group.getKey().create(
+                    indices.stream().mapToDouble(i -> initialStocks.get(i).currentPrice()).toArray(),
+                    indices.stream().mapToDouble(i -> initialStocks.get(i).mu()).toArray(),
+                    indices.stream().mapToDouble(i -> initialStocks.get(i).sigma()).toArray(),
+                    T_SECONDS, MIN_PRICE, MAX_PRICE, Double.doubleToRawLongBits(seedDraw[0]));
+            int extraDraws = process.extraDraws();
+            for (int from = 0; from < members.length; from += PARTITION_SIZE) {
+                int to = Math.min(members.length, from + PARTITION_SIZE);
+                // Extra-draw streams follow the partitions' streams and the shared-factor stream.
+                var draws = extraDraws == 0 ? null
+                        : source.open(partitions.length + 1 + chunkList.size(), (to - from) * extraDraws);
+                chunkList.add(new Chunk(process, members, from, to, draws, new double[to - from],
+                        new double[(to - from) * extraDraws], new int[to - from], new double[to - from]));
+            }
+        }
+        this.chunks = chunkList.toArray(new Chunk[0]);
+        this.changeCounts = new int[chunks.length];
+    }
+
+    /**
+     * Adds a listener to every ticker.
+     * 
+     * @param listener The listener.
+     * @see #addListener(MarketDataListener, Collection)
+     */
+    public void addListener(MarketDataListener listener) {
+        subscribe(listener, null);
+    }
+
+    /**
+     * Adds a listener, handing it a snapshot of the universe first. It then
+     * receives the changes of the given tickers after the snapshot's sequence
+     * number, conflated per ticker while it is busy, on a lane of its own.
+     * 
+     * @param listener The listener.
+     * @param tickers  The tickers it subscribes to.
+     * @throws IllegalArgumentException if a ticker is not in the universe.
+     */
+    public void addListener(MarketDataListener listener, Collection<String> tickers) {
+        subscribe(listener, tickers.stream().mapToInt(ticker -> {
+            var id = idsByTicker.get(ticker);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown ticker " + ticker);
+            }
+            return id;
+        }).sorted().distinct().toArray());
     }
 
-    public void addListener(PortfolioService listener) {
-        listeners.add(listener);
+    private void subscribe(MarketDataListener listener, int[] tickerIds) {
+        List<Stock> stocks;
+        ListenerMailbox mailbox;
+        // Registering under the lock means no tick falls between the snapshot and the mailbox.
+        synchronized (this) {
+            stocks = snapshot();
+            mailbox = new ListenerMailbox(listener, lanes, tickerIds, stocks.size(), ring.cursor());
+            index = withListener(index, mailbox, tickerIds);
+            if (dispatcher == null) {
+                dispatcher = ring.subscribe(new MarketDataRingBuffer.Handler() {
+                    @Override
+                    public void onTick(PriceChangeSet changes) {
+                        dispatch(changes);
+                    }
+
+                    @Override
+                    public long onOverrun() {
+                        return recover();
+                    }
+                }, ring.cursor(), "market-data-dispatcher");
+            }
+        }
+        listener.onSnapshot(stocks, mailbox.deliveredSequence());
+        mailbox.start();
+    }
+
+    // Copies the index with one more listener, widening every ticker's bit set as needed.
+    private SubscriptionIndex withListener(SubscriptionIndex old, ListenerMailbox mailbox, int[] tickerIds) {
+        int listener = old.mailboxes().length;
+        int words = listener / 64 + 1;
+        long[] bits = new long[definitions.size() * words];
+        for (int id = 0; id < definitions.size(); id++) {
+            System.arraycopy(old.bits(), id * old.words(), bits, id * words, old.words());
+        }
+        long bit = 1L << listener;
+        if (tickerIds == null) {
+            for (int id = 0; id < definitions.size(); id++) {
+                bits[id * words + listener / 64] |= bit;
+            }
+        } else {
+            for (int id : tickerIds) {
+                bits[id * words + listener / 64] |= bit;
+            }
+        }
+        var mailboxes = Arrays.copyOf(old.mailboxes(), listener + 1);
+        mailboxes[listener] = mailbox;
+        return new SubscriptionIndex(mailboxes, words, bits, new long[words]);
+    }
+
+    // On the dispatcher thread: hands each change to the subscribed mailboxes, then commits the tick to them.
+    private void dispatch(PriceChangeSet changes) {
+        var index = this.index;
+        var mailboxes = index.mailboxes();
+        int words = index.words();
+        long[] bits = index.bits();
+        long[] touched = index.touched();
+        long sequence = changes.sequence();
+        for (int k = 0; k < changes.size(); k++) {
+            int id = changes.tickerId(k);
+            double price = changes.price(k);
+            for (int w = 0, base = id * words; w < words; w++) {
+                long word = bits[base + w];
+                touched[w] |= word;
+                for (; word != 0; word &= word - 1) {
+                    mailboxes[w * 64 + Long.numberOfTrailingZeros(word)].put(sequence, id, price);
+                }
+            }
+        }
+        for (int w = 0; w < words; w++) {
+            for (long word = touched[w]; word != 0; word &= word - 1) {
+                mailboxes[w * 64 + Long.numberOfTrailingZeros(word)].commit(sequence);
+            }
+            touched[w] = 0;
+        }
+    }
+
+    // On the dispatcher thread, after it was overrun: hands every mailbox the published prices.
+    private long recover() {
+        double[] prices;
+        long sequence;
+        synchronized (this) {
+            prices = published.clone();
+            sequence = ring.cursor();
+        }
+        for (var mailbox : index.mailboxes()) {
+            mailbox.putAll(prices, sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Delivery counters of one listener.
+     * 
+     * @param listener The listener.
+     * @param lag      Ticks the listener has not yet received: those the
+     *                 dispatcher has yet to route, plus those with changes for
+     *                 the listener waiting in its mailbox.
+     * @param updates  Price updates delivered.
+     * @param dropped  Price updates superseded by a later price of the same
+     *                 ticker before the listener could receive them.
+     */
+    public record ListenerStats(MarketDataListener listener, long lag, long updates, long dropped) {
+    }
+
+    /**
+     * @return The delivery counters of every listener, in the order they were
+     *         added.
+     */
+    public List<ListenerStats> listenerStats() {
+        var dispatcher = this.dispatcher;
+        long routing = dispatcher == null ? 0 : dispatcher.lag();
+        return Arrays.stream(index.mailboxes())
+                .map(m -> new ListenerStats(m.listener(), routing + m.committedSequence() - m.deliveredSequence(),
+                        m.updates(), m.dropped()))
+                .toList();
+    }
+
+    /**
+     * @return The stocks at their last published prices, in id order.
+     */
+    public synchronized List<Stock> snapshot() {
+        var stocks = new Stock[definitions.size()];
+        for (int i = 0; i < stocks.length; i++) {
+            var stock = definitions.get(i);
+            stocks[i] = new Stock(stock.ticker(), stock.companyName(), published[i], stock.mu(), stock.sigma());
+        }
+        return List.of(stocks);
+    }
+
+    /**
+     * Sets the smallest move that is published; a stock's price is published
+     * again once it is at least this far from the last price published for
+     * it. Defaults to one cent. Zero publishes every change.
+     * 
+     * @param minimumChange The smallest published move.
+     */
+    public void setMinimumPriceChange(double minimumChange) {
+        if (!(minimumChange >= 0)) {
+            throw new IllegalArgumentException("Minimum price change must not be negative");
+        }
+        this.minimumChange = minimumChange;
+    }
+
+    /**
+     * Sets the number of threads, the publishing thread included, that
+     * generate each tick. Defaults to the number of available cores; one
+     * generates every tick on the publishing thread. Prices do not depend on
+     * it.
+     * 
+     * @param threads The number of threads, at least one.
+     * @throws IllegalStateException if the workers have already started.
+     */
+    public void setWorkerThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is needed");
+        }
+        if (workers.started()) {
+            throw new IllegalStateException("The workers have already started");
+        }
+        this.workers = new TickWorkers(threads - 1, "market-data-worker");
+    }
+
+    /**
+     * Correlates the shocks of subsequent ticks. The shared factors draw from
+     * the source's stream after the last partition's. Pass {@code null} to
+     * return to independent shocks.
+     * 
+     * @param correlation The correlation, covering the stocks in the order
+     *                    they were given to the constructor, or {@code null}.
+     * @throws IllegalArgumentException if the correlation covers a different
+     *                                  number of stocks.
+     */
+    public void setShockCorrelation(ShockCorrelation correlation) {
+        if (correlation == null) {
+            this.correlated = null;
+            return;
+        }
+        int size = definitions.size();
+        if (correlation.size() != size) {
+            throw new IllegalArgumentException(
+                    "Correlation covers " + correlation.size() + " stocks, the publisher " + size);
+        }
+        int factors = correlation.commonFactors();
+        this.correlated = new Correlated(correlation, source.open(partitions.length, Math.max(1, factors)),
+                new double[Math.max(1, factors)], new double[size]);
+    }
+
+    /**
+     * @return The achieved tick rate and jitter over the last report interval,
+     *         or {@code null} before the first report.
+     */
+    public TickScheduler.Stats tickStats() {
+        return tickStats;
     }
 
     @Override
     public void run() {
+        long lastReport = System.nanoTime();
+        long lastTick = lastReport;
+        scheduler.start();
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                // Generate a new list of stocks with updated prices (immutable update).
-                List<Stock> newStockList = currentStocks.get().stream()
-                        .map(this::calculateNewPrice)
-                        .toList(); // Java 16+ Stream.toList() returns an unmodifiable list.
-
-                // Atomically set the new state.
-                currentStocks.set(newStockList);
-
-                // Notify all listeners with the new immutable state.
-                for (var listener : listeners) {
-                    listener.onMarketUpdate(newStockList);
+                long now = System.nanoTime();
+                publishNext((now - lastTick) / 1e9);
+                lastTick = now;
+                scheduler.awaitNextTick();
+                if (System.nanoTime() - lastReport >= REPORT_INTERVAL_NANOS) {
+                    lastReport = System.nanoTime();
+                    report(scheduler.drainStats());
                 }
-
-                Thread.sleep(1000); // Wait for 1 second before the next update.
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 System.out.println("Market data publisher was interrupted.");
@@ -57,27 +483,100 @@ public class MarketDataPublisher implements Runnable {
     }
 
     /**
-     * Calculates the next price for a stock using the Geometric Brownian Motion
-     * model.
+     * Generates the next tick, one nominal second after the previous one, and
+     * notifies the listeners immediately.
+     * 
+     * @return The prices that changed.
+     * @see #publishNext(double)
+     */
+    public PriceChangeSet publishNext() {
+        return publishNext(DELTA_T_SECONDS);
+    }
+
+    /**
+     * Generates the next tick for every stock and publishes it to the
+     * listeners immediately, without waiting for the schedule. {@link #run()}
+     * calls this once per scheduled tick.
      * 
-     * @param oldStock The stock's previous state.
-     * @return A new Stock record instance with the updated price.
+     * @param dtSeconds The simulated time since the previous tick.
+     * @return The prices that changed, valid until the ring buffer wraps.
      */
-    private Stock calculateNewPrice(Stock oldStock) {
-        double s = oldStock.currentPrice();
-        double mu = oldStock.mu();
-        double sigma = oldStock.sigma();
-        double epsilon = random.nextGaussian(); // A random variable from the standard normal distribution.
+    public synchronized PriceChangeSet publishNext(double dtSeconds) {
+        tickCorrelation = correlated;
+        tickDt = dtSeconds;
+        tickMinimumChange = minimumChange;
+        // Every independent draw must be in place before any partition is correlated.
+        workers.run(partitions.length, draw);
+        if (tickCorrelation != null) {
+            tickCorrelation.commonDraws().next(tickCorrelation.common());
+            workers.run(partitions.length, correlate);
+        }
+        workers.run(chunks.length, step);
+
+        // Gather the chunks' changes into the next slot of the ring.
+        var tick = ring.claim();
+        for (int c = 0; c < chunks.length; c++) {
+            tick.addAll(chunks[c].changedIds(), chunks[c].changedPrices(), changeCounts[c]);
+        }
+        ring.publish(tick);
+        return tick;
+    }
 
-        double deltaS = s
-                * (mu * (DELTA_T_SECONDS / T_SECONDS) + sigma * epsilon * Math.sqrt(DELTA_T_SECONDS / T_SECONDS));
-        double newPrice = s + deltaS;
+    private void draw(int p) {
+        var partition = partitions[p];
+        partition.shocks().next(partition.epsilon());
+        System.arraycopy(partition.epsilon(), 0, tickCorrelation == null ? shocks : tickCorrelation.independent(),
+                partition.from(), partition.to() - partition.from());
+    }
 
-        // Clamp the price to the range [0.5, 1000.0] as per a potential interpretation
-        // of the problem statement.
-        newPrice = Math.max(0.5, Math.min(newPrice, 1000.0));
+    private void correlate(int p) {
+        var partition = partitions[p];
+        tickCorrelation.correlation().correlate(tickCorrelation.independent(), tickCorrelation.common(),
+                partition.from(), partition.to(), partition.epsilon());
+        System.arraycopy(partition.epsilon(), 0, shocks, partition.from(), partition.to() - partition.from());
+    }
 
-        // Return a new Stock record instance, preserving immutability.
-        return new Stock(oldStock.ticker(), oldStock.companyName(), newPrice, mu, sigma);
+    // Steps a chunk and records its published changes.
+    private void step(int c) {
+        var chunk = chunks[c];
+        double dtSeconds = tickDt;
+        double minimumChange = tickMinimumChange;
+        int[] members = chunk.members();
+        for (int k = chunk.from(); k < chunk.to(); k++) {
+            chunk.shocks()[k - chunk.from()] = shocks[members[k]];
+        }
+        if (chunk.extraDraws() != null) {
+            chunk.extraDraws().next(chunk.extra());
+        }
+        var process = chunk.process();
+        process.step(chunk.from(), chunk.to(), chunk.shocks(), chunk.extra(), dtSeconds);
+        int count = 0;
+        for (int k = chunk.from(); k < chunk.to(); k++) {
+            int i = members[k];
+            double price = process.price(k);
+            double move = Math.abs(price - published[i]);
+            if (move != 0 && move >= minimumChange) {
+                published[i] = price;
+                chunk.changedIds()[count] = i;
+                chunk.changedPrices()[count] = price;
+                count++;
+            }
+        }
+        changeCounts[c] = count;
+    }
+
+    private void report(TickScheduler.Stats stats) {
+        tickStats = stats;
+        var config = scheduler.config();
+        System.out.printf(Locale.US, "Ticks: %,.0f/s achieved (%s%s, %s), jitter mean %.1f us, max %.1f us%n",
+                stats.ticksPerSecond(), config.mode(),
+                config.mode() == TickScheduler.Mode.AS_FAST_AS_POSSIBLE ? ""
+                        : String.format(Locale.US, " %,.0f/s", config.ticksPerSecond()),
+                config.waitStrategy(), stats.meanJitterMicros(), stats.maxJitterMicros());
+        for (var listener : listenerStats()) {
+            System.out.printf(Locale.US, "Listener %s: %,d ticks behind, %,d updates delivered, %,d dropped%n",
+                    listener.listener().getClass().getSimpleName(), listener.lag(), listener.updates(),
+                    listener.dropped());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,385 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A ring of pre-allocated tick slots between the market data publisher and
+ * its consumers, in the style of the LMAX Disruptor.
+ * <p>
+ * The single producer claims the next slot, writes the tick's changes into it
+ * and publishes it by advancing the cursor, without allocating. Each consumer
+ * follows the cursor on a thread of its own with its own sequence, waiting for
+ * new ticks with the configured {@link WaitStrategy}, and copies every tick
+ * out of its slot before handing it on.
+ * <p>
+ * The producer never waits for consumers, so a slow consumer cannot hold back
+ * the market. A consumer that falls a whole ring behind has been overrun: it
+ * detects it, because the producer claims a slot before overwriting it, and
+ * resynchronizes through its {@link Handler}.
+ */
+public final class MarketDataRingBuffer {
+    /** The system property holding the number of slots. */
+    public static final String CAPACITY_PROPERTY = "portfolio.ringCapacity";
+    /** The system property selecting the consumers' {@link WaitStrategy}. */
+    public static final String WAIT_PROPERTY = "portfolio.consumerWaitStrategy";
+
+    // Busy-wait iterations before the spinning strategies back off.
+    private static final int SPIN_TRIES = 100;
+    private static final long SLEEP_NANOS = 100_000;
+
+    /**
+     * How consumers wait for the next tick, from {@link #BLOCKING} (no CPU
+     * while idle, a wake-up per tick) to {@link #BUSY_SPIN} (one busy core per
+     * consumer, the lowest latency).
+     */
+    public enum WaitStrategy {
+        /** Waits on a condition that the producer signals. */
+        BLOCKING {
+            @Override
+            long waitFor(MarketDataRingBuffer ring, long sequence) throws InterruptedException {
+                long available = ring.cursor;
+                if (available >= sequence) {
+                    return available;
+                }
+                ring.lock.lockInterruptibly();
+                try {
+                    ring.blockedConsumers.incrementAndGet();
+                    // Re-read after registering: the producer signals only if it sees the registration.
+                    while ((available = ring.cursor) < sequence) {
+                        ring.published.await();
+                    }
+                    return available;
+                } finally {
+                    ring.blockedConsumers.decrementAndGet();
+                    ring.lock.unlock();
+                }
+            }
+        },
+        /** Spins, then yields, then parks for short intervals. */
+        SLEEPING {
+            @Override
+            long waitFor(MarketDataRingBuffer ring, long sequence) throws InterruptedException {
+                long available;
+                for (int tries = 0; (available = ring.cursor) < sequence; tries++) {
+                    if (tries < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else if (tries < 2 * SPIN_TRIES) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(SLEEP_NANOS);
+                        checkInterrupted();
+                    }
+                }
+                return available;
+            }
+        },
+        /** Spins, then yields the core between checks. */
+        YIELDING {
+            @Override
+            long waitFor(MarketDataRingBuffer ring, long sequence) throws InterruptedException {
+                long available;
+                for (int tries = 0; (available = ring.cursor) < sequence; tries++) {
+                    if (tries < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                        checkInterrupted();
+                    }
+                }
+                return available;
+            }
+        },
+        /** Spins without backing off. */
+        BUSY_SPIN {
+            @Override
+            long waitFor(MarketDataRingBuffer ring, long sequence) throws InterruptedException {
+                long available;
+                for (int tries = 0; (available = ring.cursor) < sequence; tries++) {
+                    Thread.onSpinWait();
+                    if ((tries & 0xFFFF) == 0) {
+                        checkInterrupted();
+                    }
+                }
+                return available;
+            }
+        };
+
+        /**
+         * @return The ring's cursor once it has reached {@code sequence}.
+         */
+        abstract long waitFor(MarketDataRingBuffer ring, long sequence) throws InterruptedException;
+
+        private static void checkInterrupted() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * @param capacity     The number of slots, a power of two. Consumers more
+     *                     than this many ticks behind are overrun.
+     * @param waitStrategy How consumers wait for ticks.
+     */
+    public record Config(int capacity, WaitStrategy waitStrategy) {
+
+        /** 64 slots, blocking consumers. */
+        public static final Config DEFAULT = new Config(64, WaitStrategy.BLOCKING);
+
+        public Config {
+            if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+            }
+        }
+
+        /**
+         * @return The configuration named by the {@value #CAPACITY_PROPERTY}
+         *         and {@value #WAIT_PROPERTY} system properties, each
+         *         defaulting to {@link #DEFAULT}.
+         */
+        public static Config configured() {
+            return new Config(
+                    Integer.parseInt(System.getProperty(CAPACITY_PROPERTY, String.valueOf(DEFAULT.capacity()))),
+                    WaitStrategy.valueOf(System.getProperty(WAIT_PROPERTY, DEFAULT.waitStrategy().name())));
+        }
+    }
+
+    /**
+     * Receives a consumer's ticks, on the consumer's thread.
+     */
+    public interface Handler {
+        /**
+         * @param changes The next tick. It is reused for the following tick,
+         *                so it is only valid until this method returns.
+         */
+        void onTick(PriceChangeSet changes);
+
+        /**
+         * Called when the consumer was overrun and ticks were lost. The
+         * handler must bring its state up to date by other means.
+         * 
+         * @return The sequence number of the last tick the handler's state now
+         *         includes; the consumer continues after it.
+         */
+        long onOverrun();
+    }
+
+    /**
+     * The changes of one tick, held in a slot of the ring or a consumer's
+     * copy of one.
+     */
+    public static final class Tick implements PriceChangeSet {
+        private long sequence;
+        private int size;
+        private final int[] tickerIds;
+        private final double[] prices;
+
+        Tick(int maxChanges) {
+            this.tickerIds = new int[maxChanges];
+            this.prices = new double[maxChanges];
+        }
+
+        /**
+         * Appends changes; for the producer, between claiming and publishing.
+         */
+        public void addAll(int[] ids, double[] newPrices, int count) {
+            System.arraycopy(ids, 0, tickerIds, size, count);
+            System.arraycopy(newPrices, 0, prices, size, count);
+            size += count;
+        }
+
+        private void copyFrom(Tick other) {
+            sequence = other.sequence;
+            size = other.size;
+            System.arraycopy(other.tickerIds, 0, tickerIds, 0, size);
+            System.arraycopy(other.prices, 0, prices, 0, size);
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int tickerId(int k) {
+            return tickerIds[k];
+        }
+
+        @Override
+        public double price(int k) {
+            return prices[k];
+        }
+    }
+
+    /**
+     * A consumer following the ring on its own thread.
+     */
+    public final class Consumer implements Runnable {
+        private final Handler handler;
+        private final Tick copy;
+        private final Thread thread;
+        // The last tick handled; written only by the consumer thread.
+        private volatile long sequence;
+        private volatile long overruns;
+
+        private Consumer(Handler handler, long after, String name) {
+            this.handler = handler;
+            this.copy = new Tick(maxChanges);
+            this.sequence = after;
+            this.thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            var strategy = waitStrategy;
+            long next = sequence + 1;
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long available = strategy.waitFor(MarketDataRingBuffer.this, next);
+                    for (; next <= available; next++) {
+                        if (!read(next)) {
+                            overruns++;
+                            next = handler.onOverrun();
+                            sequence = next++;
+                            break;
+                        }
+                        handler.onTick(copy);
+                        sequence = next;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Copies a tick out of its slot, reporting false if the producer has reused the slot.
+        private boolean read(long tick) {
+            if (claimed - tick >= slots.length) {
+                return false;
+            }
+            copy.copyFrom(slots[(int) tick & mask]);
+            // The copy must be complete before the claim is checked again.
+            VarHandle.loadLoadFence();
+            return claimed - tick < slots.length;
+        }
+
+        /**
+         * @return The number of published ticks not yet handled.
+         */
+        public long lag() {
+            return Math.max(0, cursor - sequence);
+        }
+
+        /**
+         * @return How often the consumer was overrun.
+         */
+        public long overruns() {
+            return overruns;
+        }
+
+        /**
+         * Stops the consumer's thread.
+         */
+        public void close() {
+            thread.interrupt();
+        }
+    }
+
+    private final Tick[] slots;
+    private final int mask;
+    private final int maxChanges;
+    private final WaitStrategy waitStrategy;
+    // The last tick claimed; ahead of the cursor while the producer writes its slot.
+    private volatile long claimed;
+    // The last tick published.
+    private volatile long cursor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicInteger blockedConsumers = new AtomicInteger();
+
+    /**
+     * @param maxChanges The most changes a tick can hold: the universe size.
+     * @param config     The ring's capacity and the consumers' wait strategy.
+     * @param sequence   The sequence number of the last tick before the
+     *                   first one published through the ring.
+     */
+    public MarketDataRingBuffer(int maxChanges, Config config, long sequence) {
+        this.slots = new Tick[config.capacity()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Tick(maxChanges);
+        }
+        this.mask = slots.length - 1;
+        this.maxChanges = maxChanges;
+        this.waitStrategy = config.waitStrategy();
+        this.claimed = sequence;
+        this.cursor = sequence;
+    }
+
+    /**
+     * Claims the slot for the next tick, emptied. Only the producer may call
+     * this, and it must publish the slot before claiming another.
+     * 
+     * @return The slot to fill.
+     */
+    public Tick claim() {
+        long next = cursor + 1;
+        claimed = next;
+        // Consumers must be able to see the claim before the slot is overwritten.
+        VarHandle.storeStoreFence();
+        var slot = slots[(int) next & mask];
+        slot.sequence = next;
+        slot.size = 0;
+        return slot;
+    }
+
+    /**
+     * Publishes a claimed slot to the consumers.
+     * 
+     * @param slot The slot last claimed.
+     */
+    public void publish(Tick slot) {
+        cursor = slot.sequence;
+        if (blockedConsumers.get() > 0) {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return The sequence number of the last published tick.
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    /**
+     * Starts a consumer on a new daemon thread.
+     * 
+     * @param handler The handler of the consumer's ticks.
+     * @param after   The sequence number of the last tick the handler's state
+     *                already includes.
+     * @param name    The name of the consumer's thread.
+     * @return The running consumer.
+     */
+    public Consumer subscribe(Handler handler, long after, String name) {
+        var consumer = new Consumer(handler, after, name);
+        consumer.thread.start();
+        return consumer;
+    }
+}
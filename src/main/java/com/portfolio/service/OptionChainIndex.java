@@ -0,0 +1,207 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.PricingContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An immutable index of option chains: by underlying, then by expiry in a
+ * sorted map, then by strike in sorted primitive arrays (one per option type).
+ * <p>
+ * Range queries cost a {@link TreeMap} sub-map plus two binary searches per
+ * expiry, i.e. logarithmic in the chain size plus the number of results.
+ * Every {@link Slice} groups the strikes of one expiry so pricing can share
+ * the expiry's pricing context and {@code log(S)} across all of them.
+ */
+public final class OptionChainIndex {
+
+    /**
+     * All options of one type for one underlying and expiry, sorted by strike.
+     */
+    public static final class Slice {
+        private final LocalDate expiry;
+        private final OptionType optionType;
+        private final double[] strikes;
+        private final double[] logStrikes;
+        private final EuropeanOption[] options;
+
+        private Slice(LocalDate expiry, OptionType optionType, List<EuropeanOption> sortedOptions) {
+            this.expiry = expiry;
+            this.optionType = optionType;
+            this.options = sortedOptions.toArray(new EuropeanOption[0]);
+            this.strikes = new double[options.length];
+            this.logStrikes = new double[options.length];
+            for (int i = 0; i < options.length; i++) {
+                strikes[i] = options[i].strikePrice();
+                logStrikes[i] = Math.log(strikes[i]);
+            }
+        }
+
+        public LocalDate expiry() {
+            return expiry;
+        }
+
+        public OptionType optionType() {
+            return optionType;
+        }
+
+        public int size() {
+            return options.length;
+        }
+
+        public double strike(int index) {
+            return strikes[index];
+        }
+
+        public EuropeanOption option(int index) {
+            return options[index];
+        }
+
+        /**
+         * @return The first index whose strike is {@code >= strike}.
+         */
+        public int lowerBound(double strike) {
+            int lo = 0, hi = strikes.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (strikes[mid] < strike) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * @return The first index whose strike is {@code > strike}.
+         */
+        public int upperBound(double strike) {
+            int lo = 0, hi = strikes.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (strikes[mid] <= strike) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Prices every strike in the slice, sharing the expiry-level constants.
+         * The prices match those of
+         * {@link BlackScholesCalculator#calculate(EuropeanOption, PricingContext, double, double)}
+         * for each option.
+         * 
+         * @param context           The expiry's pricing context, e.g. that of
+         *                          {@code option(0)} in a {@link PricingContextCache}.
+         * @param currentStockPrice The current price of the underlying stock.
+         * @param volatility        The volatility of the underlying stock.
+         * @param out               Receives the price of option {@code i} at
+         *                          index {@code i}.
+         */
+        public void price(PricingContext context, double currentStockPrice, double volatility, double[] out) {
+            BlackScholesCalculator.priceStrikes(optionType == OptionType.CALL, context, currentStockPrice,
+                    volatility, strikes, logStrikes, out, 0, strikes.length);
+        }
+    }
+
+    private static final NavigableMap<LocalDate, Slice> NO_EXPIRIES = Collections.emptyNavigableMap();
+
+    // underlying -> option type -> expiry -> slice
+    private final Map<String, Map<OptionType, NavigableMap<LocalDate, Slice>>> chains;
+    private final int size;
+
+    private OptionChainIndex(Map<String, Map<OptionType, NavigableMap<LocalDate, Slice>>> chains, int size) {
+        this.chains = chains;
+        this.size = size;
+    }
+
+    /**
+     * Builds the index.
+     * 
+     * @param options The options to index.
+     * @return The populated index.
+     */
+    public static OptionChainIndex of(Collection<EuropeanOption> options) {
+        var grouped = new HashMap<String, Map<OptionType, TreeMap<LocalDate, List<EuropeanOption>>>>();
+        for (var option : options) {
+            grouped.computeIfAbsent(option.underlyingTicker(), u -> new HashMap<>())
+                    .computeIfAbsent(option.optionType(), t -> new TreeMap<>())
+                    .computeIfAbsent(option.expiryDate(), e -> new ArrayList<>())
+                    .add(option);
+        }
+
+        var chains = new HashMap<String, Map<OptionType, NavigableMap<LocalDate, Slice>>>();
+        grouped.forEach((underlying, byType) -> {
+            var types = new HashMap<OptionType, NavigableMap<LocalDate, Slice>>();
+            byType.forEach((type, byExpiry) -> {
+                var expiries = new TreeMap<LocalDate, Slice>();
+                byExpiry.forEach((expiry, list) -> {
+                    list.sort(Comparator.comparingDouble(EuropeanOption::strikePrice));
+                    expiries.put(expiry, new Slice(expiry, type, list));
+                });
+                types.put(type, Collections.unmodifiableNavigableMap(expiries));
+            });
+            chains.put(underlying, Map.copyOf(types));
+        });
+        return new OptionChainIndex(Map.copyOf(chains), options.size());
+    }
+
+    /**
+     * @return The total number of options indexed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param underlying The underlying ticker.
+     * @param type       The option type.
+     * @return The slices for the underlying and type, keyed by expiry.
+     */
+    public NavigableMap<LocalDate, Slice> expiries(String underlying, OptionType type) {
+        var byType = chains.get(underlying);
+        if (byType == null) {
+            return NO_EXPIRIES;
+        }
+        return byType.getOrDefault(type, NO_EXPIRIES);
+    }
+
+    /**
+     * Finds all options on an underlying of one type with expiry in
+     * {@code [expiryFrom, expiryTo)} and strike in {@code [minStrike, maxStrike]}.
+     * For example, all TSLA puts expiring before December with strikes from 380
+     * to 460. An empty or reversed range matches nothing.
+     * 
+     * @return The matching options, ordered by expiry and then strike.
+     */
+    public List<EuropeanOption> find(String underlying, OptionType type, LocalDate expiryFrom, LocalDate expiryTo,
+            double minStrike, double maxStrike) {
+        var result = new ArrayList<EuropeanOption>();
+        if (!expiryFrom.isBefore(expiryTo)) {
+            return result;
+        }
+        for (var slice : expiries(underlying, type).subMap(expiryFrom, true, expiryTo, false).values()) {
+            int end = slice.upperBound(maxStrike);
+            for (int i = slice.lowerBound(minStrike); i < end; i++) {
+                result.add(slice.option(i));
+            }
+        }
+        return result;
+    }
+}
@@ -1,33 +1,80 @@
 package com.portfolio.service;
 
 import com.portfolio.domain.*;
+import com.portfolio.util.AmericanOptionPricer;
 import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.VolatilitySurface;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Manages the portfolio, loads positions, and acts as a listener for market
  * data updates.
  * It recalculates and prints the portfolio's value in real-time.
  */
-public class PortfolioService {
+public class PortfolioService implements MarketDataListener {
 
     private final List<PortfolioPosition> positions = new ArrayList<>();
     private final Map<String, Product> productDefinitions;
+    private final PricingContextCache pricingContexts;
+    private final Map<String, VolatilitySurface> volatilitySurfaces;
+    // Null when options are fully repriced on every update.
+    private volatile DeltaGammaRevaluer deltaGammaRevaluer;
+    // Null unless options are answered from precomputed spot grids.
+    private volatile SpotGridPricer spotGridPricer;
+    // Prices the barrier and Asian positions together; built once the portfolio is loaded.
+    private ExoticBookPricer exoticBookPricer = new ExoticBookPricer(List.of());
+    // The latest prices, kept current by applying each change set in place.
+    private final Map<String, Stock> latestStocks = new HashMap<>();
+    private String[] tickersById = new String[0];
+    private long lastSequence;
     private static final AtomicInteger updateCount = new AtomicInteger(0);
 
     public PortfolioService(DatabaseService.ProductDefinitions definitions) {
+        this(definitions, new PricingContextCache(definitions.allOptions(), definitions.riskFreeCurve(),
+                definitions.dividendCurves()));
+    }
+
+    public PortfolioService(DatabaseService.ProductDefinitions definitions, PricingContextCache pricingContexts) {
+        this.pricingContexts = pricingContexts;
+        this.volatilitySurfaces = Map.copyOf(definitions.volatilitySurfaces());
         this.productDefinitions = new java.util.HashMap<>();
         this.productDefinitions.putAll(definitions.stocks());
         this.productDefinitions.putAll(definitions.options());
+        this.productDefinitions.putAll(definitions.americanOptions());
+        this.productDefinitions.putAll(definitions.exoticOptions());
+    }
+
+    /**
+     * Switches option valuation to the delta-gamma fast revaluation mode.
+     * Options are then approximated from cached Greeks and only fully repriced
+     * when the spot moves past the configured threshold or the reprice interval
+     * elapses. Pass {@code null} to return to full repricing on every update.
+     * 
+     * @param config The revaluation thresholds, or {@code null}.
+     */
+    public void setDeltaGammaRevaluation(DeltaGammaRevaluer.Config config) {
+        this.deltaGammaRevaluer = config == null ? null : new DeltaGammaRevaluer(config);
+    }
+
+    /**
+     * Answers option prices from precomputed spot grids. Takes precedence over
+     * the delta-gamma mode. Pass {@code null} to return to direct pricing.
+     * 
+     * @param pricer The grid pricer, or {@code null}.
+     */
+    public void setSpotGridPricing(SpotGridPricer pricer) {
+        this.spotGridPricer = pricer;
     }
 
     /**
@@ -49,6 +96,12 @@ public class PortfolioService {
                     positions.add(new PortfolioPosition(product, quantity));
                 }
             }
+            exoticBookPricer = new ExoticBookPricer(positions.stream()
+                    .map(PortfolioPosition::product)
+                    .filter(p -> p instanceof BarrierOption || p instanceof AsianOption)
+                    .map(OptionContract.class::cast)
+                    .distinct()
+                    .toList(), volatilitySurfaces);
             System.out.println("Portfolio loaded successfully.");
         } catch (IOException e) {
             e.printStackTrace();
@@ -56,16 +109,58 @@ public class PortfolioService {
     }
 
     /**
-     * Listener method called by the MarketDataPublisher on each market update.
-     * * @param updatedStocks The new, immutable list of stocks with their latest
-     * prices.
+     * @return The stocks the portfolio's value depends on: those held and the
+     *         underlyings of the options held, to subscribe to.
      */
-    public void onMarketUpdate(List<Stock> updatedStocks) {
-        // Create an efficient lookup map for the latest stock prices.
-        Map<String, Stock> stockPriceMap = updatedStocks.stream()
-                .collect(Collectors.toUnmodifiableMap(Stock::ticker, Function.identity()));
+    public Set<String> tickers() {
+        var tickers = new HashSet<String>();
+        for (var pos : positions) {
+            if (pos.product() instanceof OptionContract option) {
+                tickers.add(option.underlyingTicker());
+            } else {
+                tickers.add(pos.product().ticker());
+            }
+        }
+        return tickers;
+    }
 
-        printPortfolio(stockPriceMap);
+    /**
+     * @return The latest prices, keyed by ticker, as of the last snapshot or
+     *         change set applied.
+     */
+    Map<String, Stock> latestStocks() {
+        return Collections.unmodifiableMap(latestStocks);
+    }
+
+    @Override
+    public void onSnapshot(List<Stock> stocks, long sequence) {
+        latestStocks.clear();
+        tickersById = new String[stocks.size()];
+        for (int i = 0; i < tickersById.length; i++) {
+            tickersById[i] = stocks.get(i).ticker();
+            latestStocks.put(tickersById[i], stocks.get(i));
+        }
+        lastSequence = sequence;
+    }
+
+    /**
+     * Applies the changes to the latest prices and prints the portfolio. Sets
+     * already covered by the snapshot are ignored.
+     */
+    @Override
+    public void onMarketUpdate(PriceChangeSet changes) {
+        if (changes.sequence() <= lastSequence) {
+            return;
+        }
+        lastSequence = changes.sequence();
+        for (int k = 0; k < changes.size(); k++) {
+            var ticker = tickersById[changes.tickerId(k)];
+            var old = latestStocks.get(ticker);
+            latestStocks.put(ticker,
+                    new Stock(ticker, old.companyName(), changes.price(k), old.mu(), old.sigma()));
+        }
+
+        printPortfolio(latestStocks);
     }
 
     /**
@@ -90,6 +185,11 @@ public class PortfolioService {
                 currentStockPrices.get("TSLA").currentPrice(),
                 "symbol", "price", "qty", "value");
 
+        var revaluer = deltaGammaRevaluer;
+        var gridPricer = spotGridPricer;
+        // One shared path simulation per underlying prices every exotic position, rerun only as the spot moves.
+        Map<String, Double> exoticPrices = exoticBookPricer.isEmpty() ? Map.of()
+                : exoticBookPricer.price(currentStockPrices, pricingContexts);
         double totalNav = 0;
         for (var pos : positions) {
             double price = 0;
@@ -100,10 +200,30 @@ public class PortfolioService {
             if (pos.product() instanceof Stock stock) {
                 price = currentStockPrices.get(stock.ticker()).currentPrice();
                 value = price * pos.quantity();
-            } else if (pos.product() instanceof EuropeanOption option) {
+            } else if (pos.product() instanceof OptionContract option) {
                 Stock underlying = currentStockPrices.get(option.underlyingTicker());
-                // For options, volatility from the underlying stock's definition is used.
-                price = BlackScholesCalculator.calculate(option, underlying.currentPrice(), underlying.sigma());
+                var context = pricingContexts.get(option);
+                // Volatility comes from the underlying's surface at the option's expiry and strike,
+                // falling back to the stock's own sigma when no surface is loaded.
+                var surface = volatilitySurfaces.get(option.underlyingTicker());
+                double volatility = surface != null
+                        ? surface.volatility(context.timeToExpiryYears(), option.strikePrice())
+                        : underlying.sigma();
+                if (exoticPrices.containsKey(option.ticker())) {
+                    price = exoticPrices.get(option.ticker());
+                } else if (option instanceof AmericanOption american) {
+                    price = AmericanOptionPricer.calculate(american, context, underlying.currentPrice(), volatility,
+                            AmericanOptionPricer.DEFAULT_STEPS);
+                } else if (option instanceof EuropeanOption european) {
+                    if (gridPricer != null) {
+                        price = gridPricer.price(european, underlying.currentPrice(), volatility);
+                    } else if (revaluer != null) {
+                        price = revaluer.value(european, context, underlying.currentPrice(), volatility);
+                    } else {
+                        price = BlackScholesCalculator.calculate(european, context, underlying.currentPrice(),
+                                volatility);
+                    }
+                }
                 // Option value = theoretical price * quantity * contract size (usually 100).
                 value = price * pos.quantity() * 100;
             }
@@ -114,7 +234,7 @@ public class PortfolioService {
             String tickerStr = pos.product().ticker();
             String priceStr = String.format(java.util.Locale.US, "%.2f", price);
             String qtyStr = String.format(java.util.Locale.US, "%,d",
-                    pos.product() instanceof EuropeanOption ? pos.quantity() * 100 : pos.quantity());
+                    pos.product() instanceof OptionContract ? pos.quantity() * 100 : pos.quantity());
             String valueStr = String.format(java.util.Locale.US, "%,.2f", value);
 
             // Step 2: Use the simplest possible printf with only %s (string) to handle
@@ -136,5 +256,11 @@ public class PortfolioService {
                 Total portfolio value: %,.2f
                 ----------------------------------------------------------------------
                 """, totalNav);
+
+        if (revaluer != null) {
+            var stats = revaluer.drainStats();
+            System.out.printf(java.util.Locale.US, "Delta-gamma: %d approximated, %d repriced, max est. error %.6f%n",
+                    stats.approximated(), stats.repriced(), stats.maxEstimatedError());
+        }
     }
 }
\ No newline at end of file
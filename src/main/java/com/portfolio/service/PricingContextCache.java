@@ -0,0 +1,184 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.OptionContract;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.PricingContext;
+import com.portfolio.util.YieldCurve;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds a {@link PricingContext} for every option and refreshes them all when
+ * the valuation time rolls over.
+ * The valuation time is the clock's local time truncated to the configured
+ * granularity (one day by default, matching the day-count used by
+ * {@code BlackScholesCalculator}). Rates and dividend yields are read from the
+ * curves once per distinct expiry at refresh time, so pricing never touches a
+ * curve. Contexts are published as an immutable map, so readers never see a
+ * half-refreshed set.
+ */
+public class PricingContextCache implements AutoCloseable {
+    private static final double SECONDS_PER_YEAR = 365.0 * 24 * 60 * 60;
+    private static final YieldCurve NO_DIVIDENDS = YieldCurve.flat(0.0);
+
+    private final List<OptionContract> options;
+    private final YieldCurve riskFreeCurve;
+    private final Map<String, YieldCurve> dividendCurves;
+    private final Clock clock;
+    private final Duration granularity;
+    private final AtomicReference<Map<String, PricingContext>> contexts = new AtomicReference<>(Map.of());
+    private volatile LocalDateTime valuationTime;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a cache at the flat {@link BlackScholesCalculator#RISK_FREE_RATE}
+     * with no dividends, rolling over once a day on the system clock.
+     */
+    public PricingContextCache(Collection<? extends OptionContract> options) {
+        this(options, YieldCurve.flat(BlackScholesCalculator.RISK_FREE_RATE), Map.of());
+    }
+
+    /**
+     * Creates a cache that rolls over once a day on the system clock.
+     */
+    public PricingContextCache(Collection<? extends OptionContract> options, YieldCurve riskFreeCurve,
+            Map<String, YieldCurve> dividendCurves) {
+        this(options, riskFreeCurve, dividendCurves, Clock.systemDefaultZone(), Duration.ofDays(1));
+    }
+
+    /**
+     * @param options        The options to maintain contexts for.
+     * @param riskFreeCurve  The risk-free rate curve.
+     * @param dividendCurves Dividend yield curves by underlying; underlyings
+     *                       without one pay no dividends.
+     * @param clock          The clock defining the current valuation time.
+     * @param granularity    How often contexts roll over; must divide a day into
+     *                       whole steps (e.g. 1 day, 1 hour, 15 minutes).
+     */
+    public PricingContextCache(Collection<? extends OptionContract> options, YieldCurve riskFreeCurve,
+            Map<String, YieldCurve> dividendCurves, Clock clock, Duration granularity) {
+        if (granularity.isZero() || granularity.isNegative() || granularity.compareTo(Duration.ofDays(1)) > 0
+                || Duration.ofDays(1).toNanos() % granularity.toNanos() != 0) {
+            throw new IllegalArgumentException("Granularity must evenly divide one day: " + granularity);
+        }
+        this.options = List.copyOf(options);
+        this.riskFreeCurve = riskFreeCurve;
+        this.dividendCurves = Map.copyOf(dividendCurves);
+        this.clock = clock;
+        this.granularity = granularity;
+        refresh();
+    }
+
+    /**
+     * @param option The option to look up.
+     * @return The option's context for the current valuation time.
+     */
+    public PricingContext get(OptionContract option) {
+        var context = contexts.get().get(option.ticker());
+        if (context == null) {
+            throw new IllegalArgumentException("No pricing context for option " + option.ticker());
+        }
+        return context;
+    }
+
+    /**
+     * @return The risk-free rate curve the contexts are computed from.
+     */
+    public YieldCurve riskFreeCurve() {
+        return riskFreeCurve;
+    }
+
+    /**
+     * @param underlying The underlying's ticker.
+     * @return The underlying's dividend yield curve, zero if it has none.
+     */
+    public YieldCurve dividendCurve(String underlying) {
+        return dividendCurves.getOrDefault(underlying, NO_DIVIDENDS);
+    }
+
+    /**
+     * @return The valuation time the current contexts were computed for.
+     */
+    public LocalDateTime valuationTime() {
+        return valuationTime;
+    }
+
+    /**
+     * Recomputes every context for the current valuation time.
+     */
+    public void refresh() {
+        var valuation = currentValuationTime();
+        var refreshed = new HashMap<String, PricingContext>();
+        // Curve lookups are shared by every option with the same expiry.
+        var rateByExpiry = new HashMap<LocalDate, Double>();
+        for (var option : options) {
+            double t = ChronoUnit.SECONDS.between(valuation, option.expiryDate().atStartOfDay()) / SECONDS_PER_YEAR;
+            double rate = rateByExpiry.computeIfAbsent(option.expiryDate(), e -> riskFreeCurve.rate(t));
+            var dividendCurve = dividendCurves.get(option.underlyingTicker());
+            double dividendYield = dividendCurve == null ? 0.0 : dividendCurve.rate(t);
+            refreshed.put(option.ticker(), PricingContext.of(option.strikePrice(), t, rate, dividendYield));
+        }
+        contexts.set(Map.copyOf(refreshed));
+        valuationTime = valuation;
+    }
+
+    /**
+     * Starts a background task that refreshes the contexts at each granularity
+     * boundary.
+     */
+    public synchronized void startRollover() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "pricing-context-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNextRollover();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private synchronized void scheduleNextRollover() {
+        if (scheduler == null) {
+            return;
+        }
+        var now = LocalDateTime.now(clock);
+        var next = currentValuationTime().plus(granularity);
+        long delayMillis = Math.max(1, Duration.between(now, next).toMillis());
+        scheduler.schedule(() -> {
+            // The clock may lag the scheduler slightly; only refresh once the boundary is reached.
+            if (!currentValuationTime().equals(valuationTime)) {
+                refresh();
+            }
+            scheduleNextRollover();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private LocalDateTime currentValuationTime() {
+        var now = LocalDateTime.now(clock);
+        var startOfDay = now.toLocalDate().atStartOfDay();
+        long step = granularity.toNanos();
+        long elapsed = Duration.between(startOfDay, now).toNanos();
+        return startOfDay.plusNanos(elapsed / step * step);
+    }
+}
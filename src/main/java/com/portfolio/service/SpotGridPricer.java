@@ -0,0 +1,145 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.GreeksCalculator;
+import com.portfolio.util.SpotPriceGrid;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers option prices and deltas from per-option {@link SpotPriceGrid}s
+ * centred on the spot at build time.
+ * <p>
+ * A grid is only valid for the volatility and valuation time it was built
+ * with. When the spot leaves its range, the volatility changes or the
+ * pricing contexts roll over, the request is priced directly with
+ * {@link BlackScholesCalculator} and a replacement grid is built in the
+ * background, so the calling thread never waits for a rebuild.
+ */
+public class SpotGridPricer implements AutoCloseable {
+
+    /**
+     * @param rangeFraction Half-width of each grid as a fraction of spot (e.g.
+     *                      0.1 covers spot -10% to +10%).
+     * @param nodes         The number of grid nodes.
+     */
+    public record Config(double rangeFraction, int nodes) {
+
+        /** Grids of 257 nodes covering spot -20% to +20%. */
+        public static final Config DEFAULT = new Config(0.2, 257);
+    }
+
+    // A grid together with the inputs it was built for.
+    private record Entry(SpotPriceGrid grid, LocalDateTime valuationTime, double volatility) {
+    }
+
+    /**
+     * Cumulative lookup counters.
+     * 
+     * @param gridHits       Lookups answered by interpolation.
+     * @param directPrices   Lookups answered by a direct Black-Scholes call.
+     * @param rebuilds       Grids built.
+     */
+    public record Stats(long gridHits, long directPrices, long rebuilds) {
+    }
+
+    private final PricingContextCache pricingContexts;
+    private final Config config;
+    private final Map<String, Entry> grids = new ConcurrentHashMap<>();
+    private final Set<String> pendingRebuilds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "spot-grid-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder gridHits = new LongAdder();
+    private final LongAdder directPrices = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    // Receives the Greeks of direct delta calls, per calling thread.
+    private final ThreadLocal<GreeksCalculator.Greeks> greeks = ThreadLocal.withInitial(GreeksCalculator.Greeks::new);
+
+    public SpotGridPricer(PricingContextCache pricingContexts, Config config) {
+        if (!(config.rangeFraction() > 0 && config.rangeFraction() < 1) || config.nodes() < 2) {
+            throw new IllegalArgumentException("Invalid spot grid configuration: " + config);
+        }
+        this.pricingContexts = pricingContexts;
+        this.config = config;
+    }
+
+    /**
+     * @return The option's price at the given spot.
+     */
+    public double price(EuropeanOption option, double currentStockPrice, double volatility) {
+        var entry = validEntry(option, currentStockPrice, volatility);
+        if (entry != null) {
+            gridHits.increment();
+            return entry.grid().price(currentStockPrice);
+        }
+        directPrices.increment();
+        return BlackScholesCalculator.calculate(option, pricingContexts.get(option), currentStockPrice, volatility);
+    }
+
+    /**
+     * @return The option's delta at the given spot.
+     */
+    public double delta(EuropeanOption option, double currentStockPrice, double volatility) {
+        var entry = validEntry(option, currentStockPrice, volatility);
+        if (entry != null) {
+            gridHits.increment();
+            return entry.grid().delta(currentStockPrice);
+        }
+        directPrices.increment();
+        return GreeksCalculator.calculate(option.optionType() == OptionType.CALL, currentStockPrice,
+                option.strikePrice(), volatility, pricingContexts.get(option), greeks.get()).delta();
+    }
+
+    /**
+     * Builds the option's grid on the calling thread. Useful to pre-populate
+     * grids before the first market update.
+     */
+    public void rebuild(EuropeanOption option, double currentStockPrice, double volatility) {
+        // Read the valuation time first so a concurrent rollover leaves the grid marked stale.
+        var valuationTime = pricingContexts.valuationTime();
+        var context = pricingContexts.get(option);
+        double halfWidth = currentStockPrice * config.rangeFraction();
+        var grid = SpotPriceGrid.build(option.optionType() == OptionType.CALL, option.strikePrice(), volatility,
+                context, currentStockPrice - halfWidth, currentStockPrice + halfWidth, config.nodes());
+        grids.put(option.ticker(), new Entry(grid, valuationTime, volatility));
+        rebuilds.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(gridHits.sum(), directPrices.sum(), rebuilds.sum());
+    }
+
+    @Override
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    private Entry validEntry(EuropeanOption option, double spot, double volatility) {
+        var entry = grids.get(option.ticker());
+        if (entry != null && entry.valuationTime().equals(pricingContexts.valuationTime())
+                && entry.volatility() == volatility && entry.grid().covers(spot)) {
+            return entry;
+        }
+        if (pendingRebuilds.add(option.ticker())) {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild(option, spot, volatility);
+                } finally {
+                    pendingRebuilds.remove(option.ticker());
+                }
+            });
+        }
+        return null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.portfolio.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the market data publisher's ticks and measures how well the schedule
+ * is kept.
+ * <p>
+ * Fixed-rate ticks are scheduled on an absolute timeline, so waiting errors do
+ * not accumulate; if the publisher falls more than one period behind, the
+ * timeline is restarted rather than bursting to catch up. Poisson ticks draw
+ * exponential gaps with the configured mean rate. Jitter is how late each
+ * tick starts relative to its scheduled time.
+ * <p>
+ * Not thread-safe; it is meant to be driven from the publisher thread.
+ */
+public class TickScheduler {
+    /** The system property selecting the {@link Mode}. */
+    public static final String MODE_PROPERTY = "portfolio.tickMode";
+    /** The system property holding the target ticks per second. */
+    public static final String RATE_PROPERTY = "portfolio.tickRate";
+    /** The system property selecting the {@link WaitStrategy}. */
+    public static final String WAIT_PROPERTY = "portfolio.waitStrategy";
+
+    /**
+     * How tick times are chosen.
+     */
+    public enum Mode {
+        /** Evenly spaced ticks at the configured rate. */
+        FIXED_RATE,
+        /** No waiting at all; for throughput testing. */
+        AS_FAST_AS_POSSIBLE,
+        /** Exponentially distributed gaps with the configured mean rate. */
+        POISSON
+    }
+
+    /**
+     * How the publisher thread waits for the next tick. The strategies trade
+     * CPU use for timing precision, from {@link #SLEEP} (cheapest, coarsest)
+     * to {@link #SPIN} (one busy core, sub-microsecond jitter).
+     */
+    public enum WaitStrategy {
+        SLEEP {
+            @Override
+            void awaitNanos(long deadline) throws InterruptedException {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                }
+            }
+        },
+        PARK {
+            @Override
+            void awaitNanos(long deadline) throws InterruptedException {
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(remaining);
+                    checkInterrupted();
+                }
+            }
+        },
+        YIELD {
+            @Override
+            void awaitNanos(long deadline) throws InterruptedException {
+                while (deadline - System.nanoTime() > 0) {
+                    Thread.yield();
+                    checkInterrupted();
+                }
+            }
+        },
+        SPIN {
+            @Override
+            void awaitNanos(long deadline) throws InterruptedException {
+                while (deadline - System.nanoTime() > 0) {
+                    Thread.onSpinWait();
+                }
+                checkInterrupted();
+            }
+        };
+
+        abstract void awaitNanos(long deadline) throws InterruptedException;
+
+        private static void checkInterrupted() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * @param mode           How tick times are chosen.
+     * @param ticksPerSecond The target (fixed-rate) or mean (Poisson) rate;
+     *                       ignored when running as fast as possible.
+     * @param waitStrategy   How to wait between ticks.
+     */
+    public record Config(Mode mode, double ticksPerSecond, WaitStrategy waitStrategy) {
+
+        /** One tick per second, sleeping in between. */
+        public static final Config DEFAULT = new Config(Mode.FIXED_RATE, 1.0, WaitStrategy.SLEEP);
+
+        public Config {
+            if (mode != Mode.AS_FAST_AS_POSSIBLE && !(ticksPerSecond > 0)) {
+                throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+            }
+        }
+
+        /**
+         * @return The configuration named by the {@value #MODE_PROPERTY},
+         *         {@value #RATE_PROPERTY} and {@value #WAIT_PROPERTY} system
+         *         properties, each defaulting to {@link #DEFAULT}.
+         */
+        public static Config configured() {
+            return new Config(
+                    Mode.valueOf(System.getProperty(MODE_PROPERTY, DEFAULT.mode().name())),
+                    Double.parseDouble(System.getProperty(RATE_PROPERTY, String.valueOf(DEFAULT.ticksPerSecond()))),
+                    WaitStrategy.valueOf(System.getProperty(WAIT_PROPERTY, DEFAULT.waitStrategy().name())));
+        }
+    }
+
+    /**
+     * Counters since the last drain.
+     * 
+     * @param ticks            Ticks started.
+     * @param ticksPerSecond   The achieved tick rate.
+     * @param meanJitterMicros The mean lateness of a tick behind its schedule.
+     * @param maxJitterMicros  The worst lateness of a tick behind its schedule.
+     */
+    public record Stats(long ticks, double ticksPerSecond, double meanJitterMicros, double maxJitterMicros) {
+    }
+
+    private final Config config;
+    private final long periodNanos;
+    private final SplittableRandom random = new SplittableRandom();
+    private long deadline;
+    private long ticks;
+    private long totalLatenessNanos;
+    private long maxLatenessNanos;
+    private long windowStart;
+
+    public TickScheduler(Config config) {
+        this.config = config;
+        this.periodNanos = config.mode() == Mode.AS_FAST_AS_POSSIBLE ? 0 : (long) (1e9 / config.ticksPerSecond());
+        this.deadline = System.nanoTime();
+        this.windowStart = deadline;
+    }
+
+    /**
+     * @return The configuration this scheduler runs.
+     */
+    public Config config() {
+        return config;
+    }
+
+    /**
+     * Restarts the schedule from now and clears the counters. Call when the
+     * publisher thread starts ticking.
+     */
+    public void start() {
+        deadline = System.nanoTime();
+        windowStart = deadline;
+        ticks = 0;
+        totalLatenessNanos = 0;
+        maxLatenessNanos = 0;
+    }
+
+    /**
+     * Blocks until the next tick is due and records how late it started.
+     * 
+     * @throws InterruptedException if the publisher thread is interrupted while
+     *                              waiting.
+     */
+    public void awaitNextTick() throws InterruptedException {
+        if (config.mode() == Mode.AS_FAST_AS_POSSIBLE) {
+            ticks++;
+            return;
+        }
+        deadline += config.mode() == Mode.POISSON
+                ? (long) (-Math.log(1 - random.nextDouble()) * periodNanos)
+                : periodNanos;
+        config.waitStrategy().awaitNanos(deadline);
+
+        long lateness = System.nanoTime() - deadline;
+        ticks++;
+        totalLatenessNanos += lateness;
+        maxLatenessNanos = Math.max(maxLatenessNanos, lateness);
+        if (lateness > periodNanos) {
+            deadline += lateness;
+        }
+    }
+
+    /**
+     * @return The counters since the last drain, which are then reset.
+     */
+    public Stats drainStats() {
+        long now = System.nanoTime();
+        var stats = new Stats(ticks, ticks * 1e9 / Math.max(1, now - windowStart),
+                ticks == 0 ? 0 : totalLatenessNanos / 1e3 / ticks, maxLatenessNanos / 1e3);
+        ticks = 0;
+        totalLatenessNanos = 0;
+        maxLatenessNanos = 0;
+        windowStart = now;
+        return stats;
+    }
+}
@@ -0,0 +1,134 @@
+package com.portfolio.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * The market data publisher's worker threads, which run the tasks of one
+ * phase of a tick at a time without allocating.
+ * <p>
+ * The helper threads are started once, with the first phase that has more
+ * than one task, and park between phases. The calling thread hands out a
+ * phase's tasks as numbered tickets, wakes the helpers, takes tickets itself
+ * and returns once every task has finished. A helper that wakes late simply
+ * finds no tickets left, so no barrier has to be rebuilt for each phase.
+ * Only one thread may run phases at a time.
+ */
+final class TickWorkers {
+    // Busy-wait iterations before a waiting thread parks.
+    private static final int SPIN_TRIES = 100;
+
+    private final int helpers;
+    private final String name;
+    private Thread[] threads;
+    // The phase in progress; written before its tickets are handed out.
+    private IntConsumer action;
+    private int count;
+    private volatile Thread caller;
+    // Tickets left to claim, counting down; the task of ticket t is count - t.
+    private final AtomicInteger tickets = new AtomicInteger();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    // Bumped for every phase, to wake the helpers.
+    private volatile int phase;
+    private volatile Throwable failure;
+
+    /**
+     * @param helpers The number of helper threads, which may be zero to run
+     *                every task on the calling thread.
+     * @param name    The name of the helper threads.
+     */
+    TickWorkers(int helpers, String name) {
+        this.helpers = helpers;
+        this.name = name;
+    }
+
+    /**
+     * Runs {@code action} for every index from zero to {@code count}
+     * (exclusive), in any order and on any of the threads, and waits for all
+     * of them. If a task throws, the exception is rethrown here once every
+     * task has finished.
+     */
+    void run(int count, IntConsumer action) {
+        if (count == 1 || helpers == 0) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        if (threads == null) {
+            start();
+        }
+        this.action = action;
+        this.count = count;
+        this.caller = Thread.currentThread();
+        failure = null;
+        unfinished.set(count);
+        // Setting the tickets publishes the phase to whoever claims one.
+        tickets.set(count);
+        phase++;
+        for (var thread : threads) {
+            LockSupport.unpark(thread);
+        }
+        work();
+        for (int tries = 0; unfinished.get() > 0; tries++) {
+            if (tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        var thrown = failure;
+        if (thrown instanceof RuntimeException e) {
+            throw e;
+        } else if (thrown instanceof Error e) {
+            throw e;
+        }
+    }
+
+    /**
+     * @return Whether the helper threads have been started.
+     */
+    boolean started() {
+        return threads != null;
+    }
+
+    private void start() {
+        threads = new Thread[helpers];
+        for (int h = 0; h < helpers; h++) {
+            threads[h] = new Thread(this::help, name);
+            threads[h].setDaemon(true);
+            threads[h].start();
+        }
+    }
+
+    // Claims and runs tasks until no tickets are left.
+    private void work() {
+        int ticket;
+        while ((ticket = tickets.getAndDecrement()) > 0) {
+            try {
+                action.accept(count - ticket);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            if (unfinished.decrementAndGet() == 0) {
+                LockSupport.unpark(caller);
+            }
+        }
+    }
+
+    private void help() {
+        int seen = 0;
+        while (true) {
+            for (int tries = 0; phase == seen; tries++) {
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+            seen = phase;
+            work();
+        }
+    }
+}
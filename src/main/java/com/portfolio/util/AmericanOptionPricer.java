@@ -0,0 +1,138 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.OptionContract;
+import com.portfolio.domain.OptionType;
+
+import java.util.stream.IntStream;
+
+/**
+ * A final utility class pricing American options on a Leisen-Reimer binomial
+ * tree.
+ * <p>
+ * Leisen-Reimer chooses the up-move probability by Peizer-Pratt inversion of
+ * the Black-Scholes d1 and d2, which makes the tree converge smoothly and at
+ * second order, so a few hundred steps are usually enough. The step count is
+ * always rounded up to an odd number as the method requires.
+ * <p>
+ * Each thread keeps its own lattice buffers, grown on demand, so repeated
+ * repricing on a thread allocates nothing.
+ */
+public final class AmericanOptionPricer {
+    /** The step count used when none is given. */
+    public static final int DEFAULT_STEPS = 201;
+
+    private static final ThreadLocal<Lattice> LATTICE = ThreadLocal.withInitial(Lattice::new);
+
+    // Per-thread scratch space: node spots and option values for one time slice.
+    private static final class Lattice {
+        double[] spots = new double[0];
+        double[] values = new double[0];
+
+        void ensureCapacity(int nodes) {
+            if (spots.length < nodes) {
+                spots = new double[nodes];
+                values = new double[nodes];
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class.
+    private AmericanOptionPricer() {
+    }
+
+    /**
+     * Prices an American option using its precomputed pricing context.
+     * 
+     * @param option            The option to price.
+     * @param context           The option's pricing context.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @param steps             The number of tree steps.
+     * @return The option price.
+     */
+    public static double calculate(OptionContract option, PricingContext context, double currentStockPrice,
+            double volatility, int steps) {
+        return price(option.optionType() == OptionType.CALL, currentStockPrice, option.strikePrice(), volatility,
+                context.timeToExpiryYears(), context.rate(), context.dividendYield(), steps);
+    }
+
+    /**
+     * Prices an American option from primitive inputs.
+     * 
+     * @param isCall            {@code true} for a call, {@code false} for a put.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param strike            The strike price of the option.
+     * @param volatility        The volatility of the underlying stock.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @param rate              The continuously compounded risk-free rate.
+     * @param dividendYield     The continuous dividend yield.
+     * @param steps             The number of tree steps.
+     * @return The option price.
+     */
+    public static double price(boolean isCall, double currentStockPrice, double strike, double volatility,
+            double timeToExpiryYears, double rate, double dividendYield, int steps) {
+        double sign = isCall ? 1.0 : -1.0;
+        if (timeToExpiryYears <= 0) {
+            return Math.max(0, sign * (currentStockPrice - strike));
+        }
+
+        int n = steps | 1;
+        double dt = timeToExpiryYears / n;
+        double volSqrtT = volatility * Math.sqrt(timeToExpiryYears);
+        double d1 = (Math.log(currentStockPrice / strike)
+                + (rate - dividendYield + 0.5 * volatility * volatility) * timeToExpiryYears) / volSqrtT;
+        double d2 = d1 - volSqrtT;
+
+        double p = peizerPratt(d2, n);
+        double growth = Math.exp((rate - dividendYield) * dt);
+        double up = growth * peizerPratt(d1, n) / p;
+        double down = (growth - p * up) / (1.0 - p);
+        double discount = Math.exp(-rate * dt);
+        double pUp = discount * p;
+        double pDown = discount * (1.0 - p);
+        double invDown = 1.0 / down;
+        double upOverDown = up * invDown;
+
+        var lattice = LATTICE.get();
+        lattice.ensureCapacity(n + 1);
+        double[] spots = lattice.spots;
+        double[] values = lattice.values;
+
+        // Terminal slice: spot S u^j d^(n-j) for j up-moves.
+        double spot = currentStockPrice * Math.pow(down, n);
+        for (int j = 0; j <= n; j++) {
+            spots[j] = spot;
+            values[j] = Math.max(0, sign * (spot - strike));
+            spot *= upOverDown;
+        }
+
+        // Backward induction; node (i, j) has spot S u^j d^(i-j) = spot(i+1, j) / d.
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = 0; j <= i; j++) {
+                spots[j] *= invDown;
+                double continuation = pUp * values[j + 1] + pDown * values[j];
+                values[j] = Math.max(continuation, sign * (spots[j] - strike));
+            }
+        }
+        return values[0];
+    }
+
+    /**
+     * Prices a struct-of-arrays block of American options in parallel on the
+     * common fork-join pool. Each worker uses its own lattice buffers.
+     * 
+     * @param out Caller-supplied array receiving the prices.
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            double[] rate, double[] dividendYield, boolean[] isCall, int steps, double[] out) {
+        IntStream.range(0, out.length).parallel().forEach(i -> out[i] = price(isCall[i], spot[i], strike[i],
+                volatility[i], timeToExpiry[i], rate[i], dividendYield[i], steps));
+    }
+
+    // Peizer-Pratt method 2 inversion of the normal CDF for an n-step tree.
+    private static double peizerPratt(double z, int n) {
+        double x = z / (n + 1.0 / 3.0 + 0.1 / (n + 1));
+        double h = 0.5 * Math.sqrt(1.0 - Math.exp(-x * x * (n + 1.0 / 6.0)));
+        return z >= 0 ? 0.5 + h : 0.5 - h;
+    }
+}
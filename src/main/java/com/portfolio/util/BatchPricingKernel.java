@@ -0,0 +1,11 @@
+package com.portfolio.util;
+
+/**
+ * A strategy for pricing a struct-of-arrays block of European options.
+ * Implementations are stateless and safe to share between threads.
+ */
+interface BatchPricingKernel {
+
+    void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out, int from, int to);
+}
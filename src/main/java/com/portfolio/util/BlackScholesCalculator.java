@@ -12,8 +12,12 @@ import java.time.temporal.ChronoUnit;
  * It cannot be instantiated or extended.
  */
 public final class BlackScholesCalculator {
-    // A constant for the risk-free interest rate, assumed to be 2%.
-    private static final double RISK_FREE_RATE = 0.02;
+    // The flat risk-free interest rate, assumed to be 2%, used by the primitive
+    // entry points. Context-based pricing takes rates from the curves instead.
+    public static final double RISK_FREE_RATE = 0.02;
+    private static final double INV_SQRT_2PI = 1.0 / Math.sqrt(2.0 * Math.PI);
+    // The normal CDF engine, fixed at startup so the JIT can inline it.
+    private static final NormalCdf CDF = NormalCdf.configured();
 
     // Private constructor to prevent instantiation of this utility class.
     private BlackScholesCalculator() {
@@ -28,38 +32,184 @@ public final class BlackScholesCalculator {
      * @return The calculated theoretical price of the option.
      */
     public static double calculate(EuropeanOption option, double currentStockPrice, double volatility) {
-        var strike = option.strikePrice();
+        return price(option.optionType() == OptionType.CALL, currentStockPrice, option.strikePrice(), volatility,
+                timeToExpiryYears(option));
+    }
+
+    /**
+     * Calculates the price of a European option using inputs precomputed for the
+     * current valuation date, including the rate and dividend yield to expiry
+     * and their discount factors. Only {@code log(S)} and the two CDFs remain on
+     * the per-tick path.
+     * 
+     * @param option            The option to price.
+     * @param context           The option's pricing context for today.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @return The calculated theoretical price of the option.
+     */
+    public static double calculate(EuropeanOption option, PricingContext context, double currentStockPrice,
+            double volatility) {
+        boolean isCall = option.optionType() == OptionType.CALL;
+        double strike = option.strikePrice();
+        double t = context.timeToExpiryYears();
+
+        // If the option has expired, calculate its intrinsic value.
+        if (t <= 0) {
+            return Math.max(0, isCall ? currentStockPrice - strike : strike - currentStockPrice);
+        }
+
+        double volSqrtT = volatility * context.sqrtTimeToExpiry();
+        double d1 = (Math.log(currentStockPrice) - context.logStrike()
+                + (context.rate() - context.dividendYield() + 0.5 * volatility * volatility) * t)
+                / volSqrtT;
+        double d2 = d1 - volSqrtT;
+        double discountedStrike = strike * context.discountFactor();
+        double discountedSpot = currentStockPrice * context.dividendDiscountFactor();
+
+        if (isCall) {
+            return discountedSpot * cdf(d1) - discountedStrike * cdf(d2);
+        } else { // PUT
+            return discountedStrike * cdf(-d2) - discountedSpot * cdf(-d1);
+        }
+    }
+
+    /**
+     * Calculates the time from today until the option's expiry, in years.
+     */
+    static double timeToExpiryYears(EuropeanOption option) {
         var today = LocalDate.now();
         var expiry = option.expiryDate();
-        double timeToExpiryYears = (double) ChronoUnit.DAYS.between(today, expiry) / 365.0;
+        return (double) ChronoUnit.DAYS.between(today, expiry) / 365.0;
+    }
+
+    /**
+     * Prices a block of European options laid out as parallel primitive arrays
+     * (struct-of-arrays). No objects are allocated per element, so this is the
+     * preferred entry point for revaluing large books.
+     * 
+     * @param spot          The underlying price for each option.
+     * @param strike        The strike price for each option.
+     * @param volatility    The volatility for each option.
+     * @param timeToExpiry  The time to expiry in years for each option.
+     * @param isCall        {@code true} for calls, {@code false} for puts.
+     * @param out           Caller-supplied array receiving the prices.
+     * @param from          The first index to price (inclusive).
+     * @param to            The last index to price (exclusive).
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = price(isCall[i], spot[i], strike[i], volatility[i], timeToExpiry[i]);
+        }
+    }
+
+    /**
+     * Prices every option in the given arrays.
+     * 
+     * @see #calculate(double[], double[], double[], double[], boolean[], double[], int, int)
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out) {
+        calculate(spot, strike, volatility, timeToExpiry, isCall, out, 0, out.length);
+    }
+
+    /**
+     * Prices a strip of options that share underlying, type and expiry, so
+     * {@code log(S)}, the drift and the discount factors are computed once and
+     * taken from the expiry's cached {@link PricingContext}, exactly as
+     * {@link #calculate(EuropeanOption, PricingContext, double, double)} would
+     * price each option.
+     * 
+     * @param isCall            {@code true} for calls, {@code false} for puts.
+     * @param context           The pricing context of any option in the strip;
+     *                          its strike is ignored.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @param strikes           The strike of each option.
+     * @param logStrikes        The natural logarithm of each strike.
+     * @param out               Caller-supplied array receiving the prices.
+     * @param from              The first index to price (inclusive).
+     * @param to                The last index to price (exclusive).
+     */
+    public static void priceStrikes(boolean isCall, PricingContext context, double currentStockPrice,
+            double volatility, double[] strikes, double[] logStrikes, double[] out, int from, int to) {
+        double t = context.timeToExpiryYears();
+        if (t <= 0) {
+            for (int i = from; i < to; i++) {
+                out[i] = Math.max(0, isCall ? currentStockPrice - strikes[i] : strikes[i] - currentStockPrice);
+            }
+            return;
+        }
 
+        double volSqrtT = volatility * context.sqrtTimeToExpiry();
+        double logSpotPlusDrift = Math.log(currentStockPrice)
+                + (context.rate() - context.dividendYield() + 0.5 * volatility * volatility) * t;
+        double discountFactor = context.discountFactor();
+        double discountedSpot = currentStockPrice * context.dividendDiscountFactor();
+        for (int i = from; i < to; i++) {
+            double d1 = (logSpotPlusDrift - logStrikes[i]) / volSqrtT;
+            double d2 = d1 - volSqrtT;
+            double discountedStrike = strikes[i] * discountFactor;
+            out[i] = isCall
+                    ? discountedSpot * cdf(d1) - discountedStrike * cdf(d2)
+                    : discountedStrike * cdf(-d2) - discountedSpot * cdf(-d1);
+        }
+    }
+
+    /**
+     * Calculates the price of a European option from primitive inputs.
+     * 
+     * @param isCall            {@code true} for a call, {@code false} for a put.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param strike            The strike price of the option.
+     * @param volatility        The volatility of the underlying stock.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @return The calculated theoretical price of the option.
+     */
+    public static double price(boolean isCall, double currentStockPrice, double strike, double volatility,
+            double timeToExpiryYears) {
         // If the option has expired, calculate its intrinsic value.
         if (timeToExpiryYears <= 0) {
-            return Math.max(0,
-                    option.optionType() == OptionType.CALL ? currentStockPrice - strike : strike - currentStockPrice);
+            return Math.max(0, isCall ? currentStockPrice - strike : strike - currentStockPrice);
         }
 
         // Black-Scholes formula components
+        double volSqrtT = volatility * Math.sqrt(timeToExpiryYears);
         double d1 = (Math.log(currentStockPrice / strike)
-                + (RISK_FREE_RATE + 0.5 * Math.pow(volatility, 2)) * timeToExpiryYears)
-                / (volatility * Math.sqrt(timeToExpiryYears));
-        double d2 = d1 - volatility * Math.sqrt(timeToExpiryYears);
+                + (RISK_FREE_RATE + 0.5 * volatility * volatility) * timeToExpiryYears)
+                / volSqrtT;
+        double d2 = d1 - volSqrtT;
+        double discountedStrike = strike * Math.exp(-RISK_FREE_RATE * timeToExpiryYears);
 
-        if (option.optionType() == OptionType.CALL) {
-            return currentStockPrice * cdf(d1) - strike * Math.exp(-RISK_FREE_RATE * timeToExpiryYears) * cdf(d2);
+        if (isCall) {
+            return currentStockPrice * cdf(d1) - discountedStrike * cdf(d2);
         } else { // PUT
-            return strike * Math.exp(-RISK_FREE_RATE * timeToExpiryYears) * cdf(-d2) - currentStockPrice * cdf(-d1);
+            return discountedStrike * cdf(-d2) - currentStockPrice * cdf(-d1);
         }
     }
 
     /**
      * Cumulative Distribution Function (CDF) for the standard normal distribution.
-     * Uses the Abramowitz and Stegun approximation, a common and accurate method.
+     * Delegates to the engine selected with the {@code portfolio.normalCdf}
+     * system property, by default the Abramowitz and Stegun approximation.
      * 
      * @param z The value for which to calculate the CDF.
      * @return The probability P(X <= z) for a standard normal variable X.
+     * @see NormalCdf
      */
     public static double cdf(double z) {
+        return CDF.cdf(z);
+    }
+
+    /**
+     * Cumulative Distribution Function (CDF) for the standard normal distribution.
+     * Uses the Abramowitz and Stegun approximation, a common and accurate method.
+     * 
+     * @param z The value for which to calculate the CDF.
+     * @return The probability P(X <= z) for a standard normal variable X.
+     */
+    static double abramowitzStegun(double z) {
         if (z < -8.0)
             return 0.0;
         if (z > 8.0)
@@ -79,4 +229,39 @@ public final class BlackScholesCalculator {
         }
         return n;
     }
-}
\ No newline at end of file
+
+    /**
+     * The CDF for callers that already hold the normal density at {@code z}.
+     * With the Abramowitz and Stegun engine this saves the {@code exp} call;
+     * other engines ignore the density.
+     * 
+     * @param z   The value for which to calculate the CDF.
+     * @param pdf The standard normal density at {@code z}.
+     * @return The probability P(X <= z) for a standard normal variable X.
+     */
+    static double cdf(double z, double pdf) {
+        if (CDF != NormalCdf.ABRAMOWITZ_STEGUN)
+            return CDF.cdf(z);
+        if (z < -8.0)
+            return 0.0;
+        if (z > 8.0)
+            return 1.0;
+
+        double b1 = 0.319381530, b2 = -0.356563782, b3 = 1.781477937, b4 = -1.821255978, b5 = 1.330274429;
+        double p = 0.2316419;
+
+        var t = 1.0 / (1.0 + Math.abs(z) * p);
+        var n = 1.0 - pdf * ((((b5 * t + b4) * t + b3) * t + b2) * t + b1) * t;
+        return z < 0.0 ? 1.0 - n : n;
+    }
+
+    /**
+     * Probability density function for the standard normal distribution.
+     * 
+     * @param z The value at which to evaluate the density.
+     * @return The density of a standard normal variable at {@code z}.
+     */
+    public static double pdf(double z) {
+        return INV_SQRT_2PI * Math.exp(-0.5 * z * z);
+    }
+}
@@ -0,0 +1,94 @@
+package com.portfolio.util;
+
+/**
+ * Builds the increments of a Brownian path on an equally spaced grid by
+ * Brownian-bridge construction: the first draw fixes the endpoint, the second
+ * the midpoint, and so on by bisection.
+ * <p>
+ * With pseudo-random draws this only reorders the work, but with a
+ * low-discrepancy sequence it places the best-distributed first coordinates
+ * on the path's coarsest features, which carry most of the payoff's variance.
+ * Instances hold no mutable state and may be shared.
+ */
+public final class BrownianBridge {
+    private final int steps;
+    private final int[] bridgeIndex;
+    private final int[] leftIndex;
+    private final int[] rightIndex;
+    private final double[] leftWeight;
+    private final double[] rightWeight;
+    private final double[] stdDev;
+
+    /**
+     * @param steps The number of time steps per path.
+     */
+    public BrownianBridge(int steps) {
+        this.steps = steps;
+        bridgeIndex = new int[steps];
+        leftIndex = new int[steps];
+        rightIndex = new int[steps];
+        leftWeight = new double[steps];
+        rightWeight = new double[steps];
+        stdDev = new double[steps];
+
+        // Times are measured in steps, so point i sits at time i + 1.
+        int[] map = new int[steps];
+        map[steps - 1] = 1;
+        bridgeIndex[0] = steps - 1;
+        stdDev[0] = Math.sqrt(steps);
+        for (int i = 1, j = 0; i < steps; i++) {
+            while (map[j] != 0) {
+                j++;
+            }
+            int k = j;
+            while (map[k] == 0) {
+                k++;
+            }
+            // Fill the midpoint of the unpopulated run (j .. k - 1) between known points j - 1 and k.
+            int l = j + ((k - 1 - j) >> 1);
+            map[l] = i;
+            bridgeIndex[i] = l;
+            leftIndex[i] = j;
+            rightIndex[i] = k;
+            double tLeft = j;
+            double tMid = l + 1;
+            double tRight = k + 1;
+            leftWeight[i] = (tRight - tMid) / (tRight - tLeft);
+            rightWeight[i] = (tMid - tLeft) / (tRight - tLeft);
+            stdDev[i] = Math.sqrt((tMid - tLeft) * (tRight - tMid) / (tRight - tLeft));
+            j = k + 1;
+            if (j >= steps) {
+                j = 0;
+            }
+        }
+    }
+
+    /**
+     * @return The number of time steps per path.
+     */
+    public int steps() {
+        return steps;
+    }
+
+    /**
+     * Turns independent standard normal draws into the standardized
+     * increments of one path.
+     * 
+     * @param z   The independent draws, most important first.
+     * @param out Receives independent standard normal increments, one per step.
+     */
+    public void increments(double[] z, double[] out) {
+        // Build the path levels in out, then difference them in place.
+        out[steps - 1] = stdDev[0] * z[0];
+        for (int i = 1; i < steps; i++) {
+            int j = leftIndex[i];
+            int k = rightIndex[i];
+            int l = bridgeIndex[i];
+            double left = j == 0 ? 0 : leftWeight[i] * out[j - 1];
+            out[l] = left + rightWeight[i] * out[k] + stdDev[i] * z[i];
+        }
+        for (int i = steps - 1; i > 0; i--) {
+            out[i] -= out[i - 1];
+        }
+    }
+}
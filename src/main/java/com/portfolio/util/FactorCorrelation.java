@@ -0,0 +1,87 @@
+package com.portfolio.util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Correlates shocks through {@code k} common factors plus idiosyncratic
+ * noise: {@code x_i = sum_f beta_if * f_f + sqrt(1 - sum_f beta_if^2) * z_i}.
+ * <p>
+ * The implied correlation of two stocks is the dot product of their loadings,
+ * and each shock still has unit variance. A tick costs O(n * k), so the model
+ * scales to universes far beyond what a full Cholesky factor allows.
+ */
+public final class FactorCorrelation implements ShockCorrelation {
+    private final int size;
+    private final int factors;
+    // Row-major loadings, factors per stock.
+    private final double[] loadings;
+    private final double[] idiosyncratic;
+
+    /**
+     * @param loadings Each stock's loading on each factor, one row per stock.
+     * @throws IllegalArgumentException if the rows differ in length, or a
+     *                                  stock's squared loadings sum to more
+     *                                  than one.
+     */
+    public FactorCorrelation(double[][] loadings) {
+        size = loadings.length;
+        factors = size == 0 ? 0 : loadings[0].length;
+        this.loadings = new double[size * factors];
+        idiosyncratic = new double[size];
+        for (int i = 0; i < size; i++) {
+            if (loadings[i].length != factors) {
+                throw new IllegalArgumentException("Stock " + i + " has " + loadings[i].length
+                        + " factor loadings, expected " + factors);
+            }
+            double explained = 0;
+            for (int f = 0; f < factors; f++) {
+                this.loadings[i * factors + f] = loadings[i][f];
+                explained += loadings[i][f] * loadings[i][f];
+            }
+            if (explained > 1) {
+                throw new IllegalArgumentException(
+                        "Factor loadings of stock " + i + " explain more than its variance");
+            }
+            idiosyncratic[i] = Math.sqrt(1 - explained);
+        }
+    }
+
+    /**
+     * @param tickers  The universe, in shock order.
+     * @param loadings Each ticker's factor loadings, all of the same length;
+     *                 tickers without loadings are independent of the
+     *                 factors.
+     * @return The factor model.
+     */
+    public static FactorCorrelation of(List<String> tickers, Map<String, double[]> loadings) {
+        int factors = loadings.values().stream().mapToInt(row -> row.length).findFirst().orElse(0);
+        double[][] rows = new double[tickers.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = loadings.getOrDefault(tickers.get(i), new double[factors]);
+        }
+        return new FactorCorrelation(rows);
+    }
+
+    @Override
+    public int commonFactors() {
+        return factors;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void correlate(double[] independent, double[] common, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            int row = i * factors;
+            double sum = idiosyncratic[i] * independent[i];
+            for (int f = 0; f < factors; f++) {
+                sum += loadings[row + f] * common[f];
+            }
+            out[i - from] = sum;
+        }
+    }
+}
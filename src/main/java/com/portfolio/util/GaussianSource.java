@@ -0,0 +1,98 @@
+package com.portfolio.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * A source of standard normal draws for simulation, pluggable into every
+ * path generator.
+ * <p>
+ * Paths are numbered from zero, each taking {@code dimension} draws, and a
+ * source can open a stream positioned at any path. Parallel blocks therefore
+ * each open their own stream at their first path, and results for a given
+ * source do not depend on the number of threads. Streams are not thread-safe.
+ */
+@FunctionalInterface
+public interface GaussianSource {
+
+    /**
+     * Opens a stream of draws starting at the given path.
+     * 
+     * @param firstPath The number of the first path the stream produces.
+     * @param dimension The number of draws per path.
+     * @return A stream producing paths {@code firstPath}, {@code firstPath + 1},
+     *         and so on.
+     */
+    Draws open(long firstPath, int dimension);
+
+    /**
+     * A single-threaded stream of draws, one path at a time.
+     */
+    @FunctionalInterface
+    interface Draws {
+
+        /**
+         * @param z Receives the next path's {@code dimension} draws.
+         */
+        void next(double[] z);
+    }
+
+    /**
+     * @param seed The seed all streams are derived from.
+     * @return Pseudo-random draws from {@link SplittableRandom}.
+     */
+    static GaussianSource pseudoRandom(long seed) {
+        return (firstPath, dimension) -> {
+            var random = new SplittableRandom(mix(seed, firstPath));
+            return z -> {
+                for (int i = 0; i < dimension; i++) {
+                    z[i] = random.nextGaussian();
+                }
+            };
+        };
+    }
+
+    /**
+     * @param seed Selects the digital shift of the sequence.
+     * @return Quasi-random draws from a {@link SobolSequence}, mapped through
+     *         {@link InverseNormal}. Combine with {@link #withBrownianBridge()}
+     *         for multi-step paths.
+     */
+    static GaussianSource sobol(long seed) {
+        return (firstPath, dimension) -> {
+            var sequence = new SobolSequence(dimension, seed);
+            sequence.skipTo(firstPath);
+            double[] u = new double[dimension];
+            return z -> {
+                sequence.next(u);
+                for (int i = 0; i < dimension; i++) {
+                    z[i] = InverseNormal.quantile(u[i]);
+                }
+            };
+        };
+    }
+
+    /**
+     * @return A source whose draws are the standardized per-step increments
+     *         of a Brownian path built from this source's draws by
+     *         {@link BrownianBridge}.
+     */
+    default GaussianSource withBrownianBridge() {
+        return (firstPath, dimension) -> {
+            var draws = open(firstPath, dimension);
+            var bridge = new BrownianBridge(dimension);
+            double[] raw = new double[dimension];
+            return z -> {
+                draws.next(raw);
+                bridge.increments(raw, z);
+            };
+        };
+    }
+
+    // Decorrelates the seeds of streams opened at different paths (SplitMix64 finalizer).
+    private static long mix(long seed, long firstPath) {
+        long z = seed + 0x9E3779B97F4A7C15L * (firstPath + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
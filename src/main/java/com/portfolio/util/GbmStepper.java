@@ -0,0 +1,96 @@
+package com.portfolio.util;
+
+/**
+ * Steps a universe of stock prices with the exact log-normal solution of
+ * geometric Brownian motion, {@code S * exp((mu - sigma^2 / 2) dt + sigma
+ * sqrt(dt) eps)}, so the step is unbiased for any {@code dt} and prices stay
+ * positive.
+ * <p>
+ * Prices and the per-stock drift and diffusion coefficients are held in
+ * primitive arrays, computed once at construction. A step costs one
+ * exponential per stock plus one {@code sqrt} per call, accepts a different
+ * {@code dt} every time for uneven tick timing, and does not allocate.
+ * Tick-sized log returns are exponentiated with a short Taylor series that is
+ * exact to double precision in that range, avoiding {@code Math.exp}.
+ * Disjoint index ranges may be stepped from different threads.
+ */
+public final class GbmStepper implements PriceProcess {
+    // Below this |x|, the degree-5 Taylor series of exp(x) has relative error under 1e-19.
+    private static final double SERIES_LIMIT = 0x1p-10;
+
+    private final double[] prices;
+    private final double[] drift;
+    private final double[] diffusion;
+    private final double minPrice;
+    private final double maxPrice;
+
+    /**
+     * @param initialPrices The starting prices.
+     * @param mu            Each stock's expected return per time unit.
+     * @param sigma         Each stock's volatility per time unit.
+     * @param timeUnit      The length of the time unit in the same units as
+     *                      the {@code dt} passed to {@link #step}.
+     * @param minPrice      The lowest price a step may produce.
+     * @param maxPrice      The highest price a step may produce.
+     */
+    public GbmStepper(double[] initialPrices, double[] mu, double[] sigma, double timeUnit, double minPrice,
+            double maxPrice) {
+        int n = initialPrices.length;
+        this.prices = initialPrices.clone();
+        this.drift = new double[n];
+        this.diffusion = new double[n];
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        double sqrtUnit = Math.sqrt(timeUnit);
+        for (int i = 0; i < n; i++) {
+            drift[i] = (mu[i] - 0.5 * sigma[i] * sigma[i]) / timeUnit;
+            diffusion[i] = sigma[i] / sqrtUnit;
+        }
+    }
+
+    /**
+     * Advances the stocks {@code from} (inclusive) to {@code to} (exclusive)
+     * by {@code dt}.
+     * 
+     * @param from    The first stock to step.
+     * @param to      One past the last stock to step.
+     * @param epsilon Standard normal shocks, {@code epsilon[0]} for stock
+     *                {@code from}.
+     * @param dt      The elapsed time.
+     */
+    public void step(int from, int to, double[] epsilon, double dt) {
+        double sqrtDt = Math.sqrt(dt);
+        for (int i = from; i < to; i++) {
+            double next = prices[i] * exp(drift[i] * dt + diffusion[i] * sqrtDt * epsilon[i - from]);
+            prices[i] = next < minPrice ? minPrice : next > maxPrice ? maxPrice : next;
+        }
+    }
+
+    @Override
+    public void step(int from, int to, double[] shocks, double[] extra, double dt) {
+        step(from, to, shocks, dt);
+    }
+
+    @Override
+    public int extraDraws() {
+        return 0;
+    }
+
+    // Shared with the other price processes, whose steps are also usually tick-sized.
+    static double exp(double x) {
+        if (Math.abs(x) < SERIES_LIMIT) {
+            return 1 + x * (1 + x * (0.5 + x * (1.0 / 6 + x * (1.0 / 24 + x * (1.0 / 120)))));
+        }
+        return Math.exp(x);
+    }
+
+    @Override
+    public double price(int i) {
+        return prices[i];
+    }
+
+    @Override
+    public int size() {
+        return prices.length;
+    }
+}
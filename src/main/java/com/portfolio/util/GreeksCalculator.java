@@ -0,0 +1,265 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+
+/**
+ * A final utility class computing the Black-Scholes price and its analytic
+ * Greeks in a single pass.
+ * d1, d2, the discount factor and the normal density are evaluated once and
+ * shared by every output, so a full risk vector costs about as much as a
+ * price. Results are written into a reusable {@link Greeks} holder or a
+ * primitive array, so the hot path does not allocate.
+ */
+public final class GreeksCalculator {
+    // Offsets of each output within one option's slot of a primitive output array.
+    public static final int PRICE = 0;
+    public static final int DELTA = 1;
+    public static final int GAMMA = 2;
+    public static final int VEGA = 3;
+    public static final int THETA = 4;
+    public static final int RHO = 5;
+    public static final int SPEED = 6;
+    public static final int VANNA = 7;
+    public static final int VOLGA = 8;
+    public static final int CHARM = 9;
+    /** Number of doubles each option occupies in a primitive output array. */
+    public static final int STRIDE = 10;
+
+    private static final double RISK_FREE_RATE = BlackScholesCalculator.RISK_FREE_RATE;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private GreeksCalculator() {
+    }
+
+    /**
+     * A mutable holder for one option's price and Greeks, intended to be reused
+     * across calls. Theta is per year and vega/rho are per unit (not per 1%)
+     * change in volatility and rate. Speed is the third derivative in spot,
+     * useful for bounding the error of a delta-gamma expansion. Vanna
+     * ({@code d2V/dS dsigma}), volga ({@code d2V/dsigma2}) and charm (the
+     * change in delta per year of calendar time, like theta) are the
+     * second-order cross and volatility terms.
+     */
+    public static final class Greeks {
+        private double price;
+        private double delta;
+        private double gamma;
+        private double vega;
+        private double theta;
+        private double rho;
+        private double speed;
+        private double vanna;
+        private double volga;
+        private double charm;
+
+        public double price() {
+            return price;
+        }
+
+        public double delta() {
+            return delta;
+        }
+
+        public double gamma() {
+            return gamma;
+        }
+
+        public double vega() {
+            return vega;
+        }
+
+        public double theta() {
+            return theta;
+        }
+
+        public double rho() {
+            return rho;
+        }
+
+        public double speed() {
+            return speed;
+        }
+
+        public double vanna() {
+            return vanna;
+        }
+
+        public double volga() {
+            return volga;
+        }
+
+        public double charm() {
+            return charm;
+        }
+
+        void set(double price, double delta, double gamma, double vega, double theta, double rho, double speed,
+                double vanna, double volga, double charm) {
+            this.price = price;
+            this.delta = delta;
+            this.gamma = gamma;
+            this.vega = vega;
+            this.theta = theta;
+            this.rho = rho;
+            this.speed = speed;
+            this.vanna = vanna;
+            this.volga = volga;
+            this.charm = charm;
+        }
+
+        @Override
+        public String toString() {
+            return "Greeks[price=" + price + ", delta=" + delta + ", gamma=" + gamma + ", vega=" + vega
+                    + ", theta=" + theta + ", rho=" + rho + ", speed=" + speed + ", vanna=" + vanna
+                    + ", volga=" + volga + ", charm=" + charm + "]";
+        }
+    }
+
+    /**
+     * Calculates the price and Greeks of a European option.
+     * 
+     * @param option            The option to price.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @param result            The holder to fill in.
+     * @return {@code result}, for chaining.
+     */
+    public static Greeks calculate(EuropeanOption option, double currentStockPrice, double volatility,
+            Greeks result) {
+        return calculate(option.optionType() == OptionType.CALL, currentStockPrice, option.strikePrice(), volatility,
+                BlackScholesCalculator.timeToExpiryYears(option), result);
+    }
+
+    /**
+     * Calculates the price and Greeks of a European option from primitive inputs.
+     * 
+     * @param isCall            {@code true} for a call, {@code false} for a put.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param strike            The strike price of the option.
+     * @param volatility        The volatility of the underlying stock.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @param result            The holder to fill in.
+     * @return {@code result}, for chaining.
+     */
+    public static Greeks calculate(boolean isCall, double currentStockPrice, double strike, double volatility,
+            double timeToExpiryYears, Greeks result) {
+        evaluate(isCall, currentStockPrice, strike, volatility, timeToExpiryYears, result, null, 0);
+        return result;
+    }
+
+    /**
+     * Calculates the price and Greeks of a European option using its
+     * precomputed pricing context, i.e. with the context's rate and dividend
+     * yield rather than the flat risk-free rate.
+     * 
+     * @param isCall            {@code true} for a call, {@code false} for a put.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param strike            The strike price of the option.
+     * @param volatility        The volatility of the underlying stock.
+     * @param context           The option's pricing context.
+     * @param result            The holder to fill in.
+     * @return {@code result}, for chaining.
+     */
+    public static Greeks calculate(boolean isCall, double currentStockPrice, double strike, double volatility,
+            PricingContext context, Greeks result) {
+        evaluate(isCall, currentStockPrice, strike, volatility, context.timeToExpiryYears(), context.rate(),
+                context.dividendYield(), context.discountFactor(), context.dividendDiscountFactor(), result, null, 0);
+        return result;
+    }
+
+    /**
+     * Calculates the price and Greeks for a struct-of-arrays block of options.
+     * Option {@code i} writes its outputs to
+     * {@code out[i * STRIDE + PRICE] .. out[i * STRIDE + CHARM]}.
+     * 
+     * @param out Caller-supplied array of at least {@code spot.length * STRIDE}.
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            evaluate(isCall[i], spot[i], strike[i], volatility[i], timeToExpiry[i], null, out, i * STRIDE);
+        }
+    }
+
+    /**
+     * Calculates the price and Greeks for every option in the given arrays.
+     * 
+     * @see #calculate(double[], double[], double[], double[], boolean[], double[], int, int)
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out) {
+        calculate(spot, strike, volatility, timeToExpiry, isCall, out, 0, spot.length);
+    }
+
+    // Flat risk-free rate, no dividends.
+    private static void evaluate(boolean isCall, double s, double k, double volatility, double t,
+            Greeks holder, double[] out, int offset) {
+        double tPositive = Math.max(0.0, t);
+        evaluate(isCall, s, k, volatility, t, RISK_FREE_RATE, 0.0, Math.exp(-RISK_FREE_RATE * tPositive), 1.0,
+                holder, out, offset);
+    }
+
+    // r and q are the rate and dividend yield to expiry; df and qdf their discount factors.
+    private static void evaluate(boolean isCall, double s, double k, double volatility, double t, double r,
+            double q, double df, double qdf, Greeks holder, double[] out, int offset) {
+        double price, delta, gamma, vega, theta, rho, speed, vanna, volga, charm;
+
+        if (t <= 0) {
+            // Expired: intrinsic value with a step-function delta.
+            price = Math.max(0, isCall ? s - k : k - s);
+            delta = price > 0 ? (isCall ? 1.0 : -1.0) : 0.0;
+            gamma = vega = theta = rho = speed = vanna = volga = charm = 0.0;
+        } else {
+            double sqrtT = Math.sqrt(t);
+            double volSqrtT = volatility * sqrtT;
+            double d1 = (Math.log(s / k) + (r - q + 0.5 * volatility * volatility) * t) / volSqrtT;
+            double d2 = d1 - volSqrtT;
+            double discountedStrike = k * df;
+            double discountedSpot = s * qdf;
+
+            // phi(d2) = phi(d1) * S e^(-qT) / (K e^(-rT)), so a single exp serves both densities.
+            double pdfD1 = BlackScholesCalculator.pdf(d1);
+            double pdfD2 = pdfD1 * discountedSpot / discountedStrike;
+            double nD1 = BlackScholesCalculator.cdf(d1, pdfD1);
+            double nD2 = BlackScholesCalculator.cdf(d2, pdfD2);
+
+            gamma = qdf * pdfD1 / (s * volSqrtT);
+            vega = discountedSpot * pdfD1 * sqrtT;
+            speed = -gamma / s * (d1 / volSqrtT + 1.0);
+            vanna = -qdf * pdfD1 * d2 / volatility;
+            volga = vega * d1 * d2 / volatility;
+            double decay = -discountedSpot * pdfD1 * volatility / (2.0 * sqrtT);
+            // The density part of charm, shared by calls and puts.
+            double deltaDecay = -qdf * pdfD1 * (2.0 * (r - q) * t - d2 * volSqrtT) / (2.0 * t * volSqrtT);
+
+            if (isCall) {
+                price = discountedSpot * nD1 - discountedStrike * nD2;
+                delta = qdf * nD1;
+                theta = decay - r * discountedStrike * nD2 + q * discountedSpot * nD1;
+                rho = discountedStrike * t * nD2;
+                charm = deltaDecay + q * qdf * nD1;
+            } else { // PUT
+                price = discountedStrike * (1.0 - nD2) - discountedSpot * (1.0 - nD1);
+                delta = qdf * (nD1 - 1.0);
+                theta = decay + r * discountedStrike * (1.0 - nD2) - q * discountedSpot * (1.0 - nD1);
+                rho = -discountedStrike * t * (1.0 - nD2);
+                charm = deltaDecay - q * qdf * (1.0 - nD1);
+            }
+        }
+
+        if (holder != null) {
+            holder.set(price, delta, gamma, vega, theta, rho, speed, vanna, volga, charm);
+        } else {
+            out[offset + PRICE] = price;
+            out[offset + DELTA] = delta;
+            out[offset + GAMMA] = gamma;
+            out[offset + VEGA] = vega;
+            out[offset + THETA] = theta;
+            out[offset + RHO] = rho;
+            out[offset + SPEED] = speed;
+            out[offset + VANNA] = vanna;
+            out[offset + VOLGA] = volga;
+            out[offset + CHARM] = charm;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.portfolio.util;
+
+/**
+ * Heston's stochastic volatility model: each stock's variance follows a
+ * mean-reverting square-root process whose shocks are correlated with the
+ * price's.
+ * <p>
+ * Stepped with the full-truncation Euler scheme in log price: negative
+ * variance is floored at zero wherever it enters the drift or diffusion, which
+ * keeps the scheme stable without biasing it upwards. A step needs one extra
+ * draw per stock, for the variance, and one {@code sqrt} per stock.
+ */
+public final class HestonProcess implements PriceProcess {
+    private final double[] prices;
+    private final double[] variance;
+    private final double[] mu;
+    private final double timeUnit;
+    private final double minPrice;
+    private final double maxPrice;
+    private final double meanReversion;
+    private final double longRunVariance;
+    private final double volOfVol;
+    private final double correlation;
+    private final double orthogonal;
+
+    /**
+     * @param initialPrices   The starting prices.
+     * @param mu              Each stock's expected return per time unit.
+     * @param sigma           Each stock's starting volatility per time unit.
+     * @param timeUnit        The length of the time unit in {@code dt} units.
+     * @param minPrice        The lowest price a step may produce.
+     * @param maxPrice        The highest price a step may produce.
+     * @param meanReversion   The speed at which variance reverts (kappa).
+     * @param longRunVariance The variance it reverts to (theta).
+     * @param volOfVol        The volatility of variance (xi).
+     * @param correlation     The correlation of price and variance shocks (rho).
+     * @throws IllegalArgumentException if the correlation is outside [-1, 1].
+     */
+    public HestonProcess(double[] initialPrices, double[] mu, double[] sigma, double timeUnit, double minPrice,
+            double maxPrice, double meanReversion, double longRunVariance, double volOfVol, double correlation) {
+        if (!(Math.abs(correlation) <= 1)) {
+            throw new IllegalArgumentException("Correlation must be within [-1, 1]: " + correlation);
+        }
+        int n = initialPrices.length;
+        this.prices = initialPrices.clone();
+        this.mu = mu.clone();
+        this.variance = new double[n];
+        for (int i = 0; i < n; i++) {
+            variance[i] = sigma[i] * sigma[i];
+        }
+        this.timeUnit = timeUnit;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.meanReversion = meanReversion;
+        this.longRunVariance = longRunVariance;
+        this.volOfVol = volOfVol;
+        this.correlation = correlation;
+        this.orthogonal = Math.sqrt(1 - correlation * correlation);
+    }
+
+    @Override
+    public int extraDraws() {
+        return 1;
+    }
+
+    @Override
+    public int size() {
+        return prices.length;
+    }
+
+    @Override
+    public void step(int from, int to, double[] shocks, double[] extra, double dt) {
+        double t = dt / timeUnit;
+        for (int i = from; i < to; i++) {
+            int k = i - from;
+            double v = variance[i] > 0 ? variance[i] : 0;
+            double root = Math.sqrt(v * t);
+            double shock = shocks[k];
+            double next = prices[i] * GbmStepper.exp((mu[i] - 0.5 * v) * t + root * shock);
+            prices[i] = next < minPrice ? minPrice : next > maxPrice ? maxPrice : next;
+            variance[i] += meanReversion * (longRunVariance - v) * t
+                    + volOfVol * root * (correlation * shock + orthogonal * extra[k]);
+        }
+    }
+
+    @Override
+    public double price(int i) {
+        return prices[i];
+    }
+
+    /**
+     * @return The current variance of stock {@code i}, per time unit.
+     */
+    public double variance(int i) {
+        return variance[i];
+    }
+}
@@ -0,0 +1,197 @@
+package com.portfolio.util;
+
+/**
+ * Inverts the Black-Scholes price for a struct-of-arrays block of options,
+ * either at the rate and dividend yield of each option's
+ * {@link PricingContext} or, as
+ * {@link BlackScholesCalculator#price(boolean, double, double, double, double)},
+ * at the flat risk-free rate.
+ * <p>
+ * Each option is solved with Newton's method on vega, safeguarded by a
+ * shrinking volatility bracket: whenever a Newton step would leave the bracket
+ * (or vega vanishes deep in- or out-of-the-money) a bisection step is taken
+ * instead. A solve that still misses the tolerance within the iteration cap,
+ * or whose bracket closes on one of the volatility bounds, reports
+ * {@code NaN} and a negative iteration count rather than an unverified
+ * guess. The volatility array is both input and
+ * output: a positive value on entry is used as the warm start, which is
+ * typically the previous tick's implied volatility and converges in one or
+ * two iterations. The solver holds no mutable state and is safe to share.
+ */
+public final class ImpliedVolatilitySolver {
+    private static final double RISK_FREE_RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final double MIN_VOLATILITY = 1e-4;
+    private static final double MAX_VOLATILITY = 5.0;
+    private static final double DEFAULT_GUESS = 0.3;
+
+    private final double priceTolerance;
+    private final int maxIterations;
+
+    /**
+     * Creates a solver accurate to 1e-10 relative price error within 100
+     * iterations, enough for far out-of-the-money options whose Newton steps
+     * fall back to bisection.
+     */
+    public ImpliedVolatilitySolver() {
+        this(1e-10, 100);
+    }
+
+    /**
+     * @param priceTolerance Relative price error at which a solve stops.
+     * @param maxIterations  Iteration cap per option.
+     */
+    public ImpliedVolatilitySolver(double priceTolerance, int maxIterations) {
+        if (priceTolerance <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("Tolerance and iteration cap must be positive");
+        }
+        this.priceTolerance = priceTolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Solves implied volatility for the options in {@code [from, to)} at the
+     * flat {@link BlackScholesCalculator#RISK_FREE_RATE} with no dividends.
+     * Options whose market price violates the no-arbitrage bounds, or which have
+     * expired, get {@code NaN} and an iteration count of zero; options that do
+     * not converge within the iteration cap get {@code NaN} and the negated
+     * cap, and those whose price needs a volatility outside
+     * {@code [1e-4, 5]} get {@code NaN} and the negated iterations spent
+     * finding that out.
+     * 
+     * @param marketPrice  The observed option prices.
+     * @param spot         The underlying price for each option.
+     * @param strike       The strike price for each option.
+     * @param timeToExpiry The time to expiry in years for each option.
+     * @param isCall       {@code true} for calls, {@code false} for puts.
+     * @param volatility   On entry the warm-start guesses (values {@code <= 0}
+     *                     or {@code NaN} mean "no guess"); on exit the implied
+     *                     volatilities.
+     * @param iterations   Receives the number of iterations used per option; may
+     *                     be {@code null}.
+     * @param from         The first index to solve (inclusive).
+     * @param to           The last index to solve (exclusive).
+     * @return The total number of iterations used for the block.
+     */
+    public long solve(double[] marketPrice, double[] spot, double[] strike, double[] timeToExpiry,
+            boolean[] isCall, double[] volatility, int[] iterations, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            double t = timeToExpiry[i];
+            int used = solveOne(marketPrice[i], spot[i], strike[i], t, RISK_FREE_RATE, 0.0,
+                    Math.exp(-RISK_FREE_RATE * Math.max(0.0, t)), 1.0, isCall[i], volatility, i);
+            if (iterations != null) {
+                iterations[i] = used;
+            }
+            total += Math.abs(used);
+        }
+        return total;
+    }
+
+    /**
+     * Solves implied volatility for every option in the given arrays.
+     * 
+     * @see #solve(double[], double[], double[], double[], boolean[], double[], int[], int, int)
+     */
+    public long solve(double[] marketPrice, double[] spot, double[] strike, double[] timeToExpiry,
+            boolean[] isCall, double[] volatility, int[] iterations) {
+        return solve(marketPrice, spot, strike, timeToExpiry, isCall, volatility, iterations, 0, marketPrice.length);
+    }
+
+    /**
+     * Solves implied volatility for the options in {@code [from, to)}, each at
+     * the rate and dividend yield to its expiry. Failures are reported as by
+     * {@link #solve(double[], double[], double[], double[], boolean[], double[], int[], int, int)}.
+     * 
+     * @param contexts The pricing context of each option, for its time to
+     *                 expiry, rate and dividend yield.
+     * @see #solve(double[], double[], double[], double[], boolean[], double[], int[], int, int)
+     */
+    public long solve(double[] marketPrice, double[] spot, double[] strike, PricingContext[] contexts,
+            boolean[] isCall, double[] volatility, int[] iterations, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            var context = contexts[i];
+            int used = solveOne(marketPrice[i], spot[i], strike[i], context.timeToExpiryYears(), context.rate(),
+                    context.dividendYield(), context.discountFactor(), context.dividendDiscountFactor(), isCall[i],
+                    volatility, i);
+            if (iterations != null) {
+                iterations[i] = used;
+            }
+            total += Math.abs(used);
+        }
+        return total;
+    }
+
+    /**
+     * Solves implied volatility for every option in the given arrays, each at
+     * the rate and dividend yield of its pricing context.
+     * 
+     * @see #solve(double[], double[], double[], PricingContext[], boolean[], double[], int[], int, int)
+     */
+    public long solve(double[] marketPrice, double[] spot, double[] strike, PricingContext[] contexts,
+            boolean[] isCall, double[] volatility, int[] iterations) {
+        return solve(marketPrice, spot, strike, contexts, isCall, volatility, iterations, 0, marketPrice.length);
+    }
+
+    // r and q are the rate and dividend yield to expiry; df and qdf their discount factors.
+    private int solveOne(double target, double s, double k, double t, double r, double q, double df, double qdf,
+            boolean call, double[] volatility, int index) {
+        double discountedStrike = k * df;
+        double discountedSpot = s * qdf;
+        double lowerBound = Math.max(0, call ? discountedSpot - discountedStrike : discountedStrike - discountedSpot);
+        double upperBound = call ? discountedSpot : discountedStrike;
+        if (!(t > 0) || !(target > lowerBound) || !(target < upperBound)) {
+            volatility[index] = Double.NaN;
+            return 0;
+        }
+
+        double sqrtT = Math.sqrt(t);
+        // log(F / K), the forward's moneyness.
+        double logMoneyness = Math.log(s / k) + (r - q) * t;
+        double lo = MIN_VOLATILITY;
+        double hi = MAX_VOLATILITY;
+        double v = volatility[index];
+        if (!(v > lo && v < hi)) {
+            // Manaster-Koehler start: the inflection point of price in volatility.
+            v = Math.sqrt(2.0 * Math.abs(logMoneyness) / t);
+            if (!(v > lo && v < hi)) {
+                v = DEFAULT_GUESS;
+            }
+        }
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            double volSqrtT = v * sqrtT;
+            double d1 = (logMoneyness + 0.5 * v * v * t) / volSqrtT;
+            double d2 = d1 - volSqrtT;
+            double price = call
+                    ? discountedSpot * BlackScholesCalculator.cdf(d1)
+                            - discountedStrike * BlackScholesCalculator.cdf(d2)
+                    : discountedStrike * BlackScholesCalculator.cdf(-d2)
+                            - discountedSpot * BlackScholesCalculator.cdf(-d1);
+            double diff = price - target;
+            if (Math.abs(diff) <= priceTolerance * target) {
+                volatility[index] = v;
+                return iteration;
+            }
+
+            // Price is increasing in volatility, so the sign of the error tightens the bracket.
+            if (diff > 0) {
+                hi = v;
+            } else {
+                lo = v;
+            }
+            if (hi - lo <= 1e-15) {
+                // A bracket that shrank from both ends has closed on the root; one that closed on a
+                // bound means the price needs a volatility outside [MIN_VOLATILITY, MAX_VOLATILITY].
+                boolean bracketed = lo > MIN_VOLATILITY && hi < MAX_VOLATILITY;
+                volatility[index] = bracketed ? v : Double.NaN;
+                return bracketed ? iteration : -iteration;
+            }
+            double vega = discountedSpot * BlackScholesCalculator.pdf(d1) * sqrtT;
+            double next = v - diff / vega;
+            v = next > lo && next < hi ? next : 0.5 * (lo + hi);
+        }
+        volatility[index] = Double.NaN;
+        return -maxIterations;
+    }
+}
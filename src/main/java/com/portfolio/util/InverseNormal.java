@@ -0,0 +1,51 @@
+package com.portfolio.util;
+
+/**
+ * A final utility class for the inverse of the standard normal cumulative
+ * distribution function, used to turn uniform quasi-random points into
+ * Gaussian draws.
+ * <p>
+ * Uses Acklam's rational approximation: a central region and two tails, one
+ * division and at most one {@code log} and {@code sqrt} per call. The relative
+ * error is below 1.15e-9, far below any Monte Carlo sampling error.
+ */
+public final class InverseNormal {
+    private static final double P_LOW = 0.02425;
+    private static final double P_HIGH = 1 - P_LOW;
+
+    private static final double A1 = -3.969683028665376e+01, A2 = 2.209460984245205e+02,
+            A3 = -2.759285104469687e+02, A4 = 1.383577518672690e+02, A5 = -3.066479806614716e+01,
+            A6 = 2.506628277459239e+00;
+    private static final double B1 = -5.447609879822406e+01, B2 = 1.615858368580409e+02,
+            B3 = -1.556989798598866e+02, B4 = 6.680131188771972e+01, B5 = -1.328068155288572e+01;
+    private static final double C1 = -7.784894002430293e-03, C2 = -3.223964580411365e-01,
+            C3 = -2.400758277161838e+00, C4 = -2.549732539343734e+00, C5 = 4.374664141464968e+00,
+            C6 = 2.938163982698783e+00;
+    private static final double D1 = 7.784695709041462e-03, D2 = 3.224671290700398e-01,
+            D3 = 2.445134137142996e+00, D4 = 3.754408661907416e+00;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private InverseNormal() {
+    }
+
+    /**
+     * @param p A probability strictly between 0 and 1.
+     * @return The value z such that P(X <= z) = p for a standard normal X.
+     */
+    public static double quantile(double p) {
+        if (p < P_LOW) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((C1 * q + C2) * q + C3) * q + C4) * q + C5) * q + C6)
+                    / ((((D1 * q + D2) * q + D3) * q + D4) * q + 1);
+        }
+        if (p > P_HIGH) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((C1 * q + C2) * q + C3) * q + C4) * q + C5) * q + C6)
+                    / ((((D1 * q + D2) * q + D3) * q + D4) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A1 * r + A2) * r + A3) * r + A4) * r + A5) * r + A6) * q
+                / (((((B1 * r + B2) * r + B3) * r + B4) * r + B5) * r + 1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.portfolio.util;
+
+/**
+ * Merton's jump-diffusion: geometric Brownian motion plus log-normally
+ * distributed jumps arriving as a Poisson process. The drift is compensated
+ * by {@code intensity * (E[e^J] - 1)}, so each stock's expected return stays
+ * {@code mu}.
+ * <p>
+ * Jumps are rare at tick-sized {@code dt}, so the model needs no extra draws
+ * per step. Each stock keeps the time left until its next jump, drawn from the
+ * exponential distribution of the Poisson process's waiting times, and a step
+ * only counts it down; a stock without a jump costs one subtraction more than
+ * GBM. Only when the clock runs out does the stock draw the jump's size and
+ * the next waiting time, from a SplitMix64 state of its own, so the jumps do
+ * not depend on how the group is split between threads. The number of jumps
+ * in a step is exactly Poisson for any {@code dt}.
+ */
+public final class MertonJumpDiffusion implements PriceProcess {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final double[] prices;
+    private final double[] drift;
+    private final double[] diffusion;
+    // The time left until each stock's next jump, in dt units.
+    private final double[] untilJump;
+    // Each stock's random state, advanced only when it jumps.
+    private final long[] random;
+    private final double minPrice;
+    private final double maxPrice;
+    // The mean waiting time between jumps, in dt units.
+    private final double meanWait;
+    private final double jumpMean;
+    private final double jumpVolatility;
+
+    /**
+     * @param initialPrices  The starting prices.
+     * @param mu             Each stock's expected return per time unit.
+     * @param sigma          Each stock's diffusive volatility per time unit.
+     * @param timeUnit       The length of the time unit in {@code dt} units.
+     * @param minPrice       The lowest price a step may produce.
+     * @param maxPrice       The highest price a step may produce.
+     * @param intensity      Expected jumps per time unit.
+     * @param jumpMean       The mean of the log jump size.
+     * @param jumpVolatility The standard deviation of the log jump size.
+     * @param seed           Seeds the jump times and sizes.
+     */
+    public MertonJumpDiffusion(double[] initialPrices, double[] mu, double[] sigma, double timeUnit,
+            double minPrice, double maxPrice, double intensity, double jumpMean, double jumpVolatility, long seed) {
+        int n = initialPrices.length;
+        this.prices = initialPrices.clone();
+        this.drift = new double[n];
+        this.diffusion = new double[n];
+        this.untilJump = new double[n];
+        this.random = new long[n];
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.meanWait = timeUnit / intensity;
+        this.jumpMean = jumpMean;
+        this.jumpVolatility = jumpVolatility;
+        double compensator = intensity * (Math.exp(jumpMean + 0.5 * jumpVolatility * jumpVolatility) - 1);
+        double sqrtUnit = Math.sqrt(timeUnit);
+        for (int i = 0; i < n; i++) {
+            drift[i] = (mu[i] - 0.5 * sigma[i] * sigma[i] - compensator) / timeUnit;
+            diffusion[i] = sigma[i] / sqrtUnit;
+            random[i] = mix(seed + GOLDEN_GAMMA * (i + 1));
+            untilJump[i] = nextWait(i);
+        }
+    }
+
+    @Override
+    public int extraDraws() {
+        return 0;
+    }
+
+    @Override
+    public int size() {
+        return prices.length;
+    }
+
+    @Override
+    public void step(int from, int to, double[] shocks, double[] extra, double dt) {
+        double sqrtDt = Math.sqrt(dt);
+        for (int i = from; i < to; i++) {
+            double x = drift[i] * dt + diffusion[i] * sqrtDt * shocks[i - from];
+            if ((untilJump[i] -= dt) <= 0) {
+                x += jumps(i);
+            }
+            double next = prices[i] * GbmStepper.exp(x);
+            prices[i] = next < minPrice ? minPrice : next > maxPrice ? maxPrice : next;
+        }
+    }
+
+    // Takes every jump that has come due on stock i and returns their total log size.
+    private double jumps(int i) {
+        int n = 0;
+        do {
+            n++;
+            untilJump[i] += nextWait(i);
+        } while (untilJump[i] <= 0);
+        return n * jumpMean + jumpVolatility * Math.sqrt(n) * InverseNormal.quantile(nextUniform(i));
+    }
+
+    // An exponential waiting time with mean meanWait (infinite at zero intensity).
+    private double nextWait(int i) {
+        return -meanWait * Math.log(nextUniform(i));
+    }
+
+    // Uniform on (0, 1), from stock i's SplitMix64 state.
+    private double nextUniform(int i) {
+        return ((mix(random[i] += GOLDEN_GAMMA) >>> 11) + 0.5) * 0x1p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public double price(int i) {
+        return prices[i];
+    }
+}
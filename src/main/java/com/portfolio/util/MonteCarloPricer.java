@@ -0,0 +1,170 @@
+package com.portfolio.util;
+
+import java.util.stream.IntStream;
+
+/**
+ * A final utility class pricing terminal payoffs by Monte Carlo simulation of
+ * geometric Brownian motion under the risk-neutral measure.
+ * <p>
+ * Paths are simulated in fixed-size blocks on the common
+ * {@link java.util.concurrent.ForkJoinPool}. Each block opens its own stream of
+ * the {@link GaussianSource} at its first path, and block sums are combined in
+ * block order. The result for a given source is therefore bit-for-bit
+ * identical whatever the number of worker threads.
+ * <p>
+ * Two variance reduction techniques are available: antithetic variates, and a
+ * control variate on a vanilla option whose closed-form price comes from
+ * {@link BlackScholesCalculator}.
+ */
+public final class MonteCarloPricer {
+    private static final double RISK_FREE_RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final int BLOCK_SIZE = 16_384;
+    // Per-block running sums: payoff, payoff^2, control, control^2, payoff * control.
+    private static final int SUMS = 5;
+
+    // Private constructor to prevent instantiation of this utility class.
+    private MonteCarloPricer() {
+    }
+
+    /**
+     * Simulation settings.
+     * 
+     * @param paths      The number of samples to draw. With antithetic variates
+     *                   each sample is a pair of mirrored paths.
+     * @param seed       The seed of the default pseudo-random source.
+     * @param antithetic Whether to pair every path with its mirror image.
+     */
+    public record Settings(long paths, long seed, boolean antithetic) {
+    }
+
+    /**
+     * A vanilla option used as a control variate. Its Monte Carlo payoff is
+     * compared with its closed-form price to correct the estimate.
+     */
+    public record ControlVariate(boolean isCall, double strike) {
+    }
+
+    /**
+     * The outcome of a simulation.
+     * 
+     * @param price          The discounted price estimate.
+     * @param standardError  The standard error of the estimate.
+     * @param paths          The number of GBM paths simulated.
+     * @param pathsPerSecond The simulation throughput.
+     */
+    public record Result(double price, double standardError, long paths, double pathsPerSecond) {
+    }
+
+    /**
+     * Prices a terminal payoff with pseudo-random draws seeded from the
+     * settings.
+     * 
+     * @param payoff            The payoff to price.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @param control           The control variate, or {@code null} for none.
+     * @param settings          The simulation settings.
+     * @return The price, its standard error and the throughput.
+     */
+    public static Result price(TerminalPayoff payoff, double currentStockPrice, double volatility,
+            double timeToExpiryYears, ControlVariate control, Settings settings) {
+        return price(payoff, currentStockPrice, volatility, timeToExpiryYears, control, settings,
+                GaussianSource.pseudoRandom(settings.seed()));
+    }
+
+    /**
+     * Prices a terminal payoff with draws from the given source. With a
+     * quasi-random source the reported standard error treats the points as
+     * independent and overstates the true error; estimate it across several
+     * seeds instead.
+     * 
+     * @param payoff            The payoff to price.
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param volatility        The volatility of the underlying stock.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @param control           The control variate, or {@code null} for none.
+     * @param settings          The simulation settings.
+     * @param source            The source of the Gaussian draws.
+     * @return The price, its standard error and the throughput.
+     */
+    public static Result price(TerminalPayoff payoff, double currentStockPrice, double volatility,
+            double timeToExpiryYears, ControlVariate control, Settings settings, GaussianSource source) {
+        long start = System.nanoTime();
+        int blocks = (int) ((settings.paths() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+
+        double drift = (RISK_FREE_RATE - 0.5 * volatility * volatility) * timeToExpiryYears;
+        double diffusion = volatility * Math.sqrt(timeToExpiryYears);
+        double[] sums = new double[blocks * SUMS];
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            var draws = source.open((long) b * BLOCK_SIZE, 1);
+            double[] draw = new double[1];
+            long n = Math.min(BLOCK_SIZE, settings.paths() - (long) b * BLOCK_SIZE);
+            double sy = 0, syy = 0, sc = 0, scc = 0, syc = 0;
+            for (long i = 0; i < n; i++) {
+                draws.next(draw);
+                double z = draw[0];
+                double up = currentStockPrice * Math.exp(drift + diffusion * z);
+                double y = payoff.payoff(up);
+                double c = control == null ? 0 : vanilla(control, up);
+                if (settings.antithetic()) {
+                    double down = currentStockPrice * Math.exp(drift - diffusion * z);
+                    y = 0.5 * (y + payoff.payoff(down));
+                    c = control == null ? 0 : 0.5 * (c + vanilla(control, down));
+                }
+                sy += y;
+                syy += y * y;
+                sc += c;
+                scc += c * c;
+                syc += y * c;
+            }
+            int offset = b * SUMS;
+            sums[offset] = sy;
+            sums[offset + 1] = syy;
+            sums[offset + 2] = sc;
+            sums[offset + 3] = scc;
+            sums[offset + 4] = syc;
+        });
+
+        double sy = 0, syy = 0, sc = 0, scc = 0, syc = 0;
+        for (int b = 0; b < blocks; b++) {
+            int offset = b * SUMS;
+            sy += sums[offset];
+            syy += sums[offset + 1];
+            sc += sums[offset + 2];
+            scc += sums[offset + 3];
+            syc += sums[offset + 4];
+        }
+
+        double n = settings.paths();
+        double meanY = sy / n;
+        double varY = (syy - n * meanY * meanY) / (n - 1);
+        double mean = meanY;
+        double variance = varY;
+        if (control != null) {
+            double meanC = sc / n;
+            double varC = (scc - n * meanC * meanC) / (n - 1);
+            double cov = (syc - n * meanY * meanC) / (n - 1);
+            if (varC > 0) {
+                // The control's expected undiscounted payoff is its closed-form price grown at r.
+                double expectedC = BlackScholesCalculator.price(control.isCall(), currentStockPrice,
+                        control.strike(), volatility, timeToExpiryYears)
+                        * Math.exp(RISK_FREE_RATE * timeToExpiryYears);
+                double beta = cov / varC;
+                mean = meanY - beta * (meanC - expectedC);
+                variance = Math.max(0, varY - cov * cov / varC);
+            }
+        }
+
+        double discount = Math.exp(-RISK_FREE_RATE * timeToExpiryYears);
+        long simulatedPaths = settings.antithetic() ? 2 * settings.paths() : settings.paths();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(discount * mean, discount * Math.sqrt(variance / n), simulatedPaths,
+                simulatedPaths / seconds);
+    }
+
+    private static double vanilla(ControlVariate control, double terminalPrice) {
+        return Math.max(0, control.isCall() ? terminalPrice - control.strike() : control.strike() - terminalPrice);
+    }
+}
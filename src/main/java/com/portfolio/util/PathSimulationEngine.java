@@ -0,0 +1,489 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.BarrierType;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A final utility class pricing a book of path-dependent payoffs on one
+ * underlying from a single shared set of simulated GBM paths.
+ * <p>
+ * The paths follow deterministic term structures of carry and variance
+ * ({@link Dynamics}): each step takes the forward rate, dividend yield and
+ * variance between its two dates, so every expiry in the book sees its own
+ * rate, yield and total variance however far the longest one is.
+ * <p>
+ * Paths are generated in blocks on the common fork-join pool. Each path is
+ * stepped once and, at every distinct expiry in the book, its terminal price,
+ * running maximum, running minimum and running average are written to
+ * per-thread primitive arrays. Every payoff is then evaluated from those four
+ * numbers in O(1) per path, so adding contracts to the book costs almost
+ * nothing compared to simulating for each one. Monitoring is discrete, at the
+ * simulation steps. An expiry between two steps gets a partial step of its
+ * own, so each payoff is simulated to exactly the date it is discounted from,
+ * and its expiry counts as its last fixing without adding a fixing for the
+ * other payoffs. As with {@link MonteCarloPricer}, each block opens its own
+ * stream of the {@link GaussianSource} at its first path, so results do not
+ * depend on the number of threads.
+ * <p>
+ * Payoffs whose life started before today take a {@link PathHistory} of what
+ * they have already observed, which seeds their path statistics.
+ */
+public final class PathSimulationEngine {
+    private static final int BLOCK_SIZE = 1_024;
+    private static final ThreadLocal<Checkpoints> CHECKPOINTS = ThreadLocal.withInitial(Checkpoints::new);
+
+    // Private constructor to prevent instantiation of this utility class.
+    private PathSimulationEngine() {
+    }
+
+    /**
+     * Simulation settings.
+     * 
+     * @param paths        The number of paths shared by the whole book.
+     * @param stepsPerYear The monitoring frequency, e.g. 252 for daily.
+     * @param seed         The seed of the default pseudo-random source.
+     */
+    public record Settings(int paths, int stepsPerYear, long seed) {
+    }
+
+    /**
+     * The underlying's drift and volatility as functions of the time from
+     * today in years, both integrated from today.
+     */
+    public interface Dynamics {
+
+        /**
+         * @return The log of the forward growth to {@code t}, i.e.
+         *         {@code (r(t) - q(t)) * t} for a zero rate {@code r} and
+         *         dividend yield {@code q} to {@code t}.
+         */
+        double carry(double t);
+
+        /**
+         * @return The total variance to {@code t}, i.e. {@code sigma(t)^2 * t}
+         *         for the implied volatility {@code sigma} to {@code t}. Where
+         *         it decreases, the simulation holds it flat.
+         */
+        double variance(double t);
+
+        /**
+         * @return Constant rate, dividend yield and volatility.
+         */
+        static Dynamics flat(double volatility, double rate, double dividendYield) {
+            return new Dynamics() {
+                @Override
+                public double carry(double t) {
+                    return (rate - dividendYield) * t;
+                }
+
+                @Override
+                public double variance(double t) {
+                    return volatility * volatility * t;
+                }
+            };
+        }
+    }
+
+    /**
+     * A payoff evaluated from the path's statistics at the contract's expiry.
+     */
+    @FunctionalInterface
+    public interface PathPayoff {
+
+        /**
+         * @param terminal The underlying price at expiry.
+         * @param maximum  The highest monitored price, including today's spot.
+         * @param minimum  The lowest monitored price, including today's spot.
+         * @param average  The arithmetic average of the monitored prices after
+         *                 today, up to and including expiry.
+         * @return The undiscounted payoff.
+         */
+        double payoff(double terminal, double maximum, double minimum, double average);
+
+        /**
+         * @return The payoff of a vanilla option.
+         */
+        static PathPayoff vanilla(boolean isCall, double strike) {
+            double sign = isCall ? 1.0 : -1.0;
+            return (terminal, maximum, minimum, average) -> Math.max(0, sign * (terminal - strike));
+        }
+
+        /**
+         * @return The payoff of an arithmetic-average-price Asian option.
+         */
+        static PathPayoff asian(boolean isCall, double strike) {
+            double sign = isCall ? 1.0 : -1.0;
+            return (terminal, maximum, minimum, average) -> Math.max(0, sign * (average - strike));
+        }
+
+        /**
+         * @return The payoff of a barrier option with discrete monitoring.
+         */
+        static PathPayoff barrier(boolean isCall, double strike, BarrierType type, double level) {
+            double sign = isCall ? 1.0 : -1.0;
+            return switch (type) {
+                case UP_AND_OUT -> (terminal, maximum, minimum, average) -> maximum >= level ? 0.0
+                        : Math.max(0, sign * (terminal - strike));
+                case UP_AND_IN -> (terminal, maximum, minimum, average) -> maximum >= level
+                        ? Math.max(0, sign * (terminal - strike)) : 0.0;
+                case DOWN_AND_OUT -> (terminal, maximum, minimum, average) -> minimum <= level ? 0.0
+                        : Math.max(0, sign * (terminal - strike));
+                case DOWN_AND_IN -> (terminal, maximum, minimum, average) -> minimum <= level
+                        ? Math.max(0, sign * (terminal - strike)) : 0.0;
+            };
+        }
+    }
+
+    /**
+     * The part of each payoff's path observed before today: the running
+     * maximum and minimum of the underlying, the last price seen and the sum
+     * and count of the fixings already taken for the average. A payoff that
+     * has observed nothing starts from today's spot, as without a history.
+     * Not thread-safe.
+     */
+    public static final class PathHistory {
+        private final double[] maximum;
+        private final double[] minimum;
+        private final double[] last;
+        private final double[] fixingSum;
+        private final int[] fixings;
+
+        /**
+         * @param size The number of payoffs, none of which has observed anything.
+         */
+        public PathHistory(int size) {
+            maximum = new double[size];
+            minimum = new double[size];
+            last = new double[size];
+            fixingSum = new double[size];
+            fixings = new int[size];
+            Arrays.fill(maximum, Double.NEGATIVE_INFINITY);
+            Arrays.fill(minimum, Double.POSITIVE_INFINITY);
+            Arrays.fill(last, Double.NaN);
+        }
+
+        /**
+         * Records a price seen by payoff {@code index}, for its barriers.
+         */
+        public void observe(int index, double price) {
+            maximum[index] = Math.max(maximum[index], price);
+            minimum[index] = Math.min(minimum[index], price);
+            last[index] = price;
+        }
+
+        /**
+         * Records a price seen by payoff {@code index} that is also one of its
+         * averaging fixings.
+         */
+        public void fix(int index, double price) {
+            observe(index, price);
+            fixingSum[index] += price;
+            fixings[index]++;
+        }
+
+        public boolean observed(int index) {
+            return !Double.isNaN(last[index]);
+        }
+
+        public double maximum(int index) {
+            return maximum[index];
+        }
+
+        public double minimum(int index) {
+            return minimum[index];
+        }
+
+        public double last(int index) {
+            return last[index];
+        }
+
+        public double fixingSum(int index) {
+            return fixingSum[index];
+        }
+
+        public int fixings(int index) {
+            return fixings[index];
+        }
+    }
+
+    // Per-thread path statistics at each checkpoint, laid out [checkpoint * BLOCK_SIZE + path].
+    private static final class Checkpoints {
+        double[] terminal = new double[0];
+        double[] maximum = new double[0];
+        double[] minimum = new double[0];
+        double[] average = new double[0];
+        double[] draws = new double[0];
+
+        void ensureCapacity(int size, int steps) {
+            if (terminal.length < size) {
+                terminal = new double[size];
+                maximum = new double[size];
+                minimum = new double[size];
+                average = new double[size];
+            }
+            if (draws.length != steps) {
+                draws = new double[steps];
+            }
+        }
+    }
+
+    /**
+     * Prices every payoff in the book against one shared path set of
+     * pseudo-random draws seeded from the settings.
+     * 
+     * @see #price(double, double, double, double, PathPayoff[], double[],
+     *      double[], Settings, GaussianSource, double[])
+     */
+    public static void price(double currentStockPrice, double volatility, double rate, double dividendYield,
+            PathPayoff[] payoffs, double[] timeToExpiry, double[] discountFactor, Settings settings, double[] out) {
+        price(currentStockPrice, volatility, rate, dividendYield, payoffs, timeToExpiry, discountFactor, settings,
+                GaussianSource.pseudoRandom(settings.seed()), out);
+    }
+
+    /**
+     * Prices every payoff in the book against one shared path set with
+     * constant rate, dividend yield and volatility.
+     * 
+     * @see #price(double, Dynamics, PathPayoff[], double[], double[],
+     *      Settings, GaussianSource, double[])
+     */
+    public static void price(double currentStockPrice, double volatility, double rate, double dividendYield,
+            PathPayoff[] payoffs, double[] timeToExpiry, double[] discountFactor, Settings settings,
+            GaussianSource source, double[] out) {
+        price(currentStockPrice, Dynamics.flat(volatility, rate, dividendYield), payoffs, timeToExpiry,
+                discountFactor, settings, source, out);
+    }
+
+    /**
+     * Prices every payoff in the book against one shared path set of
+     * pseudo-random draws seeded from the settings.
+     * 
+     * @see #price(double, Dynamics, PathPayoff[], double[], double[],
+     *      Settings, GaussianSource, double[])
+     */
+    public static void price(double currentStockPrice, Dynamics dynamics, PathPayoff[] payoffs,
+            double[] timeToExpiry, double[] discountFactor, Settings settings, double[] out) {
+        price(currentStockPrice, dynamics, payoffs, timeToExpiry, discountFactor, settings,
+                GaussianSource.pseudoRandom(settings.seed()), out);
+    }
+
+    /**
+     * Prices every payoff in the book against one shared path set, for
+     * payoffs that have observed nothing before today.
+     * 
+     * @see #price(double, Dynamics, PathPayoff[], double[], double[],
+     *      PathHistory, Settings, GaussianSource, double[])
+     */
+    public static void price(double currentStockPrice, Dynamics dynamics, PathPayoff[] payoffs,
+            double[] timeToExpiry, double[] discountFactor, Settings settings, GaussianSource source, double[] out) {
+        price(currentStockPrice, dynamics, payoffs, timeToExpiry, discountFactor, null, settings, source, out);
+    }
+
+    /**
+     * Prices every payoff in the book against one shared path set. A payoff
+     * that has already expired is worth its payoff on what it observed, or on
+     * today's spot if it observed nothing.
+     * 
+     * @param currentStockPrice The current price of the underlying stock.
+     * @param dynamics          The term structures driving the simulation.
+     * @param payoffs           The payoffs to price.
+     * @param timeToExpiry      Each payoff's time to expiry in years.
+     * @param discountFactor    Each payoff's discount factor to expiry.
+     * @param history           What each payoff observed before today; may be
+     *                          {@code null} if none has observed anything.
+     * @param settings          The simulation settings.
+     * @param source            The source of the per-step Gaussian draws. Wrap
+     *                          quasi-random sources with
+     *                          {@link GaussianSource#withBrownianBridge()}.
+     * @param out               Receives the price of payoff {@code i} at index
+     *                          {@code i}.
+     */
+    public static void price(double currentStockPrice, Dynamics dynamics, PathPayoff[] payoffs,
+            double[] timeToExpiry, double[] discountFactor, PathHistory history, Settings settings,
+            GaussianSource source, double[] out) {
+        int count = payoffs.length;
+        double longest = 0;
+        for (int i = 0; i < count; i++) {
+            if (timeToExpiry[i] <= 0) {
+                out[i] = discountFactor[i] * expired(payoffs[i], currentStockPrice, history, i);
+            }
+            longest = Math.max(longest, timeToExpiry[i]);
+        }
+        if (longest <= 0) {
+            return;
+        }
+
+        double horizon = longest;
+        int steps = Math.max(1, (int) Math.ceil(horizon * settings.stepsPerYear()));
+        double dt = horizon / steps;
+
+        // Map each payoff to the date of its expiry, then to a dense checkpoint index.
+        double[] checkpointTimes = Arrays.stream(timeToExpiry).filter(t -> t > 0)
+                .map(t -> snap(t, steps, dt, horizon)).distinct().sorted().toArray();
+        int[] payoffCheckpoint = new int[count];
+        for (int i = 0; i < count; i++) {
+            payoffCheckpoint[i] = timeToExpiry[i] <= 0 ? -1
+                    : Arrays.binarySearch(checkpointTimes, snap(timeToExpiry[i], steps, dt, horizon));
+        }
+
+        double[] times = timeGrid(checkpointTimes, steps, dt, horizon);
+        int points = times.length;
+        boolean[] fixing = new boolean[points];
+        int[] checkpointAt = new int[points];
+        // The number of fixings each checkpoint's average is taken over.
+        int[] checkpointFixings = new int[checkpointTimes.length];
+        int fixings = 0;
+        for (int point = 0; point < points; point++) {
+            fixing[point] = isStep(times[point], steps, dt, horizon);
+            if (fixing[point]) {
+                fixings++;
+            }
+            checkpointAt[point] = Arrays.binarySearch(checkpointTimes, times[point]);
+            if (checkpointAt[point] >= 0) {
+                checkpointFixings[checkpointAt[point]] = fixing[point] ? fixings : fixings + 1;
+            } else {
+                checkpointAt[point] = -1;
+            }
+        }
+
+        int blocks = (settings.paths() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // Each point's log drift and volatility from the forward carry and variance since the previous one.
+        double[] drift = new double[points];
+        double[] diffusion = new double[points];
+        double carry = 0, variance = 0;
+        for (int point = 0; point < points; point++) {
+            double nextCarry = dynamics.carry(times[point]);
+            double nextVariance = Math.max(variance, dynamics.variance(times[point]));
+            drift[point] = nextCarry - carry - 0.5 * (nextVariance - variance);
+            diffusion[point] = Math.sqrt(nextVariance - variance);
+            carry = nextCarry;
+            variance = nextVariance;
+        }
+        double logSpot = Math.log(currentStockPrice);
+        double[] blockSums = new double[blocks * count];
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int n = Math.min(BLOCK_SIZE, settings.paths() - b * BLOCK_SIZE);
+            var cp = CHECKPOINTS.get();
+            cp.ensureCapacity(checkpointTimes.length * BLOCK_SIZE, points);
+            var draws = source.open((long) b * BLOCK_SIZE, points);
+
+            for (int p = 0; p < n; p++) {
+                draws.next(cp.draws);
+                double logS = logSpot;
+                double max = currentStockPrice, min = currentStockPrice, sum = 0;
+                int taken = 0;
+                for (int point = 0; point < points; point++) {
+                    logS += drift[point] + diffusion[point] * cp.draws[point];
+                    double s = Math.exp(logS);
+                    if (fixing[point]) {
+                        max = Math.max(max, s);
+                        min = Math.min(min, s);
+                        sum += s;
+                        taken++;
+                    }
+                    int checkpoint = checkpointAt[point];
+                    if (checkpoint >= 0) {
+                        // An expiry between steps is its own payoffs' last fixing.
+                        if (fixing[point]) {
+                            record(cp, checkpoint, p, s, max, min, sum / taken);
+                        } else {
+                            record(cp, checkpoint, p, s, Math.max(max, s), Math.min(min, s), (sum + s) / (taken + 1));
+                        }
+                    }
+                }
+            }
+
+            int offset = b * count;
+            for (int i = 0; i < count; i++) {
+                if (payoffCheckpoint[i] < 0) {
+                    continue;
+                }
+                var payoff = payoffs[i];
+                int base = payoffCheckpoint[i] * BLOCK_SIZE;
+                double total = 0;
+                if (history == null || !history.observed(i)) {
+                    for (int p = 0; p < n; p++) {
+                        total += payoff.payoff(cp.terminal[base + p], cp.maximum[base + p], cp.minimum[base + p],
+                                cp.average[base + p]);
+                    }
+                } else {
+                    // Continue the path from what the payoff has already observed.
+                    double seenMax = history.maximum(i);
+                    double seenMin = history.minimum(i);
+                    double seenSum = history.fixingSum(i);
+                    int pathFixings = checkpointFixings[payoffCheckpoint[i]];
+                    double allFixings = history.fixings(i) + pathFixings;
+                    for (int p = 0; p < n; p++) {
+                        total += payoff.payoff(cp.terminal[base + p], Math.max(seenMax, cp.maximum[base + p]),
+                                Math.min(seenMin, cp.minimum[base + p]),
+                                (seenSum + cp.average[base + p] * pathFixings) / allFixings);
+                    }
+                }
+                blockSums[offset + i] = total;
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            if (payoffCheckpoint[i] < 0) {
+                continue;
+            }
+            double total = 0;
+            for (int b = 0; b < blocks; b++) {
+                total += blockSums[b * count + i];
+            }
+            out[i] = discountFactor[i] * total / settings.paths();
+        }
+    }
+
+    // The payoff of an expired contract on its history, or on today's spot without one.
+    private static double expired(PathPayoff payoff, double spot, PathHistory history, int index) {
+        if (history == null || !history.observed(index)) {
+            return payoff.payoff(spot, spot, spot, spot);
+        }
+        double average = history.fixings(index) > 0 ? history.fixingSum(index) / history.fixings(index)
+                : history.last(index);
+        return payoff.payoff(history.last(index), history.maximum(index), history.minimum(index), average);
+    }
+
+    // The time of a step; the last step ends exactly at the horizon.
+    private static double stepTime(long step, int steps, double dt, double horizon) {
+        return step == steps ? horizon : step * dt;
+    }
+
+    // An expiry within a rounding error of a step is simulated at that step.
+    private static double snap(double t, int steps, double dt, double horizon) {
+        long step = Math.max(1, Math.min(steps, Math.round(t / dt)));
+        double stepTime = stepTime(step, steps, dt, horizon);
+        return Math.abs(t - stepTime) <= 1e-9 * dt ? stepTime : t;
+    }
+
+    private static boolean isStep(double t, int steps, double dt, double horizon) {
+        long step = Math.round(t / dt);
+        return step >= 1 && step <= steps && t == stepTime(step, steps, dt, horizon);
+    }
+
+    // Every step up to the horizon, plus each expiry that falls between two steps, in order.
+    private static double[] timeGrid(double[] checkpointTimes, int steps, double dt, double horizon) {
+        double[] between = Arrays.stream(checkpointTimes).filter(t -> !isStep(t, steps, dt, horizon)).toArray();
+        double[] times = new double[steps + between.length];
+        for (int step = 1; step <= steps; step++) {
+            times[step - 1] = stepTime(step, steps, dt, horizon);
+        }
+        System.arraycopy(between, 0, times, steps, between.length);
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static void record(Checkpoints cp, int checkpoint, int path, double terminal, double maximum,
+            double minimum, double average) {
+        int index = checkpoint * BLOCK_SIZE + path;
+        cp.terminal[index] = terminal;
+        cp.maximum[index] = maximum;
+        cp.minimum[index] = minimum;
+        cp.average[index] = average;
+    }
+}
@@ -0,0 +1,92 @@
+package com.portfolio.util;
+
+/**
+ * A stochastic model of stock prices that steps a whole group of stocks at
+ * once on primitive arrays.
+ * <p>
+ * Every stock gets one main shock per step, which the publisher may have
+ * correlated across the universe, plus {@link #extraDraws()} independent
+ * standard normal draws for the model's own randomness (variance). Rare
+ * events such as jumps are cheaper drawn by the model itself, from the seed
+ * it is created with, only when they happen. Implementations hold their state
+ * in arrays indexed by the stock's position in the group, must not allocate
+ * while stepping, and must allow disjoint ranges to be stepped from different
+ * threads.
+ */
+public interface PriceProcess {
+
+    /**
+     * Creates a process for one group of stocks. All rates are per
+     * {@code timeUnit}, measured in the same units as the {@code dt} passed
+     * to {@link PriceProcess#step}. {@code seed} seeds any randomness the
+     * process draws for itself; the same seed must give the same paths.
+     */
+    @FunctionalInterface
+    interface Factory {
+        PriceProcess create(double[] initialPrices, double[] mu, double[] sigma, double timeUnit, double minPrice,
+                double maxPrice, long seed);
+    }
+
+    /**
+     * @return The number of independent draws each stock needs per step, in
+     *         addition to its main shock.
+     */
+    int extraDraws();
+
+    /**
+     * @return The number of stocks in the group.
+     */
+    int size();
+
+    /**
+     * Advances stocks {@code from} (inclusive) to {@code to} (exclusive) by
+     * {@code dt}.
+     * 
+     * @param from   The first stock to step.
+     * @param to     One past the last stock to step.
+     * @param shocks The main shocks, {@code shocks[0]} for stock {@code from}.
+     * @param extra  The extra draws, {@link #extraDraws()} consecutive values
+     *               per stock, starting with stock {@code from}.
+     * @param dt     The elapsed time.
+     */
+    void step(int from, int to, double[] shocks, double[] extra, double dt);
+
+    /**
+     * @return The current price of stock {@code i} of the group.
+     */
+    double price(int i);
+
+    /**
+     * @return Geometric Brownian motion.
+     */
+    static Factory gbm() {
+        return (prices, mu, sigma, timeUnit, minPrice, maxPrice, seed) -> new GbmStepper(prices, mu, sigma,
+                timeUnit, minPrice, maxPrice);
+    }
+
+    /**
+     * @param intensity      Expected jumps per time unit.
+     * @param jumpMean       The mean of the log jump size.
+     * @param jumpVolatility The standard deviation of the log jump size.
+     * @return Merton's jump-diffusion.
+     */
+    static Factory merton(double intensity, double jumpMean, double jumpVolatility) {
+        return (prices, mu, sigma, timeUnit, minPrice, maxPrice, seed) -> new MertonJumpDiffusion(prices, mu,
+                sigma, timeUnit, minPrice, maxPrice, intensity, jumpMean, jumpVolatility, seed);
+    }
+
+    /**
+     * @param meanReversion   The speed at which variance reverts (kappa).
+     * @param longRunVariance The variance it reverts to (theta).
+     * @param volOfVol        The volatility of variance (xi).
+     * @param correlation     The correlation of price and variance shocks
+     *                        (rho).
+     * @return Heston's stochastic volatility model, starting each stock's
+     *         variance at its {@code sigma^2}. Its processes reject a
+     *         correlation outside [-1, 1].
+     */
+    static Factory heston(double meanReversion, double longRunVariance, double volOfVol, double correlation) {
+        return (prices, mu, sigma, timeUnit, minPrice, maxPrice, seed) -> new HestonProcess(prices, mu, sigma,
+                timeUnit, minPrice, maxPrice, meanReversion, longRunVariance, volOfVol, correlation);
+    }
+}
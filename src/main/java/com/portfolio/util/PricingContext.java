@@ -0,0 +1,55 @@
+package com.portfolio.util;
+
+/**
+ * An immutable record of the per-option Black-Scholes inputs that depend only
+ * on the valuation date, not on the market.
+ * Holding them lets the per-tick path skip date arithmetic, curve lookups and
+ * the {@code sqrt}/{@code exp}/{@code log} calls that only change at rollover.
+ * <p>
+ * {@code rate} and {@code dividendYield} are the continuously compounded
+ * risk-free rate and dividend yield to expiry; {@code discountFactor} and
+ * {@code dividendDiscountFactor} are {@code exp(-rate * T)} and
+ * {@code exp(-dividendYield * T)}.
+ */
+public record PricingContext(
+        double timeToExpiryYears,
+        double sqrtTimeToExpiry,
+        double rate,
+        double dividendYield,
+        double discountFactor,
+        double dividendDiscountFactor,
+        double logStrike) {
+
+    /**
+     * Builds the context for an option at the flat
+     * {@link BlackScholesCalculator#RISK_FREE_RATE} with no dividends.
+     * 
+     * @param strike            The strike price of the option.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @return The precomputed pricing context.
+     */
+    public static PricingContext of(double strike, double timeToExpiryYears) {
+        return of(strike, timeToExpiryYears, BlackScholesCalculator.RISK_FREE_RATE, 0.0);
+    }
+
+    /**
+     * Builds the context for an option.
+     * 
+     * @param strike            The strike price of the option.
+     * @param timeToExpiryYears The time to expiry in years.
+     * @param rate              The risk-free rate to expiry.
+     * @param dividendYield     The continuous dividend yield to expiry.
+     * @return The precomputed pricing context.
+     */
+    public static PricingContext of(double strike, double timeToExpiryYears, double rate, double dividendYield) {
+        double t = Math.max(0.0, timeToExpiryYears);
+        return new PricingContext(
+                timeToExpiryYears,
+                Math.sqrt(t),
+                rate,
+                dividendYield,
+                Math.exp(-rate * t),
+                Math.exp(-dividendYield * t),
+                Math.log(strike));
+    }
+}
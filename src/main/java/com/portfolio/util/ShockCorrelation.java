@@ -0,0 +1,38 @@
+package com.portfolio.util;
+
+/**
+ * Turns independent standard normal draws into correlated shocks for a
+ * universe of stocks, indexed in a fixed order.
+ * <p>
+ * A tick first draws one independent value per stock and
+ * {@link #commonFactors()} shared values, then asks for the correlated shocks
+ * of each partition of the universe. Partitions may be evaluated on
+ * different threads once all draws are in place.
+ */
+public interface ShockCorrelation {
+
+    /**
+     * @return The number of shared draws needed per tick, e.g. the factors of
+     *         a factor model.
+     */
+    int commonFactors();
+
+    /**
+     * @return The number of stocks covered.
+     */
+    int size();
+
+    /**
+     * Writes the correlated shocks of stocks {@code from} (inclusive) to
+     * {@code to} (exclusive).
+     * 
+     * @param independent One independent draw per stock, for the whole
+     *                    universe.
+     * @param common      The {@link #commonFactors()} shared draws.
+     * @param from        The first stock.
+     * @param to          One past the last stock.
+     * @param out         Receives the shocks, {@code out[0]} for stock
+     *                    {@code from}.
+     */
+    void correlate(double[] independent, double[] common, int from, int to, double[] out);
+}
@@ -0,0 +1,191 @@
+package com.portfolio.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A Sobol low-discrepancy sequence in up to several thousand dimensions,
+ * randomized with a digital shift.
+ * <p>
+ * Dimensions 2 to 13 use the initial direction numbers of Joe and Kuo (2008);
+ * later dimensions take their primitive polynomials in the same order and
+ * odd initial direction numbers drawn from a fixed seed. That still yields a
+ * valid Sobol sequence, and with a Brownian bridge the later dimensions carry
+ * little of a path's variance. Points are generated in Gray-code order, one
+ * XOR per dimension, and the sequence can be positioned at any index in
+ * O(dimension * 32), which lets parallel blocks each start at their own path.
+ * <p>
+ * The digital shift XORs every coordinate with a random 32-bit word derived
+ * from the seed. Each shifted sequence is still low-discrepancy, and averaging
+ * over several seeds gives an unbiased error estimate.
+ */
+public final class SobolSequence {
+    private static final int BITS = 32;
+    private static final double SCALE = 1.0 / (1L << BITS);
+    private static final long MAX_INDEX = (1L << BITS) - 1;
+
+    // Joe-Kuo rows for dimensions 2..13: degree s, coefficients a, then m_1..m_s.
+    private static final int[][] JOE_KUO = {
+            { 1, 0, 1 }, { 2, 1, 1, 3 }, { 3, 1, 1, 3, 1 }, { 3, 2, 1, 1, 1 }, { 4, 1, 1, 1, 3, 3 },
+            { 4, 4, 1, 3, 5, 13 }, { 5, 2, 1, 1, 5, 5, 17 }, { 5, 4, 1, 1, 5, 5, 5 }, { 5, 7, 1, 1, 7, 11, 19 },
+            { 5, 11, 1, 1, 5, 1, 1 }, { 5, 13, 1, 1, 1, 3, 11 }, { 5, 14, 1, 3, 5, 5, 31 } };
+
+    // Direction numbers per dimension, grown on demand and shared by all sequences.
+    private static final List<int[]> DIRECTIONS = new ArrayList<>();
+    private static long nextPolynomial = 0b10;
+
+    private final int dimension;
+    private final int[][] directions;
+    private final int[] shift;
+    private final int[] state;
+    private long index;
+
+    /**
+     * @param dimension The number of coordinates per point.
+     * @param seed      Selects the digital shift; equal seeds give equal points.
+     */
+    public SobolSequence(int dimension, long seed) {
+        this.dimension = dimension;
+        this.directions = directions(dimension);
+        this.shift = new int[dimension];
+        this.state = new int[dimension];
+        var random = new SplittableRandom(seed);
+        for (int d = 0; d < dimension; d++) {
+            shift[d] = random.nextInt();
+        }
+    }
+
+    /**
+     * Positions the sequence so the next call to {@link #next} returns point
+     * {@code index + 1}. The all-zero point 0 is never returned.
+     * 
+     * @param index The number of points to skip.
+     */
+    public void skipTo(long index) {
+        if (index < 0 || index >= MAX_INDEX) {
+            throw new IllegalArgumentException("Sobol index out of range: " + index);
+        }
+        this.index = index;
+        long gray = index ^ (index >>> 1);
+        for (int d = 0; d < dimension; d++) {
+            int x = 0;
+            for (int bit = 0; gray >>> bit != 0; bit++) {
+                if ((gray >>> bit & 1) != 0) {
+                    x ^= directions[d][bit];
+                }
+            }
+            state[d] = x;
+        }
+    }
+
+    /**
+     * Writes the next point to {@code u}, each coordinate strictly between 0
+     * and 1.
+     */
+    public void next(double[] u) {
+        if (++index > MAX_INDEX) {
+            throw new IllegalStateException("Sobol sequence exhausted");
+        }
+        int bit = Long.numberOfTrailingZeros(index);
+        for (int d = 0; d < dimension; d++) {
+            int x = state[d] ^ directions[d][bit];
+            state[d] = x;
+            u[d] = ((x ^ shift[d]) & 0xFFFFFFFFL) * SCALE + 0.5 * SCALE;
+        }
+    }
+
+    private static synchronized int[][] directions(int dimension) {
+        while (DIRECTIONS.size() < dimension) {
+            int[] v = new int[BITS];
+            if (DIRECTIONS.isEmpty()) {
+                // The first dimension is the van der Corput sequence.
+                for (int k = 0; k < BITS; k++) {
+                    v[k] = 1 << (BITS - 1 - k);
+                }
+            } else {
+                long polynomial = nextPrimitivePolynomial();
+                int s = 63 - Long.numberOfLeadingZeros(polynomial);
+                int a = (int) (polynomial >>> 1) & ((1 << (s - 1)) - 1);
+                int row = DIRECTIONS.size() - 1;
+                var random = new SplittableRandom(row);
+                for (int k = 0; k < s && k < BITS; k++) {
+                    int m = row < JOE_KUO.length ? JOE_KUO[row][2 + k] : (random.nextInt(1 << k) << 1) | 1;
+                    v[k] = m << (BITS - 1 - k);
+                }
+                for (int k = s; k < BITS; k++) {
+                    int x = v[k - s] ^ (v[k - s] >>> s);
+                    for (int i = 1; i < s; i++) {
+                        if ((a >>> (s - 1 - i) & 1) != 0) {
+                            x ^= v[k - i];
+                        }
+                    }
+                    v[k] = x;
+                }
+            }
+            DIRECTIONS.add(v);
+        }
+        return DIRECTIONS.subList(0, dimension).toArray(new int[0][]);
+    }
+
+    // Enumerates primitive polynomials over GF(2) by degree, then by coefficients.
+    private static long nextPrimitivePolynomial() {
+        while (true) {
+            long candidate = ++nextPolynomial;
+            if ((candidate & 1) != 0 && isPrimitive(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    // A polynomial of degree s is primitive iff x has multiplicative order 2^s - 1 modulo it.
+    private static boolean isPrimitive(long polynomial) {
+        int degree = 63 - Long.numberOfLeadingZeros(polynomial);
+        long order = (1L << degree) - 1;
+        if (powerOfX(order, polynomial, degree) != 1) {
+            return false;
+        }
+        long remaining = order;
+        for (long p = 2; p * p <= remaining; p++) {
+            if (remaining % p == 0) {
+                if (powerOfX(order / p, polynomial, degree) == 1) {
+                    return false;
+                }
+                while (remaining % p == 0) {
+                    remaining /= p;
+                }
+            }
+        }
+        // Whatever is left after trial division is itself a prime factor.
+        return remaining == 1 || powerOfX(order / remaining, polynomial, degree) != 1;
+    }
+
+    private static long powerOfX(long exponent, long polynomial, int degree) {
+        long result = 1;
+        long base = degree == 1 ? 0b10 ^ polynomial : 0b10;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = multiply(result, base, polynomial, degree);
+            }
+            base = multiply(base, base, polynomial, degree);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    // Carry-less multiplication modulo the polynomial.
+    private static long multiply(long x, long y, long polynomial, int degree) {
+        long product = 0;
+        while (y != 0) {
+            if ((y & 1) != 0) {
+                product ^= x;
+            }
+            y >>>= 1;
+            x <<= 1;
+            if ((x >>> degree & 1) != 0) {
+                x ^= polynomial;
+            }
+        }
+        return product;
+    }
+}
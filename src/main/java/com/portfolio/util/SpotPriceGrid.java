@@ -0,0 +1,99 @@
+package com.portfolio.util;
+
+/**
+ * An immutable table of an option's price, delta and gamma on an evenly
+ * spaced grid of spot prices, for a fixed volatility and pricing context.
+ * <p>
+ * Lookups use cubic Hermite interpolation: price is interpolated with delta as
+ * its slope and delta with gamma as its slope, so both are accurate to fourth
+ * order in the grid step without any transcendental calls.
+ */
+public final class SpotPriceGrid {
+    private final double lowerSpot;
+    private final double upperSpot;
+    private final double step;
+    private final double invStep;
+    private final double[] price;
+    private final double[] delta;
+    private final double[] gamma;
+
+    private SpotPriceGrid(double lowerSpot, double step, double[] price, double[] delta, double[] gamma) {
+        this.lowerSpot = lowerSpot;
+        this.upperSpot = lowerSpot + step * (price.length - 1);
+        this.step = step;
+        this.invStep = 1.0 / step;
+        this.price = price;
+        this.delta = delta;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Builds a grid over {@code [lowerSpot, upperSpot]}.
+     * 
+     * @param isCall            {@code true} for a call, {@code false} for a put.
+     * @param strike            The strike price of the option.
+     * @param volatility        The volatility of the underlying stock.
+     * @param context           The option's pricing context.
+     * @param lowerSpot         The lowest spot covered.
+     * @param upperSpot         The highest spot covered.
+     * @param nodes             The number of grid nodes, at least 2.
+     * @return The populated grid.
+     */
+    public static SpotPriceGrid build(boolean isCall, double strike, double volatility, PricingContext context,
+            double lowerSpot, double upperSpot, int nodes) {
+        if (nodes < 2 || !(lowerSpot > 0) || !(upperSpot > lowerSpot)) {
+            throw new IllegalArgumentException(
+                    "Invalid spot grid: [" + lowerSpot + ", " + upperSpot + "] x " + nodes);
+        }
+        double step = (upperSpot - lowerSpot) / (nodes - 1);
+        double[] price = new double[nodes];
+        double[] delta = new double[nodes];
+        double[] gamma = new double[nodes];
+        var greeks = new GreeksCalculator.Greeks();
+        for (int i = 0; i < nodes; i++) {
+            GreeksCalculator.calculate(isCall, lowerSpot + i * step, strike, volatility, context, greeks);
+            price[i] = greeks.price();
+            delta[i] = greeks.delta();
+            gamma[i] = greeks.gamma();
+        }
+        return new SpotPriceGrid(lowerSpot, step, price, delta, gamma);
+    }
+
+    /**
+     * @param spot A spot price.
+     * @return {@code true} if the grid covers the spot price.
+     */
+    public boolean covers(double spot) {
+        return spot >= lowerSpot && spot <= upperSpot;
+    }
+
+    /**
+     * Interpolates the price at a covered spot.
+     */
+    public double price(double spot) {
+        return interpolate(price, delta, spot);
+    }
+
+    /**
+     * Interpolates the delta at a covered spot.
+     */
+    public double delta(double spot) {
+        return interpolate(delta, gamma, spot);
+    }
+
+    private double interpolate(double[] values, double[] slopes, double spot) {
+        double x = (spot - lowerSpot) * invStep;
+        int i = Math.min((int) x, values.length - 2);
+        double u = x - i;
+        double y0 = values[i];
+        double y1 = values[i + 1];
+        double m0 = slopes[i] * step;
+        double m1 = slopes[i + 1] * step;
+
+        // Cubic Hermite basis in Horner form.
+        double dy = y1 - y0;
+        double c2 = 3 * dy - 2 * m0 - m1;
+        double c3 = m0 + m1 - 2 * dy;
+        return y0 + u * (m0 + u * (c2 + u * c3));
+    }
+}
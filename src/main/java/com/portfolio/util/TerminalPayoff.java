@@ -0,0 +1,28 @@
+package com.portfolio.util;
+
+/**
+ * A payoff that depends only on the underlying price at expiry.
+ */
+@FunctionalInterface
+public interface TerminalPayoff {
+
+    /**
+     * @param terminalPrice The underlying price at expiry.
+     * @return The undiscounted payoff.
+     */
+    double payoff(double terminalPrice);
+
+    /**
+     * @return The payoff of a vanilla call with the given strike.
+     */
+    static TerminalPayoff call(double strike) {
+        return s -> Math.max(0, s - strike);
+    }
+
+    /**
+     * @return The payoff of a vanilla put with the given strike.
+     */
+    static TerminalPayoff put(double strike) {
+        return s -> Math.max(0, strike - s);
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.util;
+
+/**
+ * Batch Black-Scholes pricing that uses SIMD lanes when the
+ * {@code jdk.incubator.vector} module is available and falls back to the
+ * scalar loop in {@link BlackScholesCalculator} otherwise.
+ * <p>
+ * Enable the vector path by starting the JVM with
+ * {@code --add-modules jdk.incubator.vector}. Vectorised prices agree with
+ * {@link BlackScholesCalculator#price(boolean, double, double, double, double)}
+ * to within {@link #TOLERANCE} (absolute), the difference coming only from the
+ * lane-wise {@code log}/{@code exp} implementations. When another
+ * {@link NormalCdf} engine is configured the scalar path is used.
+ */
+public final class VectorBlackScholes {
+    /** Maximum absolute difference from the scalar calculator. */
+    public static final double TOLERANCE = 1e-9;
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final BatchPricingKernel KERNEL = selectKernel();
+
+    // Private constructor to prevent instantiation of this utility class.
+    private VectorBlackScholes() {
+    }
+
+    /**
+     * @return {@code true} if pricing runs on the Vector API, {@code false} if
+     *         the scalar fallback is in use.
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarKernel);
+    }
+
+    /**
+     * Prices the options in {@code [from, to)}.
+     * 
+     * @see BlackScholesCalculator#calculate(double[], double[], double[], double[], boolean[], double[], int, int)
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out, int from, int to) {
+        KERNEL.calculate(spot, strike, volatility, timeToExpiry, isCall, out, from, to);
+    }
+
+    /**
+     * Prices every option in the given arrays.
+     */
+    public static void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out) {
+        calculate(spot, strike, volatility, timeToExpiry, isCall, out, 0, out.length);
+    }
+
+    private static BatchPricingKernel selectKernel() {
+        // The vector kernel implements the Abramowitz-Stegun CDF only.
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                && NormalCdf.configured() == NormalCdf.ABRAMOWITZ_STEGUN) {
+            try {
+                // Loaded reflectively so this class never links against the incubator module.
+                return (BatchPricingKernel) Class.forName("com.portfolio.util.VectorBlackScholesKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector API unavailable, using scalar Black-Scholes: " + e);
+            }
+        }
+        return new ScalarKernel();
+    }
+
+    private static final class ScalarKernel implements BatchPricingKernel {
+        @Override
+        public void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+                boolean[] isCall, double[] out, int from, int to) {
+            BlackScholesCalculator.calculate(spot, strike, volatility, timeToExpiry, isCall, out, from, to);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.portfolio.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Black-Scholes batch kernel built on the incubating Vector API.
+ * It evaluates the same formula and the same Abramowitz-Stegun CDF as
+ * {@link BlackScholesCalculator}, one SIMD lane per option.
+ * This class must only be loaded when {@code jdk.incubator.vector} is present;
+ * {@link VectorBlackScholes} takes care of that.
+ */
+final class VectorBlackScholesKernel implements BatchPricingKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double RISK_FREE_RATE = BlackScholesCalculator.RISK_FREE_RATE;
+
+    @Override
+    public void calculate(double[] spot, double[] strike, double[] volatility, double[] timeToExpiry,
+            boolean[] isCall, double[] out, int from, int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            var s = DoubleVector.fromArray(SPECIES, spot, i);
+            var k = DoubleVector.fromArray(SPECIES, strike, i);
+            var v = DoubleVector.fromArray(SPECIES, volatility, i);
+            var t = DoubleVector.fromArray(SPECIES, timeToExpiry, i);
+            VectorMask<Double> call = VectorMask.fromArray(SPECIES, isCall, i);
+
+            // +1 for calls and -1 for puts lets both payoffs share one expression:
+            // sign * (S * N(sign * d1) - K * e^(-rT) * N(sign * d2)).
+            var sign = DoubleVector.broadcast(SPECIES, -1.0).blend(1.0, call);
+
+            var volSqrtT = v.mul(t.lanewise(VectorOperators.SQRT));
+            var d1 = s.div(k).lanewise(VectorOperators.LOG)
+                    .add(v.mul(v).mul(0.5).add(RISK_FREE_RATE).mul(t))
+                    .div(volSqrtT);
+            var d2 = d1.sub(volSqrtT);
+            var discountedStrike = k.mul(t.mul(-RISK_FREE_RATE).lanewise(VectorOperators.EXP));
+
+            var price = s.mul(cdf(d1.mul(sign))).sub(discountedStrike.mul(cdf(d2.mul(sign)))).mul(sign);
+
+            // Expired options are worth their intrinsic value.
+            var intrinsic = s.sub(k).mul(sign).max(0.0);
+            price.blend(intrinsic, t.compare(VectorOperators.LE, 0.0)).intoArray(out, i);
+        }
+        BlackScholesCalculator.calculate(spot, strike, volatility, timeToExpiry, isCall, out, i, to);
+    }
+
+    /**
+     * Lane-wise version of {@link BlackScholesCalculator#cdf(double)}.
+     */
+    static DoubleVector cdf(DoubleVector z) {
+        var a = z.abs();
+        var t = DoubleVector.broadcast(SPECIES, 1.0).div(a.mul(0.2316419).add(1.0));
+        var b = z.mul(z).mul(-0.5).lanewise(VectorOperators.EXP).mul(0.39894228);
+        var n = t.mul(1.330274429).add(-1.821255978)
+                .mul(t).add(1.781477937)
+                .mul(t).add(-0.356563782)
+                .mul(t).add(0.319381530)
+                .mul(t);
+        n = b.mul(n).neg().add(1.0);
+        n = n.blend(n.neg().add(1.0), z.compare(VectorOperators.LT, 0.0));
+        n = n.blend(0.0, z.compare(VectorOperators.LT, -8.0));
+        return n.blend(1.0, z.compare(VectorOperators.GT, 8.0));
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * An immutable implied volatility surface for one underlying, defined on a
+ * grid of times to expiry (in years) by strikes.
+ * <p>
+ * Volatilities are stored row-major in a single flat array and looked up with
+ * bilinear interpolation; outside the grid the nearest edge value is used.
+ * Each axis carries a uniform bucket table that maps a coordinate straight to
+ * its grid segment, so a lookup is two array reads per axis and a handful of
+ * multiplications, with no search and no allocation.
+ */
+public final class VolatilitySurface {
+    private final double[] expiries;
+    private final double[] strikes;
+    // Reciprocal spacing of each axis segment, so lookups multiply instead of divide.
+    private final double[] invExpirySpacing;
+    private final double[] invStrikeSpacing;
+    private final Axis expiryAxis;
+    private final Axis strikeAxis;
+    // vols[e * strikes.length + k] is the volatility at expiries[e], strikes[k].
+    private final double[] vols;
+
+    /**
+     * @param expiries Strictly increasing times to expiry in years.
+     * @param strikes  Strictly increasing strikes.
+     * @param vols     Row-major volatilities, {@code expiries.length * strikes.length} long.
+     */
+    public VolatilitySurface(double[] expiries, double[] strikes, double[] vols) {
+        if (expiries.length == 0 || strikes.length == 0 || vols.length != expiries.length * strikes.length) {
+            throw new IllegalArgumentException("Volatility grid must be " + expiries.length + " x " + strikes.length);
+        }
+        if (!isStrictlyIncreasing(expiries) || !isStrictlyIncreasing(strikes)) {
+            throw new IllegalArgumentException("Volatility grid axes must be strictly increasing");
+        }
+        this.expiries = expiries.clone();
+        this.strikes = strikes.clone();
+        this.vols = vols.clone();
+        this.invExpirySpacing = inverseSpacing(this.expiries);
+        this.invStrikeSpacing = inverseSpacing(this.strikes);
+        this.expiryAxis = new Axis(this.expiries);
+        this.strikeAxis = new Axis(this.strikes);
+    }
+
+    /**
+     * @param timeToExpiryYears The option's time to expiry in years.
+     * @param strike            The option's strike.
+     * @return The interpolated volatility.
+     */
+    public double volatility(double timeToExpiryYears, double strike) {
+        int e = expiryAxis.segment(timeToExpiryYears);
+        int k = strikeAxis.segment(strike);
+        double we = weight(expiries, invExpirySpacing, e, timeToExpiryYears);
+        double wk = weight(strikes, invStrikeSpacing, k, strike);
+
+        int n = strikes.length;
+        int e1 = Math.min(e + 1, expiries.length - 1);
+        int k1 = Math.min(k + 1, n - 1);
+        double near = vols[e * n + k] + wk * (vols[e * n + k1] - vols[e * n + k]);
+        double far = vols[e1 * n + k] + wk * (vols[e1 * n + k1] - vols[e1 * n + k]);
+        return near + we * (far - near);
+    }
+
+    @Override
+    public String toString() {
+        return "VolatilitySurface[expiries=" + Arrays.toString(expiries) + ", strikes=" + Arrays.toString(strikes)
+                + "]";
+    }
+
+    // Maps a coordinate to the index of the last grid point at or below it (0
+    // below the grid). Buckets are no wider than the narrowest grid segment, up
+    // to a size cap, so the correction loop after the table read rarely runs.
+    private static final class Axis {
+        private static final int MAX_BUCKETS = 4096;
+
+        private final double[] points;
+        private final double origin;
+        private final double invBucketWidth;
+        private final int[] bucketSegment;
+
+        Axis(double[] points) {
+            this.points = points;
+            this.origin = points[0];
+            double span = points[points.length - 1] - origin;
+            double minSpacing = span;
+            for (int i = 1; i < points.length; i++) {
+                minSpacing = Math.min(minSpacing, points[i] - points[i - 1]);
+            }
+            int buckets = span > 0 ? (int) Math.min(MAX_BUCKETS, Math.ceil(span / minSpacing)) : 1;
+            this.invBucketWidth = span > 0 ? buckets / span : 0.0;
+            this.bucketSegment = new int[buckets + 1];
+            int segment = 0;
+            for (int b = 0; b <= buckets; b++) {
+                double start = origin + b / invBucketWidth;
+                while (segment + 1 < points.length && points[segment + 1] <= start) {
+                    segment++;
+                }
+                bucketSegment[b] = span > 0 ? segment : 0;
+            }
+        }
+
+        int segment(double x) {
+            // Plain comparisons rather than Math.min/max, which pay for NaN and -0.0 handling.
+            double position = (x - origin) * invBucketWidth;
+            int last = bucketSegment.length - 1;
+            int bucket = position <= 0 ? 0 : position >= last ? last : (int) position;
+            int segment = bucketSegment[bucket];
+            while (segment + 1 < points.length && points[segment + 1] <= x) {
+                segment++;
+            }
+            return segment;
+        }
+    }
+
+    // Interpolation weight of the upper neighbour, clamped to [0, 1] so the
+    // surface is flat beyond its edges.
+    private static double weight(double[] axis, double[] invSpacing, int i, double x) {
+        double w = (x - axis[i]) * invSpacing[i];
+        return w <= 0.0 ? 0.0 : w >= 1.0 ? 1.0 : w;
+    }
+
+    // The last entry is 0: beyond the final grid point there is no upper neighbour.
+    private static double[] inverseSpacing(double[] axis) {
+        double[] inv = new double[axis.length];
+        for (int i = 0; i + 1 < axis.length; i++) {
+            inv[i] = 1.0 / (axis[i + 1] - axis[i]);
+        }
+        return inv;
+    }
+
+    private static boolean isStrictlyIncreasing(double[] axis) {
+        for (int i = 1; i < axis.length; i++) {
+            if (!(axis[i] > axis[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
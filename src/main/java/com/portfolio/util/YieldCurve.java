@@ -0,0 +1,71 @@
+package com.portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * An immutable term structure of continuously compounded rates, used both for
+ * risk-free rates and for continuous dividend yields.
+ * Rates are interpolated linearly between tenors and held flat beyond them.
+ */
+public final class YieldCurve {
+    private final double[] tenors;
+    private final double[] rates;
+
+    /**
+     * @param tenors Strictly increasing tenors in years.
+     * @param rates  The continuously compounded rate at each tenor.
+     */
+    public YieldCurve(double[] tenors, double[] rates) {
+        if (tenors.length == 0 || tenors.length != rates.length) {
+            throw new IllegalArgumentException("A curve needs one rate per tenor");
+        }
+        for (int i = 1; i < tenors.length; i++) {
+            if (!(tenors[i] > tenors[i - 1])) {
+                throw new IllegalArgumentException("Curve tenors must be strictly increasing");
+            }
+        }
+        this.tenors = tenors.clone();
+        this.rates = rates.clone();
+    }
+
+    /**
+     * @return A curve with the same rate at every tenor.
+     */
+    public static YieldCurve flat(double rate) {
+        return new YieldCurve(new double[] { 1.0 }, new double[] { rate });
+    }
+
+    /**
+     * @param timeToExpiryYears The horizon in years.
+     * @return The continuously compounded rate to the horizon.
+     */
+    public double rate(double timeToExpiryYears) {
+        if (timeToExpiryYears <= tenors[0]) {
+            return rates[0];
+        }
+        int last = tenors.length - 1;
+        if (timeToExpiryYears >= tenors[last]) {
+            return rates[last];
+        }
+        int i = Arrays.binarySearch(tenors, timeToExpiryYears);
+        if (i >= 0) {
+            return rates[i];
+        }
+        int upper = -i - 1;
+        double w = (timeToExpiryYears - tenors[upper - 1]) / (tenors[upper] - tenors[upper - 1]);
+        return rates[upper - 1] + w * (rates[upper] - rates[upper - 1]);
+    }
+
+    /**
+     * @param timeToExpiryYears The horizon in years.
+     * @return {@code exp(-rate(T) * T)}.
+     */
+    public double discountFactor(double timeToExpiryYears) {
+        return Math.exp(-rate(timeToExpiryYears) * timeToExpiryYears);
+    }
+
+    @Override
+    public String toString() {
+        return "YieldCurve[tenors=" + Arrays.toString(tenors) + ", rates=" + Arrays.toString(rates) + "]";
+    }
+}
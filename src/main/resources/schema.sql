@@ -1,6 +1,14 @@
 -- schema.sql
 
 -- Drop tables if they exist to ensure a clean start
+DROP TABLE IF EXISTS PRICE_PROCESS_MEMBERS;
+DROP TABLE IF EXISTS PRICE_PROCESS;
+DROP TABLE IF EXISTS FACTOR_LOADINGS;
+DROP TABLE IF EXISTS CORRELATION;
+DROP TABLE IF EXISTS DIVIDEND_CURVE;
+DROP TABLE IF EXISTS RATE_CURVE;
+DROP TABLE IF EXISTS VOL_SURFACE;
+DROP TABLE IF EXISTS EXOTIC_OPTIONS;
 DROP TABLE IF EXISTS OPTIONS;
 DROP TABLE IF EXISTS STOCKS;
 
@@ -13,16 +21,94 @@ CREATE TABLE STOCKS (
     sigma DOUBLE -- Volatility for Brownian motion model
 );
 
--- Options Table to store static definitions of European options
+-- Options Table to store static definitions of European and American options
 CREATE TABLE OPTIONS (
     ticker VARCHAR(50) PRIMARY KEY,
     underlying_ticker VARCHAR(20) NOT NULL,
     option_type VARCHAR(4) NOT NULL, -- 'CALL' or 'PUT'
     strike_price DOUBLE NOT NULL,
     expiry_date DATE NOT NULL,
+    exercise_style VARCHAR(8) DEFAULT 'EUROPEAN' NOT NULL, -- 'EUROPEAN' or 'AMERICAN'
     FOREIGN KEY (underlying_ticker) REFERENCES STOCKS(ticker)
 );
 
+-- Path-dependent options, priced by Monte Carlo simulation
+CREATE TABLE EXOTIC_OPTIONS (
+    ticker VARCHAR(50) PRIMARY KEY,
+    underlying_ticker VARCHAR(20) NOT NULL,
+    option_type VARCHAR(4) NOT NULL, -- 'CALL' or 'PUT'
+    strike_price DOUBLE NOT NULL,
+    expiry_date DATE NOT NULL,
+    payoff_style VARCHAR(8) NOT NULL, -- 'BARRIER' or 'ASIAN'
+    barrier_type VARCHAR(12), -- 'UP_AND_OUT', 'UP_AND_IN', 'DOWN_AND_OUT' or 'DOWN_AND_IN'; barrier options only
+    barrier_level DOUBLE, -- Barrier options only
+    FOREIGN KEY (underlying_ticker) REFERENCES STOCKS(ticker)
+);
+
+-- Implied volatility surfaces: a full time-to-expiry by strike grid per underlying
+CREATE TABLE VOL_SURFACE (
+    underlying_ticker VARCHAR(20) NOT NULL,
+    time_to_expiry DOUBLE NOT NULL, -- In years
+    strike DOUBLE NOT NULL,
+    volatility DOUBLE NOT NULL,
+    PRIMARY KEY (underlying_ticker, time_to_expiry, strike),
+    FOREIGN KEY (underlying_ticker) REFERENCES STOCKS(ticker)
+);
+
+-- Risk-free zero rate term structure
+CREATE TABLE RATE_CURVE (
+    tenor DOUBLE PRIMARY KEY, -- In years
+    zero_rate DOUBLE NOT NULL -- Continuously compounded
+);
+
+-- Continuous dividend yield term structure per underlying
+CREATE TABLE DIVIDEND_CURVE (
+    underlying_ticker VARCHAR(20) NOT NULL,
+    tenor DOUBLE NOT NULL, -- In years
+    dividend_yield DOUBLE NOT NULL, -- Continuously compounded
+    PRIMARY KEY (underlying_ticker, tenor),
+    FOREIGN KEY (underlying_ticker) REFERENCES STOCKS(ticker)
+);
+
+-- Pairwise correlations of the stocks' price shocks; unlisted pairs are uncorrelated
+CREATE TABLE CORRELATION (
+    ticker_a VARCHAR(20) NOT NULL,
+    ticker_b VARCHAR(20) NOT NULL,
+    correlation DOUBLE NOT NULL,
+    PRIMARY KEY (ticker_a, ticker_b),
+    FOREIGN KEY (ticker_a) REFERENCES STOCKS(ticker),
+    FOREIGN KEY (ticker_b) REFERENCES STOCKS(ticker)
+);
+
+-- Factor model of the price shocks for large universes: loadings per stock and factor
+CREATE TABLE FACTOR_LOADINGS (
+    ticker VARCHAR(20) NOT NULL,
+    factor VARCHAR(20) NOT NULL,
+    loading DOUBLE NOT NULL,
+    PRIMARY KEY (ticker, factor),
+    FOREIGN KEY (ticker) REFERENCES STOCKS(ticker)
+);
+
+-- Price process models for groups of stocks; stocks in no group follow GBM
+CREATE TABLE PRICE_PROCESS (
+    group_name VARCHAR(50) PRIMARY KEY,
+    model VARCHAR(8) NOT NULL, -- 'GBM', 'MERTON' or 'HESTON'
+    jump_intensity DOUBLE, -- Merton only: expected jumps per year
+    jump_mean DOUBLE, -- Merton only: mean log jump size
+    jump_volatility DOUBLE, -- Merton only: standard deviation of the log jump size
+    mean_reversion DOUBLE, -- Heston only: kappa
+    long_run_variance DOUBLE, -- Heston only: theta
+    vol_of_vol DOUBLE, -- Heston only: xi
+    correlation DOUBLE -- Heston only: rho, between price and variance shocks
+);
+
+CREATE TABLE PRICE_PROCESS_MEMBERS (
+    ticker VARCHAR(20) PRIMARY KEY,
+    group_name VARCHAR(50) NOT NULL,
+    FOREIGN KEY (ticker) REFERENCES STOCKS(ticker),
+    FOREIGN KEY (group_name) REFERENCES PRICE_PROCESS(group_name)
+);
+
 -- Insert static data for the securities we support
 -- Note: The current date is July 25, 2025.
 INSERT INTO STOCKS (ticker, company_name, initial_price, mu, sigma) VALUES
@@ -32,4 +118,49 @@ INSERT INTO STOCKS (ticker, company_name, initial_price, mu, sigma) VALUES
 INSERT INTO OPTIONS (ticker, underlying_ticker, option_type, strike_price, expiry_date) VALUES
 ('AAPL-OCT-2025-110-C', 'AAPL', 'CALL', 110.0, '2025-10-17'),
 ('TSLA-NOV-2025-400-C', 'TSLA', 'CALL', 400.0, '2025-11-21'),
-('TSLA-DEC-2025-450-P', 'TSLA', 'PUT', 450.0, '2025-12-19');
\ No newline at end of file
+('TSLA-DEC-2025-450-P', 'TSLA', 'PUT', 450.0, '2025-12-19');
+
+INSERT INTO OPTIONS (ticker, underlying_ticker, option_type, strike_price, expiry_date, exercise_style) VALUES
+('AAPL-DEC-2025-160-P-AM', 'AAPL', 'PUT', 160.0, '2025-12-19', 'AMERICAN');
+
+INSERT INTO EXOTIC_OPTIONS (ticker, underlying_ticker, option_type, strike_price, expiry_date, payoff_style, barrier_type, barrier_level) VALUES
+('TSLA-DEC-2025-400-C-UO-550', 'TSLA', 'CALL', 400.0, '2025-12-19', 'BARRIER', 'UP_AND_OUT', 550.0),
+('AAPL-DEC-2025-150-C-ASIAN', 'AAPL', 'CALL', 150.0, '2025-12-19', 'ASIAN', NULL, NULL);
+
+-- Volatility skew: lower strikes trade at higher implied volatility, flattening with maturity.
+INSERT INTO VOL_SURFACE (underlying_ticker, time_to_expiry, strike, volatility) VALUES
+('AAPL', 0.25, 100.0, 0.36), ('AAPL', 0.25, 125.0, 0.33), ('AAPL', 0.25, 150.0, 0.30), ('AAPL', 0.25, 175.0, 0.29), ('AAPL', 0.25, 200.0, 0.29),
+('AAPL', 0.50, 100.0, 0.35), ('AAPL', 0.50, 125.0, 0.32), ('AAPL', 0.50, 150.0, 0.30), ('AAPL', 0.50, 175.0, 0.29), ('AAPL', 0.50, 200.0, 0.29),
+('AAPL', 1.00, 100.0, 0.33), ('AAPL', 1.00, 125.0, 0.31), ('AAPL', 1.00, 150.0, 0.30), ('AAPL', 1.00, 175.0, 0.29), ('AAPL', 1.00, 200.0, 0.29),
+('TSLA', 0.25, 300.0, 0.70), ('TSLA', 0.25, 350.0, 0.65), ('TSLA', 0.25, 400.0, 0.60), ('TSLA', 0.25, 450.0, 0.58), ('TSLA', 0.25, 500.0, 0.57),
+('TSLA', 0.50, 300.0, 0.68), ('TSLA', 0.50, 350.0, 0.64), ('TSLA', 0.50, 400.0, 0.60), ('TSLA', 0.50, 450.0, 0.58), ('TSLA', 0.50, 500.0, 0.57),
+('TSLA', 1.00, 300.0, 0.65), ('TSLA', 1.00, 350.0, 0.62), ('TSLA', 1.00, 400.0, 0.60), ('TSLA', 1.00, 450.0, 0.59), ('TSLA', 1.00, 500.0, 0.58);
+
+INSERT INTO RATE_CURVE (tenor, zero_rate) VALUES
+(0.25, 0.0190),
+(0.50, 0.0200),
+(1.00, 0.0210),
+(2.00, 0.0225);
+
+-- TSLA pays no dividend, so it has no curve.
+INSERT INTO DIVIDEND_CURVE (underlying_ticker, tenor, dividend_yield) VALUES
+('AAPL', 0.25, 0.0050),
+('AAPL', 1.00, 0.0055);
+
+INSERT INTO CORRELATION (ticker_a, ticker_b, correlation) VALUES
+('AAPL', 'TSLA', 0.45);
+
+-- Implied AAPL/TSLA correlation 0.65 * 0.55 + 0.30 * 0.35 = 0.46, close to the full matrix above.
+INSERT INTO FACTOR_LOADINGS (ticker, factor, loading) VALUES
+('AAPL', 'MARKET', 0.65), ('AAPL', 'TECH', 0.30),
+('TSLA', 'MARKET', 0.55), ('TSLA', 'TECH', 0.35);
+
+-- TSLA trades with stochastic volatility; AAPL stays on GBM.
+INSERT INTO PRICE_PROCESS (group_name, model, mean_reversion, long_run_variance, vol_of_vol, correlation) VALUES
+('HIGH_VOL', 'HESTON', 2.0, 0.36, 0.80, -0.70);
+
+INSERT INTO PRICE_PROCESS (group_name, model, jump_intensity, jump_mean, jump_volatility) VALUES
+('EVENT_DRIVEN', 'MERTON', 4.0, -0.02, 0.08);
+
+INSERT INTO PRICE_PROCESS_MEMBERS (ticker, group_name) VALUES
+('TSLA', 'HIGH_VOL');
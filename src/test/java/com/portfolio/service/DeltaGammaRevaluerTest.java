@@ -0,0 +1,149 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.service.DeltaGammaRevaluer.Config;
+import com.portfolio.service.DeltaGammaRevaluer.Stats;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.GreeksCalculator;
+import com.portfolio.util.PricingContext;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaGammaRevaluerTest {
+    private static final EuropeanOption CALL = new EuropeanOption("AAPL_C_105", "AAPL", OptionType.CALL, 105.0,
+            LocalDate.of(2030, 1, 18));
+    private static final EuropeanOption PUT = new EuropeanOption("AAPL_P_95", "AAPL", OptionType.PUT, 95.0,
+            LocalDate.of(2030, 1, 18));
+    private static final double VOL = 0.3;
+    private static final double T = 0.25;
+    // Reprices come from GreeksCalculator, whose CDF reuses the exact normal density where
+    // BlackScholesCalculator's uses the approximation's rounded constant.
+    private static final double REPRICE_TOLERANCE = 1e-8;
+
+    // A threshold of one percent, and an interval no test waits out unless it means to.
+    private final DeltaGammaRevaluer revaluer = new DeltaGammaRevaluer(new Config(0.01, Duration.ofHours(1)));
+
+    private static PricingContext context(EuropeanOption option, double t) {
+        return PricingContext.of(option.strikePrice(), t, 0.03, 0.01);
+    }
+
+    private static double exact(EuropeanOption option, double t, double spot, double vol) {
+        return BlackScholesCalculator.calculate(option, context(option, t), spot, vol);
+    }
+
+    private static GreeksCalculator.Greeks greeks(EuropeanOption option, double spot) {
+        return GreeksCalculator.calculate(option.optionType() == OptionType.CALL, spot, option.strikePrice(), VOL,
+                context(option, T), new GreeksCalculator.Greeks());
+    }
+
+    private double value(EuropeanOption option, double t, double spot, double vol) {
+        return revaluer.value(option, context(option, t), spot, vol);
+    }
+
+    private void assertStats(int approximated, int repriced) {
+        Stats stats = revaluer.drainStats();
+        assertEquals("approximated", approximated, stats.approximated());
+        assertEquals("repriced", repriced, stats.repriced());
+    }
+
+    @Test
+    public void firstValuationIsAFullReprice() {
+        for (var option : new EuropeanOption[] { CALL, PUT }) {
+            assertEquals(exact(option, T, 100, VOL), value(option, T, 100, VOL), REPRICE_TOLERANCE);
+        }
+        assertStats(0, 2);
+    }
+
+    @Test
+    public void smallMovesAreApproximatedFromTheGreeks() {
+        value(CALL, T, 100, VOL);
+        revaluer.drainStats();
+        var anchor = greeks(CALL, 100);
+        double dS = 0.8;
+        double estimate = value(CALL, T, 100 + dS, VOL);
+        assertEquals(anchor.price() + anchor.delta() * dS + 0.5 * anchor.gamma() * dS * dS, estimate, 1e-12);
+
+        Stats stats = revaluer.drainStats();
+        assertEquals(1, stats.approximated());
+        assertEquals(0, stats.repriced());
+        double speedTerm = Math.abs(anchor.speed()) * dS * dS * dS / 6.0;
+        assertEquals(speedTerm, stats.maxEstimatedError(), 1e-15);
+        // The speed term is the leading error of the expansion.
+        double error = Math.abs(estimate - exact(CALL, T, 100 + dS, VOL));
+        assertTrue("error " + error + " against " + speedTerm, error < 1.5 * speedTerm);
+    }
+
+    @Test
+    public void maxEstimatedErrorIsTheLargestOfTheCycle() {
+        value(CALL, T, 100, VOL);
+        value(PUT, T, 100, VOL);
+        revaluer.drainStats();
+        value(CALL, T, 100.3, VOL);
+        value(PUT, T, 99.1, VOL);
+        value(CALL, T, 99.9, VOL);
+        double expected = Math.max(Math.abs(greeks(CALL, 100).speed()) * Math.pow(0.3, 3),
+                Math.abs(greeks(PUT, 100).speed()) * Math.pow(0.9, 3)) / 6.0;
+        Stats stats = revaluer.drainStats();
+        assertEquals(3, stats.approximated());
+        assertEquals(expected, stats.maxEstimatedError(), 1e-15);
+        assertEquals(0.0, revaluer.drainStats().maxEstimatedError(), 0.0);
+    }
+
+    @Test
+    public void movesBeyondTheThresholdAreRepriced() {
+        value(CALL, T, 100, VOL);
+        // Just inside one percent of the anchor, then just beyond it.
+        value(CALL, T, 100.99, VOL);
+        assertStats(1, 1);
+        assertEquals(exact(CALL, T, 98.9, VOL), value(CALL, T, 98.9, VOL), REPRICE_TOLERANCE);
+        assertStats(0, 1);
+        // The threshold is measured from the new anchor.
+        value(CALL, T, 98.0, VOL);
+        assertStats(1, 0);
+    }
+
+    @Test
+    public void volatilityChangesAreRepriced() {
+        value(PUT, T, 100, VOL);
+        assertEquals(exact(PUT, T, 100.2, 0.31), value(PUT, T, 100.2, 0.31), REPRICE_TOLERANCE);
+        assertStats(0, 2);
+    }
+
+    @Test
+    public void elapsedIntervalIsRepriced() throws InterruptedException {
+        var revaluer = new DeltaGammaRevaluer(new Config(0.01, Duration.ofMillis(20)));
+        revaluer.value(CALL, context(CALL, T), 100, VOL);
+        revaluer.value(CALL, context(CALL, T), 100.1, VOL);
+        Thread.sleep(30);
+        assertEquals(exact(CALL, T, 100.2, VOL), revaluer.value(CALL, context(CALL, T), 100.2, VOL),
+                REPRICE_TOLERANCE);
+        Stats stats = revaluer.drainStats();
+        assertEquals(1, stats.approximated());
+        assertEquals(2, stats.repriced());
+    }
+
+    @Test
+    public void rolloverIsCoveredByTheThetaTerm() {
+        value(PUT, T, 100, VOL);
+        var anchor = greeks(PUT, 100);
+        double day = 1.0 / 365;
+        double estimate = value(PUT, T - day, 100, VOL);
+        assertEquals(anchor.price() + anchor.theta() * day, estimate, 1e-12);
+        assertEquals(exact(PUT, T - day, 100, VOL), estimate, 1e-4);
+        assertStats(1, 1);
+    }
+
+    @Test
+    public void expiredOptionsAreRepricedAtIntrinsicValue() {
+        value(PUT, T, 100, VOL);
+        assertEquals(3.0, value(PUT, 0.0, 92, VOL), 0.0);
+        assertEquals(0.0, value(PUT, 0.0, 95.5, VOL), 0.0);
+        assertStats(0, 3);
+    }
+}
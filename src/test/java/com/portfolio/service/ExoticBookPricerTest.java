@@ -0,0 +1,100 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.AsianOption;
+import com.portfolio.domain.BarrierOption;
+import com.portfolio.domain.BarrierType;
+import com.portfolio.domain.OptionContract;
+import com.portfolio.domain.OptionType;
+import com.portfolio.domain.Stock;
+import com.portfolio.util.PathSimulationEngine;
+import com.portfolio.util.YieldCurve;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExoticBookPricerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 9, 30);
+    private static final PathSimulationEngine.Settings SETTINGS = new PathSimulationEngine.Settings(8_192, 252, 5);
+
+    private final BarrierOption upAndOut = new BarrierOption("UO", "S", OptionType.CALL, 100,
+            LocalDate.of(2026, 7, 1), BarrierType.UP_AND_OUT, 130);
+    private final BarrierOption upAndIn = new BarrierOption("UI", "S", OptionType.CALL, 100,
+            LocalDate.of(2026, 7, 1), BarrierType.UP_AND_IN, 130);
+    private final AsianOption asian = new AsianOption("AS", "S", OptionType.CALL, 100, LocalDate.of(2026, 3, 2));
+    private final List<OptionContract> contracts = List.of(upAndOut, upAndIn, asian);
+
+    private static Map<String, Stock> at(double spot) {
+        return Map.of("S", new Stock("S", "Stock", spot, 0.05, 0.3));
+    }
+
+    private PricingContextCache contexts(ManualClock clock) {
+        return new PricingContextCache(contracts, YieldCurve.flat(0.02), Map.of(), clock, Duration.ofDays(1));
+    }
+
+    private ExoticBookPricer pricer() {
+        return new ExoticBookPricer(contracts, Map.of(), SETTINGS, ExoticBookPricer.Config.DEFAULT);
+    }
+
+    @Test
+    public void knockedOutBarrierStaysOutWhenTheSpotReturns() {
+        var contexts = contexts(new ManualClock(START));
+        var pricer = pricer();
+        var before = pricer.price(at(100), contexts);
+        assertTrue(before.get("UO") > 1);
+
+        pricer.price(at(135), contexts);
+        var after = pricer.price(at(100), contexts);
+        assertEquals(0.0, after.get("UO"), 0.0);
+        // The knock-in is now the vanilla, worth more than before.
+        assertTrue(after.get("UI") > before.get("UI"));
+        // A pricer that never saw the spot at 135 still has the barrier alive.
+        assertEquals(before.get("UO"), pricer().price(at(100), contexts).get("UO"), 0.0);
+    }
+
+    @Test
+    public void asianKeepsTheFixingsAlreadyTaken() {
+        var clock = new ManualClock(START);
+        var contexts = contexts(clock);
+        var pricer = pricer();
+        var fresh = pricer.price(at(100), contexts);
+        // Four weeks of fixings at 120.
+        for (int day = 0; day < 28; day++) {
+            clock.advance(Duration.ofDays(1));
+            contexts.refresh();
+            pricer.price(at(120), contexts);
+        }
+        clock.advance(Duration.ofDays(1));
+        contexts.refresh();
+        double seasoned = pricer.price(at(100), contexts).get("AS");
+        double newcomer = pricer().price(at(100), contexts).get("AS");
+        assertTrue("seasoned " + seasoned + " vs new " + newcomer, seasoned > newcomer + 5);
+        assertTrue(seasoned > fresh.get("AS"));
+    }
+
+    @Test
+    public void expiredContractIsWorthItsObservedPayoff() {
+        var clock = new ManualClock(START);
+        var contexts = contexts(clock);
+        var pricer = pricer();
+        pricer.price(at(100), contexts);
+        // Daily fixings at 110 until the Asian expires, then the spot collapses.
+        long days = ChronoUnit.DAYS.between(START.toLocalDate(), asian.expiryDate());
+        for (int day = 1; day < days; day++) {
+            clock.advance(Duration.ofDays(1));
+            contexts.refresh();
+            pricer.price(at(110), contexts);
+        }
+        clock.advance(Duration.ofDays(1));
+        contexts.refresh();
+        double expired = pricer.price(at(50), contexts).get("AS");
+        assertEquals(10.0, expired, 1e-9);
+    }
+}
@@ -0,0 +1,156 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ListenerMailboxTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService lanes = Executors.newCachedThreadPool();
+
+    // Records its deliveries, holding the first one until released.
+    private static final class Recorder implements MarketDataListener {
+        final BlockingQueue<String> updates = new LinkedBlockingQueue<>();
+        final CountDownLatch holding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onSnapshot(List<Stock> stocks, long sequence) {
+        }
+
+        @Override
+        public void onMarketUpdate(PriceChangeSet changes) {
+            var update = new StringBuilder().append(changes.sequence()).append(':');
+            for (int k = 0; k < changes.size(); k++) {
+                update.append(' ').append(changes.tickerId(k)).append('=').append(changes.price(k));
+            }
+            updates.add(update.toString());
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        String next() throws InterruptedException {
+            return updates.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @After
+    public void stopLanes() {
+        lanes.shutdownNow();
+    }
+
+    @Test
+    public void busyListenerReceivesLatestPricePerTicker() throws InterruptedException {
+        var recorder = new Recorder();
+        var mailbox = new ListenerMailbox(recorder, lanes, null, 3, 0);
+        mailbox.start();
+        mailbox.put(1, 0, 10.0);
+        mailbox.commit(1);
+        assertTrue(recorder.holding.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // Three ticks arrive while the listener is busy with the first.
+        mailbox.put(2, 0, 11.0);
+        mailbox.put(2, 1, 20.0);
+        mailbox.commit(2);
+        mailbox.put(3, 0, 12.0);
+        mailbox.commit(3);
+        mailbox.put(4, 2, 30.0);
+        mailbox.commit(4);
+        assertEquals(4, mailbox.committedSequence());
+        assertEquals(0, mailbox.deliveredSequence());
+        recorder.release.countDown();
+
+        assertEquals("1: 0=10.0", recorder.next());
+        assertEquals("4: 0=12.0 1=20.0 2=30.0", recorder.next());
+        assertNull(recorder.updates.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(4, mailbox.deliveredSequence());
+        assertEquals(4, mailbox.updates());
+        assertEquals(1, mailbox.dropped());
+    }
+
+    @Test
+    public void holdsChangesUntilStartedAndIgnoresTicksInTheSnapshot() throws InterruptedException {
+        var recorder = new Recorder();
+        recorder.release.countDown();
+        var mailbox = new ListenerMailbox(recorder, lanes, new int[] { 2, 5 }, 8, 3);
+        mailbox.put(3, 2, 1.0);
+        mailbox.commit(3);
+        mailbox.put(4, 5, 2.0);
+        mailbox.commit(4);
+        assertNull(recorder.updates.poll(100, TimeUnit.MILLISECONDS));
+
+        mailbox.start();
+        assertEquals("4: 5=2.0", recorder.next());
+        mailbox.put(5, 2, 3.0);
+        mailbox.put(5, 5, 4.0);
+        mailbox.commit(5);
+        assertEquals("5: 2=3.0 5=4.0", recorder.next());
+        assertEquals(0, mailbox.dropped());
+    }
+
+    @Test
+    public void lastPriceIsAlwaysDelivered() throws InterruptedException {
+        int ticks = 200_000;
+        var seen = new double[2];
+        var inFlight = new AtomicInteger();
+        var overlapped = new AtomicInteger();
+        var lastSequence = new long[1];
+        var outOfOrder = new AtomicInteger();
+        var listener = new MarketDataListener() {
+            @Override
+            public void onSnapshot(List<Stock> stocks, long sequence) {
+            }
+
+            @Override
+            public void onMarketUpdate(PriceChangeSet changes) {
+                if (inFlight.incrementAndGet() != 1) {
+                    overlapped.incrementAndGet();
+                }
+                if (changes.sequence() <= lastSequence[0]) {
+                    outOfOrder.incrementAndGet();
+                }
+                lastSequence[0] = changes.sequence();
+                for (int k = 0; k < changes.size(); k++) {
+                    seen[changes.tickerId(k)] = changes.price(k);
+                }
+                inFlight.decrementAndGet();
+            }
+        };
+        var mailbox = new ListenerMailbox(listener, lanes, null, 2, 0);
+        mailbox.start();
+        for (int t = 1; t <= ticks; t++) {
+            mailbox.put(t, t % 2, t);
+            mailbox.commit(t);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (mailbox.deliveredSequence() < ticks && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(ticks, mailbox.deliveredSequence());
+        assertEquals(ticks - 1, seen[1], 0.0);
+        assertEquals(ticks, seen[0], 0.0);
+        assertEquals(ticks, mailbox.updates() + mailbox.dropped());
+        assertEquals(0, overlapped.get());
+        assertEquals(0, outOfOrder.get());
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// A UTC clock the test moves by hand.
+final class ManualClock extends Clock {
+    private volatile Instant now;
+
+    ManualClock(LocalDateTime start) {
+        now = start.toInstant(ZoneOffset.UTC);
+    }
+
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
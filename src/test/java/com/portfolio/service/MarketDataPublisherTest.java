@@ -0,0 +1,154 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import com.portfolio.util.GaussianSource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MarketDataPublisherTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    // Keeps a copy of the market from its snapshot and updates, noting every ticker it was sent.
+    private static final class Book implements MarketDataListener {
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        volatile double[] prices;
+        volatile long snapshotSequence;
+        volatile long firstSequence = -1;
+
+        @Override
+        public void onSnapshot(List<Stock> stocks, long sequence) {
+            prices = stocks.stream().mapToDouble(Stock::currentPrice).toArray();
+            snapshotSequence = sequence;
+        }
+
+        @Override
+        public void onMarketUpdate(PriceChangeSet changes) {
+            if (firstSequence < 0) {
+                firstSequence = changes.sequence();
+            }
+            for (int k = 0; k < changes.size(); k++) {
+                received.add(changes.tickerId(k));
+                prices[changes.tickerId(k)] = changes.price(k);
+            }
+        }
+
+        // The book's prices of the given tickers.
+        double[] prices(int... ids) {
+            var book = prices;
+            double[] selected = new double[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                selected[i] = book[ids[i]];
+            }
+            return selected;
+        }
+    }
+
+    private static List<Stock> universe(int size) {
+        var stocks = new ArrayList<Stock>();
+        for (int i = 0; i < size; i++) {
+            stocks.add(new Stock("T" + i, "Ticker " + i, 100.0 + i, 0.1, 0.3));
+        }
+        return stocks;
+    }
+
+    private static MarketDataPublisher publisher(int size) {
+        var publisher = new MarketDataPublisher(universe(size), GaussianSource.pseudoRandom(11),
+                TickScheduler.Config.DEFAULT);
+        // Every tick moves every stock.
+        publisher.setMinimumPriceChange(0);
+        publisher.setWorkerThreads(1);
+        return publisher;
+    }
+
+    private static double[] published(MarketDataPublisher publisher, int... ids) {
+        var stocks = publisher.snapshot();
+        double[] prices = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            prices[i] = stocks.get(ids[i]).currentPrice();
+        }
+        return prices;
+    }
+
+    // Waits until every listener has received every published tick.
+    private static void awaitDelivery(MarketDataPublisher publisher) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (publisher.listenerStats().stream().anyMatch(stats -> stats.lag() > 0)) {
+            assertTrue("Listeners still lagging", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void listenerAddedAfterStartReceivesOnlyItsTickers() throws InterruptedException {
+        var publisher = publisher(3);
+        var first = new Book();
+        publisher.addListener(first, List.of("T0"));
+        for (int t = 0; t < 10; t++) {
+            publisher.publishNext();
+        }
+
+        var late = new Book();
+        publisher.addListener(late, List.of("T2", "T1"));
+        assertEquals(10, late.snapshotSequence);
+        assertArrayEquals(published(publisher, 0, 1, 2), late.prices(0, 1, 2), 0.0);
+        double unsubscribed = late.prices(0)[0];
+        for (int t = 0; t < 10; t++) {
+            publisher.publishNext();
+        }
+        awaitDelivery(publisher);
+
+        assertEquals(Set.of(0), first.received);
+        assertEquals(new TreeSet<>(Set.of(1, 2)), new TreeSet<>(late.received));
+        // Its first update, conflated or not, comes after its snapshot.
+        assertTrue(late.firstSequence > late.snapshotSequence);
+        assertArrayEquals(published(publisher, 0), first.prices(0), 0.0);
+        assertArrayEquals(published(publisher, 1, 2), late.prices(1, 2), 0.0);
+        // The late listener's unsubscribed ticker stays at its snapshot price.
+        assertEquals(unsubscribed, late.prices(0)[0], 0.0);
+        assertTrue(unsubscribed != published(publisher, 0)[0]);
+    }
+
+    @Test
+    public void routesEachTickerToItsListenersBeyondOneWordOfListeners() throws InterruptedException {
+        int stocks = 5;
+        var publisher = publisher(stocks);
+        var books = new ArrayList<Book>();
+        // More than 64 listeners, each on one ticker, added while ticks are being published.
+        for (int l = 0; l < 70; l++) {
+            var book = new Book();
+            publisher.addListener(book, List.of("T" + l % stocks));
+            books.add(book);
+            publisher.publishNext();
+        }
+        var everything = new Book();
+        publisher.addListener(everything);
+        for (int t = 0; t < 5; t++) {
+            publisher.publishNext();
+        }
+        awaitDelivery(publisher);
+
+        for (int l = 0; l < books.size(); l++) {
+            int id = l % stocks;
+            assertEquals("listener " + l, Set.of(id), books.get(l).received);
+            assertArrayEquals(published(publisher, id), books.get(l).prices(id), 0.0);
+        }
+        assertEquals(stocks, everything.received.size());
+        assertArrayEquals(published(publisher, 0, 1, 2, 3, 4), everything.prices(0, 1, 2, 3, 4), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTickerIsRejected() {
+        publisher(3).addListener(new Book(), List.of("T0", "NOPE"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.service.MarketDataRingBuffer.WaitStrategy;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MarketDataRingBufferTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private MarketDataRingBuffer.Consumer consumer;
+
+    // Records the ticks it copies out of the ring, holding the first one until released.
+    private static final class Recorder implements MarketDataRingBuffer.Handler {
+        final BlockingQueue<String> ticks = new LinkedBlockingQueue<>();
+        final CountDownLatch holding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger overruns = new AtomicInteger();
+        final MarketDataRingBuffer ring;
+
+        Recorder(MarketDataRingBuffer ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public void onTick(PriceChangeSet changes) {
+            var tick = new StringBuilder().append(changes.sequence()).append(':');
+            for (int k = 0; k < changes.size(); k++) {
+                tick.append(' ').append(changes.tickerId(k)).append('=').append(changes.price(k));
+            }
+            ticks.add(tick.toString());
+            if (changes.sequence() == 1) {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public long onOverrun() {
+            overruns.incrementAndGet();
+            long cursor = ring.cursor();
+            ticks.add("overrun at " + cursor);
+            return cursor;
+        }
+
+        String next() throws InterruptedException {
+            return ticks.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @After
+    public void closeConsumer() {
+        if (consumer != null) {
+            consumer.close();
+        }
+    }
+
+    private static void publish(MarketDataRingBuffer ring, int tickerId, double price) {
+        var slot = ring.claim();
+        slot.addAll(new int[] { tickerId }, new double[] { price }, 1);
+        ring.publish(slot);
+    }
+
+    @Test
+    public void deliversEveryTickInOrder() throws InterruptedException {
+        for (var strategy : WaitStrategy.values()) {
+            var ring = new MarketDataRingBuffer(4, new MarketDataRingBuffer.Config(32, strategy), 0);
+            var recorder = new Recorder(ring);
+            recorder.release.countDown();
+            consumer = ring.subscribe(recorder, 0, "consumer");
+            for (int t = 1; t <= 20; t++) {
+                publish(ring, t % 4, 100.0 + t);
+            }
+            for (int t = 1; t <= 20; t++) {
+                assertEquals(strategy.name(), t + ": " + t % 4 + "=" + (100.0 + t), recorder.next());
+            }
+            assertEquals(0, consumer.overruns());
+            consumer.close();
+        }
+    }
+
+    @Test
+    public void consumerStartsAfterItsSnapshot() throws InterruptedException {
+        var ring = new MarketDataRingBuffer(4, MarketDataRingBuffer.Config.DEFAULT, 0);
+        publish(ring, 0, 1.0);
+        publish(ring, 1, 2.0);
+        var recorder = new Recorder(ring);
+        recorder.release.countDown();
+        consumer = ring.subscribe(recorder, 2, "consumer");
+        publish(ring, 2, 3.0);
+        assertEquals("3: 2=3.0", recorder.next());
+    }
+
+    @Test
+    public void overrunConsumerResynchronizesAndContinues() throws InterruptedException {
+        var ring = new MarketDataRingBuffer(4, new MarketDataRingBuffer.Config(4, WaitStrategy.BLOCKING), 0);
+        var recorder = new Recorder(ring);
+        consumer = ring.subscribe(recorder, 0, "consumer");
+        publish(ring, 0, 1.0);
+        assertTrue(recorder.holding.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        // Two whole rings pass while the consumer is busy with tick 1.
+        for (int t = 2; t <= 10; t++) {
+            publish(ring, 0, t);
+        }
+        recorder.release.countDown();
+
+        assertEquals("1: 0=1.0", recorder.next());
+        assertEquals("overrun at 10", recorder.next());
+        publish(ring, 1, 11.0);
+        publish(ring, 2, 12.0);
+        assertEquals("11: 1=11.0", recorder.next());
+        assertEquals("12: 2=12.0", recorder.next());
+        assertEquals(1, consumer.overruns());
+        assertEquals(1, recorder.overruns.get());
+    }
+
+    @Test
+    public void slotClaimedForRewritingIsAnOverrun() throws InterruptedException {
+        var ring = new MarketDataRingBuffer(4, new MarketDataRingBuffer.Config(4, WaitStrategy.BLOCKING), 0);
+        var recorder = new Recorder(ring);
+        consumer = ring.subscribe(recorder, 0, "consumer");
+        publish(ring, 0, 1.0);
+        assertTrue(recorder.holding.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int t = 2; t <= 5; t++) {
+            publish(ring, 0, t);
+        }
+        // Tick 6 reuses tick 2's slot: once it is claimed, tick 2 may be half overwritten.
+        var slot = ring.claim();
+        recorder.release.countDown();
+
+        assertEquals("1: 0=1.0", recorder.next());
+        assertEquals("overrun at 5", recorder.next());
+        slot.addAll(new int[] { 3 }, new double[] { 6.0 }, 1);
+        ring.publish(slot);
+        assertEquals("6: 3=6.0", recorder.next());
+        assertNull(recorder.ticks.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBeAPowerOfTwo() {
+        new MarketDataRingBuffer.Config(6, WaitStrategy.BLOCKING);
+    }
+}
@@ -0,0 +1,113 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.BlackScholesCalculator;
+import com.portfolio.util.YieldCurve;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OptionChainIndexTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static List<EuropeanOption> chain() {
+        var options = new ArrayList<EuropeanOption>();
+        for (int e = 0; e < 3; e++) {
+            var expiry = TODAY.plusMonths(3L * e);
+            for (double strike : new double[] { 110, 90, 100 }) {
+                for (var type : OptionType.values()) {
+                    options.add(new EuropeanOption("S-" + expiry + "-" + strike + "-" + type, "S", type, strike,
+                            expiry));
+                }
+            }
+        }
+        return options;
+    }
+
+    private static List<String> tickers(List<EuropeanOption> options) {
+        return options.stream().map(EuropeanOption::ticker).toList();
+    }
+
+    private static String ticker(int months, double strike, OptionType type) {
+        return "S-" + TODAY.plusMonths(months) + "-" + strike + "-" + type;
+    }
+
+    @Test
+    public void findsOptionsOrderedByExpiryThenStrike() {
+        var index = OptionChainIndex.of(chain());
+        assertEquals(18, index.size());
+        assertEquals(List.of(ticker(0, 90, OptionType.PUT), ticker(0, 100, OptionType.PUT),
+                ticker(3, 90, OptionType.PUT), ticker(3, 100, OptionType.PUT)),
+                tickers(index.find("S", OptionType.PUT, TODAY, TODAY.plusMonths(6), 85, 105)));
+    }
+
+    @Test
+    public void strikeRangeIsInclusiveAndExpiryRangeIsHalfOpen() {
+        var index = OptionChainIndex.of(chain());
+        // Both strike bounds match; the expiry at expiryTo does not.
+        assertEquals(List.of(ticker(3, 90, OptionType.CALL), ticker(3, 100, OptionType.CALL),
+                ticker(3, 110, OptionType.CALL)),
+                tickers(index.find("S", OptionType.CALL, TODAY.plusMonths(3), TODAY.plusMonths(6), 90, 110)));
+        // Strikes just inside the bounds exclude them.
+        assertEquals(List.of(ticker(6, 100, OptionType.CALL)),
+                tickers(index.find("S", OptionType.CALL, TODAY.plusMonths(6), TODAY.plusMonths(7), 90.01, 109.99)));
+    }
+
+    @Test
+    public void emptyAndReversedRangesMatchNothing() {
+        var index = OptionChainIndex.of(chain());
+        assertTrue(index.find("S", OptionType.CALL, TODAY, TODAY, 0, 1_000).isEmpty());
+        assertTrue(index.find("S", OptionType.CALL, TODAY.plusMonths(6), TODAY, 0, 1_000).isEmpty());
+        assertTrue(index.find("S", OptionType.CALL, TODAY, TODAY.plusYears(1), 110, 90).isEmpty());
+        assertTrue(index.find("S", OptionType.CALL, TODAY, TODAY.plusYears(1), 101, 109).isEmpty());
+        assertTrue(index.find("S", OptionType.CALL, TODAY.plusYears(1), TODAY.plusYears(2), 0, 1_000).isEmpty());
+    }
+
+    @Test
+    public void unknownUnderlyingOrTypeHasNoExpiries() {
+        var index = OptionChainIndex.of(chain());
+        assertTrue(index.find("NOPE", OptionType.CALL, TODAY, TODAY.plusYears(1), 0, 1_000).isEmpty());
+        assertTrue(index.expiries("NOPE", OptionType.PUT).isEmpty());
+        var callsOnly = OptionChainIndex.of(chain().stream().filter(o -> o.optionType() == OptionType.CALL).toList());
+        assertTrue(callsOnly.expiries("S", OptionType.PUT).isEmpty());
+        assertEquals(3, callsOnly.expiries("S", OptionType.CALL).size());
+    }
+
+    @Test
+    public void sliceBoundsBracketEachStrike() {
+        var slice = OptionChainIndex.of(chain()).expiries("S", OptionType.CALL).firstEntry().getValue();
+        assertEquals(0, slice.lowerBound(90));
+        assertEquals(1, slice.upperBound(90));
+        assertEquals(1, slice.lowerBound(95));
+        assertEquals(1, slice.upperBound(95));
+        assertEquals(3, slice.lowerBound(111));
+        assertEquals(0, slice.upperBound(50));
+    }
+
+    @Test
+    public void slicePricesMatchContextPricingUnderCurves() {
+        var options = chain();
+        var contexts = new PricingContextCache(options,
+                new YieldCurve(new double[] { 0.1, 1.0 }, new double[] { 0.01, 0.04 }),
+                Map.of("S", YieldCurve.flat(0.03)));
+        var index = OptionChainIndex.of(options);
+        double[] out = new double[3];
+        for (var type : OptionType.values()) {
+            for (var slice : index.expiries("S", type).values()) {
+                slice.price(contexts.get(slice.option(0)), 104, 0.35, out);
+                for (int i = 0; i < slice.size(); i++) {
+                    var option = slice.option(i);
+                    assertEquals(option.ticker(),
+                            BlackScholesCalculator.calculate(option, contexts.get(option), 104, 0.35), out[i], 1e-12);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.PriceChangeSet;
+import com.portfolio.domain.Stock;
+import com.portfolio.util.GaussianSource;
+import com.portfolio.util.YieldCurve;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PortfolioServiceTest {
+    // The printed report reads AAPL and TSLA.
+    private static final List<Stock> UNIVERSE = List.of(
+            new Stock("AAPL", "Apple", 180.0, 0.1, 0.25),
+            new Stock("TSLA", "Tesla", 250.0, 0.15, 0.5),
+            new Stock("MSFT", "Microsoft", 410.0, 0.08, 0.2));
+
+    private PortfolioService service;
+
+    // A change set copied out of the publisher's reused buffers.
+    private record Changes(long sequence, int[] tickerIds, double[] prices) implements PriceChangeSet {
+
+        static Changes copyOf(PriceChangeSet changes) {
+            int[] ids = new int[changes.size()];
+            double[] prices = new double[changes.size()];
+            for (int k = 0; k < ids.length; k++) {
+                ids[k] = changes.tickerId(k);
+                prices[k] = changes.price(k);
+            }
+            return new Changes(changes.sequence(), ids, prices);
+        }
+
+        @Override
+        public int size() {
+            return tickerIds.length;
+        }
+
+        @Override
+        public int tickerId(int k) {
+            return tickerIds[k];
+        }
+
+        @Override
+        public double price(int k) {
+            return prices[k];
+        }
+    }
+
+    // Keeps only the snapshot it is sent on subscribing.
+    private static final class SnapshotTaker implements MarketDataListener {
+        List<Stock> stocks;
+        long sequence;
+
+        @Override
+        public void onSnapshot(List<Stock> stocks, long sequence) {
+            this.stocks = List.copyOf(stocks);
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void onMarketUpdate(PriceChangeSet changes) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        var definitions = new DatabaseService.ProductDefinitions(
+                UNIVERSE.stream().collect(Collectors.toMap(Stock::ticker, Function.identity())),
+                Map.of(), Map.of(), Map.of(), Map.of(), YieldCurve.flat(0.02), Map.of(), Map.of(), Map.of(),
+                Map.of());
+        service = new PortfolioService(definitions);
+    }
+
+    private static MarketDataPublisher publisher() {
+        var publisher = new MarketDataPublisher(UNIVERSE, GaussianSource.pseudoRandom(5),
+                TickScheduler.Config.DEFAULT);
+        // Most ticks move only some of the stocks.
+        publisher.setMinimumPriceChange(0.05);
+        publisher.setWorkerThreads(1);
+        return publisher;
+    }
+
+    private static List<Changes> publish(MarketDataPublisher publisher, int ticks) {
+        var published = new ArrayList<Changes>();
+        for (int t = 0; t < ticks; t++) {
+            published.add(Changes.copyOf(publisher.publishNext()));
+        }
+        return published;
+    }
+
+    private void assertPrices(List<Stock> expected) {
+        var latest = service.latestStocks();
+        assertEquals(expected.size(), latest.size());
+        for (var stock : expected) {
+            assertEquals(stock.ticker(), stock, latest.get(stock.ticker()));
+        }
+    }
+
+    private static Changes changes(long sequence, int tickerId, double price) {
+        return new Changes(sequence, new int[] { tickerId }, new double[] { price });
+    }
+
+    @Test
+    public void applyingEveryChangeSetReproducesThePublishedPrices() {
+        var publisher = publisher();
+        var snapshot = new SnapshotTaker();
+        publisher.addListener(snapshot);
+        service.onSnapshot(snapshot.stocks, snapshot.sequence);
+        for (var changes : publish(publisher, 200)) {
+            service.onMarketUpdate(changes);
+        }
+        assertPrices(publisher.snapshot());
+    }
+
+    @Test
+    public void changeSetsCoveredByTheSnapshotAreIgnored() {
+        var publisher = publisher();
+        var before = publish(publisher, 50);
+        var snapshot = new SnapshotTaker();
+        publisher.addListener(snapshot);
+        assertEquals(50, snapshot.sequence);
+        var after = publish(publisher, 50);
+
+        service.onSnapshot(snapshot.stocks, snapshot.sequence);
+        // Sets the snapshot already covers arrive late, in reverse, and repeat.
+        var stale = new ArrayList<>(before);
+        Collections.reverse(stale);
+        stale.addAll(before);
+        for (var changes : stale) {
+            service.onMarketUpdate(changes);
+        }
+        assertPrices(snapshot.stocks);
+
+        for (var changes : after) {
+            service.onMarketUpdate(changes);
+            // Each set is applied once; a redelivery or an older one changes nothing.
+            service.onMarketUpdate(changes);
+            service.onMarketUpdate(before.get(before.size() - 1));
+        }
+        assertPrices(publisher.snapshot());
+    }
+
+    @Test
+    public void outOfOrderAndDuplicateSequencesAreIgnored() {
+        service.onSnapshot(UNIVERSE, 5);
+        service.onMarketUpdate(changes(5, 0, 1.0));
+        assertEquals(180.0, service.latestStocks().get("AAPL").currentPrice(), 0.0);
+
+        service.onMarketUpdate(changes(6, 0, 181.0));
+        service.onMarketUpdate(changes(6, 0, 2.0));
+        service.onMarketUpdate(changes(4, 1, 3.0));
+        assertEquals(181.0, service.latestStocks().get("AAPL").currentPrice(), 0.0);
+        assertEquals(250.0, service.latestStocks().get("TSLA").currentPrice(), 0.0);
+
+        // A gap is not a reason to drop a newer set.
+        service.onMarketUpdate(changes(9, 2, 415.0));
+        service.onMarketUpdate(changes(8, 2, 4.0));
+        var msft = service.latestStocks().get("MSFT");
+        assertEquals(new Stock("MSFT", "Microsoft", 415.0, 0.08, 0.2), msft);
+    }
+
+    @Test
+    public void aNewSnapshotResetsTheSequence() {
+        service.onSnapshot(UNIVERSE, 20);
+        service.onMarketUpdate(changes(21, 1, 260.0));
+        // A publisher restarted from scratch sends its own snapshot first.
+        service.onSnapshot(UNIVERSE, 0);
+        service.onMarketUpdate(changes(1, 0, 182.0));
+        assertEquals(182.0, service.latestStocks().get("AAPL").currentPrice(), 0.0);
+        assertEquals(250.0, service.latestStocks().get("TSLA").currentPrice(), 0.0);
+    }
+}
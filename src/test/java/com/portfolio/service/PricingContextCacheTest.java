@@ -0,0 +1,111 @@
+package com.portfolio.service;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import com.portfolio.util.YieldCurve;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PricingContextCacheTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 20);
+    private static final YieldCurve RATES = new YieldCurve(new double[] { 0.1, 1.0 }, new double[] { 0.01, 0.03 });
+    private static final YieldCurve DIVIDENDS = YieldCurve.flat(0.015);
+
+    private final EuropeanOption dividendPaying = new EuropeanOption("D", "DIV", OptionType.CALL, 100,
+            LocalDate.of(2026, 9, 1));
+    private final EuropeanOption plain = new EuropeanOption("P", "PLAIN", OptionType.PUT, 50,
+            LocalDate.of(2026, 3, 12));
+
+    private PricingContextCache cache(ManualClock clock, Duration granularity) {
+        return new PricingContextCache(List.of(dividendPaying, plain), RATES, Map.of("DIV", DIVIDENDS), clock,
+                granularity);
+    }
+
+    private static double years(LocalDateTime from, LocalDate expiry) {
+        return Duration.between(from, expiry.atStartOfDay()).getSeconds() / (365.0 * 24 * 60 * 60);
+    }
+
+    @Test
+    public void contextsUseTheCurvesAtEachExpiry() {
+        var cache = cache(new ManualClock(START), Duration.ofDays(1));
+        var valuation = START.toLocalDate().atStartOfDay();
+        assertEquals(valuation, cache.valuationTime());
+
+        var context = cache.get(dividendPaying);
+        double t = years(valuation, dividendPaying.expiryDate());
+        assertEquals(t, context.timeToExpiryYears(), 1e-15);
+        assertEquals(RATES.rate(t), context.rate(), 0.0);
+        assertEquals(0.015, context.dividendYield(), 0.0);
+        assertEquals(Math.exp(-RATES.rate(t) * t), context.discountFactor(), 1e-15);
+        assertEquals(Math.exp(-0.015 * t), context.dividendDiscountFactor(), 1e-15);
+        assertEquals(Math.log(100), context.logStrike(), 0.0);
+
+        // Before the curve's first tenor the rate is flat; no dividend curve means no dividends.
+        var nearExpiry = cache.get(plain);
+        assertEquals(0.01, nearExpiry.rate(), 0.0);
+        assertEquals(0.0, nearExpiry.dividendYield(), 0.0);
+        assertEquals(1.0, nearExpiry.dividendDiscountFactor(), 0.0);
+    }
+
+    @Test
+    public void refreshOnlyMovesAtGranularityBoundaries() {
+        var clock = new ManualClock(START);
+        var cache = cache(clock, Duration.ofMinutes(15));
+        assertEquals(START.withMinute(15), cache.valuationTime());
+        double before = cache.get(plain).timeToExpiryYears();
+
+        clock.advance(Duration.ofMinutes(9));
+        cache.refresh();
+        assertEquals(START.withMinute(15), cache.valuationTime());
+        assertEquals(before, cache.get(plain).timeToExpiryYears(), 0.0);
+
+        clock.advance(Duration.ofMinutes(1));
+        cache.refresh();
+        assertEquals(START.withMinute(30), cache.valuationTime());
+        assertEquals(years(START.withMinute(30), plain.expiryDate()), cache.get(plain).timeToExpiryYears(), 1e-15);
+    }
+
+    @Test
+    public void backgroundRolloverRefreshesAfterTheBoundary() throws InterruptedException {
+        // The rollover is scheduled for 100 ms ahead on this clock.
+        var clock = new ManualClock(START.withMinute(59).withSecond(59).withNano(900_000_000));
+        try (var cache = cache(clock, Duration.ofHours(1))) {
+            var first = cache.valuationTime();
+            cache.startRollover();
+            // It fires before the clock reaches the boundary, and waits for it.
+            Thread.sleep(200);
+            assertEquals(first, cache.valuationTime());
+
+            clock.advance(Duration.ofMillis(100));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (cache.valuationTime().equals(first)) {
+                assertTrue("No rollover", System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+            assertEquals(first.plusHours(1), cache.valuationTime());
+            assertEquals(years(first.plusHours(1), plain.expiryDate()), cache.get(plain).timeToExpiryYears(),
+                    1e-15);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownOptionIsRejected() {
+        cache(new ManualClock(START), Duration.ofDays(1))
+                .get(new EuropeanOption("X", "DIV", OptionType.CALL, 1, LocalDate.of(2027, 1, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void granularityMustDivideADay() {
+        cache(new ManualClock(START), Duration.ofMinutes(7));
+    }
+}
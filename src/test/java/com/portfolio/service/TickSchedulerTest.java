@@ -0,0 +1,45 @@
+package com.portfolio.service;
+
+import com.portfolio.service.TickScheduler.Config;
+import com.portfolio.service.TickScheduler.Mode;
+import com.portfolio.service.TickScheduler.WaitStrategy;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TickSchedulerTest {
+
+    @Test
+    public void pacedModesRejectRatesThatAreNotPositive() {
+        for (var mode : new Mode[] { Mode.FIXED_RATE, Mode.POISSON }) {
+            for (double rate : new double[] { 0.0, -5.0, Double.NaN }) {
+                try {
+                    new Config(mode, rate, WaitStrategy.SLEEP);
+                    fail(mode + " accepted " + rate);
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void asFastAsPossibleIgnoresTheRate() {
+        assertEquals(0.0, new Config(Mode.AS_FAST_AS_POSSIBLE, 0.0, WaitStrategy.SPIN).ticksPerSecond(), 0.0);
+    }
+
+    @Test
+    public void fixedRateTicksOnSchedule() throws InterruptedException {
+        var scheduler = new TickScheduler(new Config(Mode.FIXED_RATE, 1_000, WaitStrategy.SPIN));
+        scheduler.start();
+        long start = System.nanoTime();
+        for (int t = 0; t < 50; t++) {
+            scheduler.awaitNextTick();
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1e6;
+        // 50 ticks 1 ms apart, the first at once, are never early.
+        assertTrue("elapsed " + elapsedMillis + " ms", elapsedMillis >= 48);
+        assertEquals(50, scheduler.drainStats().ticks());
+    }
+}
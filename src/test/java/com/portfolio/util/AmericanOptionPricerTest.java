@@ -0,0 +1,95 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AmericanOptionPricerTest {
+    private static final int STEPS = 1001;
+
+    private static double european(boolean isCall, double spot, double strike, double volatility, double t,
+            double rate, double dividendYield) {
+        var option = new EuropeanOption("O", "S", isCall ? OptionType.CALL : OptionType.PUT, strike,
+                LocalDate.now());
+        return BlackScholesCalculator.calculate(option, PricingContext.of(strike, t, rate, dividendYield), spot,
+                volatility);
+    }
+
+    @Test
+    public void callWithoutDividendsIsWorthTheEuropeanCall() {
+        double rate = BlackScholesCalculator.RISK_FREE_RATE;
+        for (double strike : new double[] { 80, 100, 125 }) {
+            for (double t : new double[] { 0.1, 1.0, 3.0 }) {
+                double american = AmericanOptionPricer.price(true, 100, strike, 0.3, t, rate, 0.0, STEPS);
+                double european = BlackScholesCalculator.price(true, 100, strike, 0.3, t);
+                assertEquals("K=" + strike + " T=" + t, european, american, 1e-4);
+            }
+        }
+    }
+
+    @Test
+    public void earlyExerciseAddsValue() {
+        // A put, and a call on a stock paying a dividend yield above the rate.
+        double put = AmericanOptionPricer.price(false, 95, 100, 0.25, 1.0, 0.06, 0.0, STEPS);
+        double europeanPut = european(false, 95, 100, 0.25, 1.0, 0.06, 0.0);
+        assertTrue(put > europeanPut + 0.1);
+        assertTrue(put > 5.0);
+
+        double call = AmericanOptionPricer.price(true, 105, 100, 0.25, 1.0, 0.01, 0.08, STEPS);
+        double europeanCall = european(true, 105, 100, 0.25, 1.0, 0.01, 0.08);
+        assertTrue(call > europeanCall + 0.1);
+        assertTrue(call > 5.0);
+    }
+
+    @Test
+    public void deepInTheMoneyPutIsExercisedAtOnce() {
+        assertEquals(50.0, AmericanOptionPricer.price(false, 50, 100, 0.2, 1.0, 0.1, 0.0, STEPS), 1e-9);
+    }
+
+    @Test
+    public void convergesAsStepsIncrease() {
+        double coarse = AmericanOptionPricer.price(false, 100, 100, 0.3, 1.0, 0.05, 0.01, 2001);
+        double fine = AmericanOptionPricer.price(false, 100, 100, 0.3, 1.0, 0.05, 0.01, 4001);
+        assertEquals(fine, coarse, 1e-3);
+        // Even step counts are rounded up to the next odd one.
+        assertEquals(AmericanOptionPricer.price(false, 100, 100, 0.3, 1.0, 0.05, 0.01, 201),
+                AmericanOptionPricer.price(false, 100, 100, 0.3, 1.0, 0.05, 0.01, 200), 0.0);
+    }
+
+    @Test
+    public void expiredOptionIsWorthItsIntrinsicValue() {
+        assertEquals(7.0, AmericanOptionPricer.price(true, 107, 100, 0.3, 0.0, 0.05, 0.0, STEPS), 0.0);
+        assertEquals(0.0, AmericanOptionPricer.price(false, 107, 100, 0.3, -0.1, 0.05, 0.0, STEPS), 0.0);
+    }
+
+    @Test
+    public void reusedLatticeGivesTheSamePrice() {
+        double first = AmericanOptionPricer.price(false, 90, 100, 0.4, 0.5, 0.03, 0.0, 101);
+        // A larger tree grows this thread's buffers; the small one must not see its leftovers.
+        AmericanOptionPricer.price(true, 120, 80, 0.6, 2.0, 0.03, 0.02, 5001);
+        assertEquals(first, AmericanOptionPricer.price(false, 90, 100, 0.4, 0.5, 0.03, 0.0, 101), 0.0);
+    }
+
+    @Test
+    public void batchMatchesSinglePrices() {
+        double[] spot = { 90, 100, 110, 95 };
+        double[] strike = { 100, 100, 100, 105 };
+        double[] volatility = { 0.2, 0.3, 0.4, 0.25 };
+        double[] timeToExpiry = { 0.5, 1.0, 2.0, 0.25 };
+        double[] rate = { 0.03, 0.04, 0.05, 0.02 };
+        double[] dividendYield = { 0.0, 0.01, 0.02, 0.05 };
+        boolean[] isCall = { false, true, false, true };
+        double[] out = new double[spot.length];
+        AmericanOptionPricer.calculate(spot, strike, volatility, timeToExpiry, rate, dividendYield, isCall, 301,
+                out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(AmericanOptionPricer.price(isCall[i], spot[i], strike[i], volatility[i], timeToExpiry[i],
+                    rate[i], dividendYield[i], 301), out[i], 0.0);
+        }
+    }
+}
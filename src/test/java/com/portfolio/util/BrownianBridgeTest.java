@@ -0,0 +1,60 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BrownianBridgeTest {
+
+    // Column j is the increments produced by the j-th unit draw.
+    private static double[][] columns(BrownianBridge bridge) {
+        int steps = bridge.steps();
+        double[][] columns = new double[steps][steps];
+        double[] z = new double[steps];
+        for (int j = 0; j < steps; j++) {
+            z[j] = 1;
+            bridge.increments(z, columns[j]);
+            z[j] = 0;
+        }
+        return columns;
+    }
+
+    @Test
+    public void incrementsAreIndependentWithUnitVariance() {
+        // The bridge is linear, so independent unit draws give independent unit increments
+        // exactly when its matrix is orthogonal.
+        for (int steps : new int[] { 1, 2, 3, 5, 16, 64, 100 }) {
+            double[][] columns = columns(new BrownianBridge(steps));
+            for (int i = 0; i < steps; i++) {
+                for (int j = 0; j < steps; j++) {
+                    double dot = 0;
+                    for (int k = 0; k < steps; k++) {
+                        dot += columns[i][k] * columns[j][k];
+                    }
+                    assertEquals(steps + " steps, (" + i + ", " + j + ")", i == j ? 1.0 : 0.0, dot, 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void firstDrawFixesTheEndpointAndSecondTheMidpoint() {
+        int steps = 16;
+        double[][] columns = columns(new BrownianBridge(steps));
+        double endpoint = 0;
+        double firstHalf = 0;
+        double secondHalf = 0;
+        for (int k = 0; k < steps; k++) {
+            endpoint += columns[0][k];
+            if (k < steps / 2) {
+                firstHalf += columns[1][k];
+            } else {
+                secondHalf += columns[1][k];
+            }
+        }
+        // W(T) = sqrt(T) z0; W(T/2) = W(T) / 2 + sqrt(T / 4) z1.
+        assertEquals(Math.sqrt(steps), endpoint, 1e-12);
+        assertEquals(Math.sqrt(steps / 4.0), firstHalf, 1e-12);
+        assertEquals(-firstHalf, secondHalf, 1e-12);
+    }
+}
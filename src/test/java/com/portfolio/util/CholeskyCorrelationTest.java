@@ -0,0 +1,118 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CholeskyCorrelationTest {
+
+    // Column j of L is the shock produced by the j-th unit draw.
+    private static double[][] factor(CholeskyCorrelation correlation) {
+        int n = correlation.size();
+        double[][] l = new double[n][n];
+        double[] unit = new double[n];
+        double[] column = new double[n];
+        for (int j = 0; j < n; j++) {
+            unit[j] = 1;
+            correlation.correlate(unit, new double[0], 0, n, column);
+            unit[j] = 0;
+            for (int i = 0; i < n; i++) {
+                l[i][j] = column[i];
+            }
+        }
+        return l;
+    }
+
+    private static void assertReproduces(double[][] matrix, CholeskyCorrelation correlation) {
+        double[][] l = factor(correlation);
+        int n = matrix.length;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (j > i) {
+                    assertEquals("L is lower triangular", 0.0, l[i][j], 0.0);
+                }
+                double product = 0;
+                for (int k = 0; k < n; k++) {
+                    product += l[i][k] * l[j][k];
+                }
+                assertEquals("(" + i + ", " + j + ")", matrix[i][j], product, 1e-12);
+            }
+        }
+    }
+
+    // A constant off-diagonal correlation is positive definite for rho in (-1 / (n - 1), 1).
+    private static double[][] constant(int n, double rho) {
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = i == j ? 1.0 : rho;
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    public void factorReproducesTheMatrix() {
+        double[][] matrix = {
+                { 1.0, 0.6, -0.3, 0.2 },
+                { 0.6, 1.0, 0.1, 0.4 },
+                { -0.3, 0.1, 1.0, -0.5 },
+                { 0.2, 0.4, -0.5, 1.0 } };
+        var correlation = new CholeskyCorrelation(matrix);
+        assertEquals(4, correlation.size());
+        assertEquals(0, correlation.commonFactors());
+        assertReproduces(matrix, correlation);
+    }
+
+    @Test
+    public void factorReproducesMatricesSpanningSeveralBlocks() {
+        double[][] matrix = constant(1100, 0.3);
+        assertReproduces(matrix, new CholeskyCorrelation(matrix));
+    }
+
+    @Test
+    public void partitionsMatchTheWholeUniverse() {
+        int n = 1100;
+        var correlation = new CholeskyCorrelation(constant(n, 0.3));
+        double[] z = new double[n];
+        GaussianSource.pseudoRandom(7).open(0, n).next(z);
+        double[] whole = new double[n];
+        correlation.correlate(z, new double[0], 0, n, whole);
+        int[] bounds = { 0, 1, 511, 512, 700, 1024, n };
+        for (int p = 0; p + 1 < bounds.length; p++) {
+            double[] part = new double[bounds[p + 1] - bounds[p]];
+            correlation.correlate(z, new double[0], bounds[p], bounds[p + 1], part);
+            for (int i = 0; i < part.length; i++) {
+                assertEquals(whole[bounds[p] + i], part[i], 1e-12);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAMatrixThatIsNotPositiveDefinite() {
+        // The first two are perfectly correlated, so the second row has nothing left.
+        new CholeskyCorrelation(new double[][] {
+                { 1.0, 1.0, 0.0 },
+                { 1.0, 1.0, 0.0 },
+                { 0.0, 0.0, 1.0 } });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInconsistentCorrelations() {
+        // Below -1 / (n - 1), constant correlations cannot all hold at once.
+        new CholeskyCorrelation(constant(3, -0.6));
+    }
+
+    @Test
+    public void buildsTheMatrixFromPairs() {
+        var correlation = CholeskyCorrelation.of(List.of("AAPL", "MSFT", "TSLA"),
+                Map.of("AAPL", Map.of("MSFT", 0.7), "MSFT", Map.of("AAPL", 0.7)));
+        assertReproduces(new double[][] {
+                { 1.0, 0.7, 0.0 },
+                { 0.7, 1.0, 0.0 },
+                { 0.0, 0.0, 1.0 } }, correlation);
+    }
+}
@@ -0,0 +1,107 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class FactorCorrelationTest {
+    private static final double[][] LOADINGS = {
+            { 0.6, 0.3 },
+            { 0.5, -0.4 },
+            { 0.0, 0.9 },
+            { 0.0, 0.0 } };
+
+    // Row i holds stock i's weights on the independent draws, then on the common factors.
+    private static double[][] weights(FactorCorrelation correlation) {
+        int n = correlation.size();
+        int k = correlation.commonFactors();
+        double[][] weights = new double[n][n + k];
+        double[] independent = new double[n];
+        double[] common = new double[k];
+        double[] shocks = new double[n];
+        for (int d = 0; d < n + k; d++) {
+            double[] draws = d < n ? independent : common;
+            int index = d < n ? d : d - n;
+            draws[index] = 1;
+            correlation.correlate(independent, common, 0, n, shocks);
+            draws[index] = 0;
+            for (int i = 0; i < n; i++) {
+                weights[i][d] = shocks[i];
+            }
+        }
+        return weights;
+    }
+
+    private static double covariance(double[] a, double[] b) {
+        double sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            sum += a[d] * b[d];
+        }
+        return sum;
+    }
+
+    @Test
+    public void shocksHaveUnitVariance() {
+        var correlation = new FactorCorrelation(LOADINGS);
+        assertEquals(4, correlation.size());
+        assertEquals(2, correlation.commonFactors());
+        double[][] weights = weights(correlation);
+        for (double[] row : weights) {
+            assertEquals(1.0, covariance(row, row), 1e-12);
+        }
+    }
+
+    @Test
+    public void correlationIsTheDotProductOfTheLoadings() {
+        double[][] weights = weights(new FactorCorrelation(LOADINGS));
+        for (int i = 0; i < LOADINGS.length; i++) {
+            for (int j = 0; j < i; j++) {
+                assertEquals("(" + i + ", " + j + ")", covariance(LOADINGS[i], LOADINGS[j]),
+                        covariance(weights[i], weights[j]), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void partitionsMatchTheWholeUniverse() {
+        var correlation = new FactorCorrelation(LOADINGS);
+        double[] draws = new double[6];
+        GaussianSource.pseudoRandom(11).open(0, draws.length).next(draws);
+        double[] independent = { draws[0], draws[1], draws[2], draws[3] };
+        double[] common = { draws[4], draws[5] };
+        double[] whole = new double[4];
+        correlation.correlate(independent, common, 0, 4, whole);
+        double[] part = new double[2];
+        correlation.correlate(independent, common, 1, 3, part);
+        assertEquals(whole[1], part[0], 0.0);
+        assertEquals(whole[2], part[1], 0.0);
+    }
+
+    @Test
+    public void tickersWithoutLoadingsAreIndependent() {
+        var correlation = FactorCorrelation.of(List.of("AAPL", "MSFT", "GME"),
+                Map.of("AAPL", new double[] { 0.8 }, "MSFT", new double[] { 0.5 }));
+        double[][] weights = weights(correlation);
+        assertEquals(0.4, covariance(weights[0], weights[1]), 1e-12);
+        assertEquals(0.0, covariance(weights[0], weights[2]), 0.0);
+        assertEquals(1.0, covariance(weights[2], weights[2]), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLoadingsExplainingMoreThanTheVariance() {
+        new FactorCorrelation(new double[][] { { 0.8, 0.7 } });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRowsOfDifferentLengths() {
+        new FactorCorrelation(new double[][] { { 0.5, 0.1 }, { 0.5 } });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRowsLongerThanTheFirst() {
+        new FactorCorrelation(new double[][] { { 0.5 }, { 0.5, 0.1 } });
+    }
+}
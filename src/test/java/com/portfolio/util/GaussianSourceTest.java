@@ -0,0 +1,95 @@
+package com.portfolio.util;
+
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GaussianSourceTest {
+    private static final double SPOT = 100;
+    private static final double VOL = 0.3;
+    private static final double T = 1.0;
+    private static final int SHIFTS = 8;
+
+    private static double[] draws(GaussianSource source, long firstPath, int dimension, int paths) {
+        var stream = source.open(firstPath, dimension);
+        double[] all = new double[paths * dimension];
+        double[] z = new double[dimension];
+        for (int p = 0; p < paths; p++) {
+            stream.next(z);
+            System.arraycopy(z, 0, all, p * dimension, dimension);
+        }
+        return all;
+    }
+
+    @Test
+    public void streamsOpenedLaterContinueTheSequence() {
+        var sobol = GaussianSource.sobol(5);
+        for (var source : new GaussianSource[] { sobol, sobol.withBrownianBridge() }) {
+            double[] whole = draws(source, 0, 8, 30);
+            double[] tail = draws(source, 10, 8, 20);
+            for (int i = 0; i < tail.length; i++) {
+                assertEquals(whole[10 * 8 + i], tail[i], 0.0);
+            }
+        }
+        // Pseudo-random streams are reproducible per starting path.
+        var pseudo = GaussianSource.pseudoRandom(5);
+        assertArrayEquals(draws(pseudo, 10, 8, 20), draws(pseudo, 10, 8, 20), 0.0);
+    }
+
+    @Test
+    public void pseudoRandomCallIsWithinItsStandardErrorOfBlackScholes() {
+        double exact = BlackScholesCalculator.price(true, SPOT, 105, VOL, T);
+        for (long seed = 1; seed <= 4; seed++) {
+            var result = MonteCarloPricer.price(TerminalPayoff.call(105), SPOT, VOL, T, null,
+                    new MonteCarloPricer.Settings(1 << 16, seed, false));
+            assertEquals("seed " + seed, exact, result.price(), 4 * result.standardError());
+        }
+    }
+
+    @Test
+    public void sobolCallErrorIsFarBelowThePseudoRandomStandardError() {
+        double exact = BlackScholesCalculator.price(true, SPOT, 105, VOL, T);
+        var settings = new MonteCarloPricer.Settings(1 << 14, 1, false);
+        double pseudoError = MonteCarloPricer.price(TerminalPayoff.call(105), SPOT, VOL, T, null, settings)
+                .standardError();
+        double squaredError = 0;
+        for (long seed = 1; seed <= SHIFTS; seed++) {
+            double price = MonteCarloPricer.price(TerminalPayoff.call(105), SPOT, VOL, T, null, settings,
+                    GaussianSource.sobol(seed)).price();
+            squaredError += (price - exact) * (price - exact);
+        }
+        double rmse = Math.sqrt(squaredError / SHIFTS);
+        assertTrue("Sobol RMSE " + rmse + " vs pseudo-random s.e. " + pseudoError, rmse < pseudoError / 10);
+    }
+
+    @Test
+    public void brownianBridgeReducesSobolVarianceOfAnAsian() {
+        var payoffs = new PathPayoff[] { PathPayoff.asian(true, 100) };
+        double[] timeToExpiry = { T };
+        double[] discountFactor = { Math.exp(-0.02 * T) };
+        var settings = new PathSimulationEngine.Settings(4_096, 64, 1);
+        double plain = spread(payoffs, timeToExpiry, discountFactor, settings, false);
+        double bridged = spread(payoffs, timeToExpiry, discountFactor, settings, true);
+        assertTrue("bridged " + bridged + " vs plain " + plain, bridged < plain / 2);
+    }
+
+    // The standard deviation of the price across digital shifts.
+    private static double spread(PathPayoff[] payoffs, double[] timeToExpiry, double[] discountFactor,
+            PathSimulationEngine.Settings settings, boolean bridge) {
+        double[] out = new double[1];
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (long seed = 1; seed <= SHIFTS; seed++) {
+            var source = bridge ? GaussianSource.sobol(seed).withBrownianBridge() : GaussianSource.sobol(seed);
+            PathSimulationEngine.price(SPOT, VOL, 0.02, 0.0, payoffs, timeToExpiry, discountFactor, settings, source,
+                    out);
+            sum += out[0];
+            sumOfSquares += out[0] * out[0];
+        }
+        double mean = sum / SHIFTS;
+        return Math.sqrt((sumOfSquares / SHIFTS - mean * mean) * SHIFTS / (SHIFTS - 1));
+    }
+}
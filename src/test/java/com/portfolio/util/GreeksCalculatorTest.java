@@ -0,0 +1,120 @@
+package com.portfolio.util;
+
+import com.portfolio.util.GreeksCalculator.Greeks;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks each higher-order Greek against a central difference of the
+ * lower-order Greek it differentiates.
+ */
+public class GreeksCalculatorTest {
+    private static final double SPOT = 100;
+    private static final double[] STRIKES = { 70, 95, 100, 105, 140 };
+    private static final double[] EXPIRIES = { 0.05, 0.5, 2.0 };
+    private static final double[] VOLATILITIES = { 0.15, 0.45 };
+    private static final double RATE = 0.04;
+    private static final double DIVIDEND_YIELD = 0.015;
+
+    private interface Case {
+        void check(boolean isCall, double strike, double t, double vol);
+    }
+
+    private static void forEachCase(Case test) {
+        for (boolean isCall : new boolean[] { true, false }) {
+            for (double strike : STRIKES) {
+                for (double t : EXPIRIES) {
+                    for (double vol : VOLATILITIES) {
+                        test.check(isCall, strike, t, vol);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Greeks greeks(boolean isCall, double spot, double strike, double vol, double t) {
+        var context = PricingContext.of(strike, t, RATE, DIVIDEND_YIELD);
+        return GreeksCalculator.calculate(isCall, spot, strike, vol, context, new Greeks());
+    }
+
+    private static void assertClose(String message, double expected, double actual) {
+        assertEquals(message, expected, actual, 1e-6 + 1e-5 * Math.abs(expected));
+    }
+
+    // Delta goes through the normal CDF approximation, whose error has a slope of its own.
+    private static void assertCloseToDeltaDifference(String message, double expected, double actual) {
+        assertEquals(message, expected, actual, 2e-5 + 1e-4 * Math.abs(expected));
+    }
+
+    // A step small against the spot's standard deviation to expiry, where gamma and vega vary.
+    private static double spotStep(double t, double vol) {
+        return 1e-3 * SPOT * vol * Math.sqrt(t);
+    }
+
+    private static String describe(String greek, boolean isCall, double strike, double t, double vol) {
+        return greek + " of " + (isCall ? "call" : "put") + " K=" + strike + " t=" + t + " vol=" + vol;
+    }
+
+    @Test
+    public void speedIsTheSpotDerivativeOfGamma() {
+        forEachCase((isCall, strike, t, vol) -> {
+            double h = spotStep(t, vol);
+            double difference = (greeks(isCall, SPOT + h, strike, vol, t).gamma()
+                    - greeks(isCall, SPOT - h, strike, vol, t).gamma()) / (2 * h);
+            assertClose(describe("speed", isCall, strike, t, vol), difference,
+                    greeks(isCall, SPOT, strike, vol, t).speed());
+        });
+    }
+
+    @Test
+    public void vannaIsTheVolatilityDerivativeOfDeltaAndTheSpotDerivativeOfVega() {
+        forEachCase((isCall, strike, t, vol) -> {
+            double hs = spotStep(t, vol);
+            double hv = 1e-4;
+            double vanna = greeks(isCall, SPOT, strike, vol, t).vanna();
+            double fromVega = (greeks(isCall, SPOT + hs, strike, vol, t).vega()
+                    - greeks(isCall, SPOT - hs, strike, vol, t).vega()) / (2 * hs);
+            double fromDelta = (greeks(isCall, SPOT, strike, vol + hv, t).delta()
+                    - greeks(isCall, SPOT, strike, vol - hv, t).delta()) / (2 * hv);
+            assertClose(describe("vanna", isCall, strike, t, vol), fromVega, vanna);
+            assertCloseToDeltaDifference(describe("vanna", isCall, strike, t, vol), fromDelta, vanna);
+        });
+    }
+
+    @Test
+    public void volgaIsTheVolatilityDerivativeOfVega() {
+        forEachCase((isCall, strike, t, vol) -> {
+            double h = 1e-4;
+            double difference = (greeks(isCall, SPOT, strike, vol + h, t).vega()
+                    - greeks(isCall, SPOT, strike, vol - h, t).vega()) / (2 * h);
+            assertClose(describe("volga", isCall, strike, t, vol), difference,
+                    greeks(isCall, SPOT, strike, vol, t).volga());
+        });
+    }
+
+    @Test
+    public void charmIsTheDecayOfDelta() {
+        forEachCase((isCall, strike, t, vol) -> {
+            // Calendar time runs against time to expiry.
+            double h = 1e-4 * t;
+            double difference = -(greeks(isCall, SPOT, strike, vol, t + h).delta()
+                    - greeks(isCall, SPOT, strike, vol, t - h).delta()) / (2 * h);
+            assertCloseToDeltaDifference(describe("charm", isCall, strike, t, vol), difference,
+                    greeks(isCall, SPOT, strike, vol, t).charm());
+        });
+    }
+
+    @Test
+    public void flatRateGreeksMatchTheContextAtThatRate() {
+        forEachCase((isCall, strike, t, vol) -> {
+            var flat = GreeksCalculator.calculate(isCall, SPOT, strike, vol, t, new Greeks());
+            var context = GreeksCalculator.calculate(isCall, SPOT, strike, vol, PricingContext.of(strike, t),
+                    new Greeks());
+            assertEquals(context.speed(), flat.speed(), 1e-15);
+            assertEquals(context.vanna(), flat.vanna(), 1e-15);
+            assertEquals(context.volga(), flat.volga(), 1e-15);
+            assertEquals(context.charm(), flat.charm(), 1e-15);
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HestonProcessTest {
+    private static final int STOCKS = 20_000;
+    private static final double DT = 1.0 / 252;
+    private static final double MIN_PRICE = 0.01;
+    private static final double MAX_PRICE = 1e6;
+
+    private static HestonProcess process(double sigma, double meanReversion, double longRunVariance,
+            double volOfVol, double correlation) {
+        double[] prices = new double[STOCKS];
+        Arrays.fill(prices, 100.0);
+        double[] sigmas = new double[STOCKS];
+        Arrays.fill(sigmas, sigma);
+        return new HestonProcess(prices, new double[STOCKS], sigmas, 1.0, MIN_PRICE, MAX_PRICE, meanReversion,
+                longRunVariance, volOfVol, correlation);
+    }
+
+    // Steps every stock from one stream of draws, counting the variances that went negative.
+    private static int step(HestonProcess process, int fromStep, int steps) {
+        double[] draws = new double[2 * STOCKS];
+        int negative = 0;
+        for (int s = fromStep; s < fromStep + steps; s++) {
+            GaussianSource.pseudoRandom(3).open(s, draws.length).next(draws);
+            process.step(0, STOCKS, Arrays.copyOf(draws, STOCKS), Arrays.copyOfRange(draws, STOCKS, draws.length),
+                    DT);
+            for (int i = 0; i < STOCKS; i++) {
+                negative += process.variance(i) < 0 ? 1 : 0;
+            }
+        }
+        return negative;
+    }
+
+    private static void assertMeanVariance(HestonProcess process, double expected) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < STOCKS; i++) {
+            sum += process.variance(i);
+            sumOfSquares += process.variance(i) * process.variance(i);
+        }
+        double mean = sum / STOCKS;
+        double standardError = Math.sqrt((sumOfSquares / STOCKS - mean * mean) / STOCKS);
+        assertEquals(expected, mean, 4 * standardError);
+    }
+
+    @Test
+    public void varianceRevertsToItsLongRunLevel() {
+        double kappa = 2.0;
+        double theta = 0.04;
+        double start = 0.4 * 0.4;
+        // With the Feller condition, variance all but never truncates, so the Euler mean is
+        // theta + (v0 - theta)(1 - kappa dt)^n.
+        var process = process(0.4, kappa, theta, 0.3, -0.7);
+        step(process, 0, 126);
+        assertMeanVariance(process, theta + (start - theta) * Math.pow(1 - kappa * DT, 126));
+        step(process, 126, 630);
+        assertMeanVariance(process, theta + (start - theta) * Math.pow(1 - kappa * DT, 756));
+    }
+
+    @Test
+    public void fullTruncationStaysFiniteWhenVarianceGoesNegative() {
+        // Far outside the Feller condition, so variance keeps crossing zero.
+        var process = process(0.2, 1.0, 0.04, 1.5, -0.9);
+        int negative = step(process, 0, 504);
+        assertTrue("variance never went negative", negative > 0);
+        for (int i = 0; i < STOCKS; i++) {
+            double price = process.price(i);
+            assertTrue("price " + price, price >= MIN_PRICE && price <= MAX_PRICE);
+            assertTrue("variance " + process.variance(i), Double.isFinite(process.variance(i)));
+        }
+    }
+
+    @Test
+    public void acceptsPerfectCorrelation() {
+        for (double correlation : new double[] { -1.0, 1.0 }) {
+            var process = process(0.2, 1.0, 0.04, 0.3, correlation);
+            step(process, 0, 5);
+            assertTrue(Double.isFinite(process.variance(0)));
+        }
+    }
+
+    @Test
+    public void rejectsCorrelationOutsideTheUnitInterval() {
+        for (double correlation : new double[] { 1.01, -1.5, Double.NaN }) {
+            try {
+                process(0.2, 1.0, 0.04, 0.3, correlation);
+                fail("accepted correlation " + correlation);
+            } catch (IllegalArgumentException expected) {
+                // Rejected before any variance became NaN.
+            }
+        }
+    }
+}
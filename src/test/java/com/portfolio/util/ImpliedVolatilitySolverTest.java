@@ -0,0 +1,104 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.EuropeanOption;
+import com.portfolio.domain.OptionType;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ImpliedVolatilitySolverTest {
+    private static final double[] SPOT = { 100, 100, 100, 80, 120 };
+    private static final double[] STRIKE = { 100, 90, 115, 100, 100 };
+    private static final double[] TIME = { 1.0, 0.25, 2.0, 0.5, 0.1 };
+    private static final boolean[] IS_CALL = { true, false, true, false, true };
+    private static final double[] VOL = { 0.2, 0.35, 0.5, 0.25, 0.6 };
+
+    @Test
+    public void recoversTheVolatilityOfFlatRatePrices() {
+        int n = SPOT.length;
+        double[] price = new double[n];
+        for (int i = 0; i < n; i++) {
+            price[i] = BlackScholesCalculator.price(IS_CALL[i], SPOT[i], STRIKE[i], VOL[i], TIME[i]);
+        }
+        double[] vol = new double[n];
+        int[] iterations = new int[n];
+        long total = new ImpliedVolatilitySolver().solve(price, SPOT, STRIKE, TIME, IS_CALL, vol, iterations);
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            assertEquals(VOL[i], vol[i], 1e-6);
+            assertTrue(iterations[i] > 0);
+            sum += iterations[i];
+        }
+        assertEquals(sum, total);
+    }
+
+    @Test
+    public void solvesAtEachOptionsRateAndDividendYield() {
+        int n = SPOT.length;
+        var contexts = new PricingContext[n];
+        double[] price = new double[n];
+        for (int i = 0; i < n; i++) {
+            contexts[i] = PricingContext.of(STRIKE[i], TIME[i], 0.01 * i, 0.03);
+            var option = new EuropeanOption("O" + i, "S", IS_CALL[i] ? OptionType.CALL : OptionType.PUT, STRIKE[i],
+                    LocalDate.now());
+            price[i] = BlackScholesCalculator.calculate(option, contexts[i], SPOT[i], VOL[i]);
+        }
+        double[] vol = new double[n];
+        new ImpliedVolatilitySolver().solve(price, SPOT, STRIKE, contexts, IS_CALL, vol, null);
+        for (int i = 0; i < n; i++) {
+            assertEquals(VOL[i], vol[i], 1e-6);
+        }
+    }
+
+    @Test
+    public void pricesOutsideTheArbitrageBoundsAreNotSolved() {
+        // Below intrinsic value, and above the spot for a call.
+        double[] price = { 0.5, 150 };
+        double[] spot = { 100, 100 };
+        double[] strike = { 90, 100 };
+        double[] time = { 1.0, 1.0 };
+        double[] vol = new double[2];
+        int[] iterations = new int[2];
+        new ImpliedVolatilitySolver().solve(price, spot, strike, time, new boolean[] { true, true }, vol, iterations);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(Double.isNaN(vol[i]));
+            assertEquals(0, iterations[i]);
+        }
+    }
+
+    @Test
+    public void solvesThatDoNotConvergeReportNaN() {
+        double[] price = { BlackScholesCalculator.price(true, 100, 100, 0.3, 1.0) };
+        double[] vol = { 1.5 };
+        int[] iterations = new int[1];
+        long total = new ImpliedVolatilitySolver(1e-12, 2).solve(price, new double[] { 100 }, new double[] { 100 },
+                new double[] { 1.0 }, new boolean[] { true }, vol, iterations);
+        assertTrue(Double.isNaN(vol[0]));
+        assertEquals(-2, iterations[0]);
+        assertEquals(2, total);
+    }
+
+    @Test
+    public void pricesNeedingAVolatilityOutsideTheBoundsAreNotSolved() {
+        // At-the-money calls at zero rates: 99.5 needs a volatility above 5, 0.001 one below 1e-4.
+        double[] price = { 99.5, 0.001 };
+        var context = PricingContext.of(100, 1.0, 0.0, 0.0);
+        var contexts = new PricingContext[] { context, context };
+        double[] spot = { 100, 100 };
+        double[] strike = { 100, 100 };
+        boolean[] isCall = { true, true };
+        var solver = new ImpliedVolatilitySolver();
+        // Cold, then warm-started just inside each bound.
+        for (double[] vol : new double[][] { { 0, 0 }, { 4.999999, 1.00001e-4 } }) {
+            int[] iterations = new int[2];
+            solver.solve(price, spot, strike, contexts, isCall, vol, iterations);
+            for (int i = 0; i < 2; i++) {
+                assertTrue(Double.isNaN(vol[i]));
+                assertTrue(iterations[i] < 0);
+            }
+        }
+    }
+}
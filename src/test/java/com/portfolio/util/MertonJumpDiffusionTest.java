@@ -0,0 +1,110 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MertonJumpDiffusionTest {
+    private static final int STOCKS = 40_000;
+
+    private static MertonJumpDiffusion process(double mu, double sigma, double intensity, double jumpMean,
+            double jumpVolatility) {
+        double[] ones = new double[STOCKS];
+        Arrays.fill(ones, 1.0);
+        double[] mus = new double[STOCKS];
+        Arrays.fill(mus, mu);
+        double[] sigmas = new double[STOCKS];
+        Arrays.fill(sigmas, sigma);
+        return new MertonJumpDiffusion(ones, mus, sigmas, 1.0, 0.0, Double.MAX_VALUE, intensity, jumpMean,
+                jumpVolatility, 42);
+    }
+
+    // Steps every stock from the same draws, in partitions of the given sizes.
+    private static void step(MertonJumpDiffusion process, int steps, double dt, int... partitions) {
+        double[] shocks = new double[STOCKS];
+        for (int s = 0; s < steps; s++) {
+            GaussianSource.pseudoRandom(7).open(s, STOCKS).next(shocks);
+            int from = 0;
+            for (int p = 0; from < STOCKS; p++) {
+                int to = p < partitions.length ? Math.min(STOCKS, from + partitions[p]) : STOCKS;
+                process.step(from, to, Arrays.copyOfRange(shocks, from, to), new double[0], dt);
+                from = to;
+            }
+        }
+    }
+
+    // Without diffusion and with fixed jump sizes, a stock's log return counts its jumps.
+    private static void assertPoissonJumps(int steps, double dt) {
+        double intensity = 1.0;
+        double jumpMean = 0.25;
+        var process = process(0.0, 0.0, intensity, jumpMean, 0.0);
+        step(process, steps, dt);
+        double lambda = intensity * steps * dt;
+        double drift = -intensity * (Math.exp(jumpMean) - 1) * steps * dt;
+        double sum = 0;
+        double sumOfSquares = 0;
+        int none = 0;
+        for (int i = 0; i < STOCKS; i++) {
+            double jumps = (Math.log(process.price(i)) - drift) / jumpMean;
+            long count = Math.round(jumps);
+            assertEquals(count, jumps, 1e-6);
+            sum += count;
+            sumOfSquares += count * count;
+            none += count == 0 ? 1 : 0;
+        }
+        double mean = sum / STOCKS;
+        double variance = sumOfSquares / STOCKS - mean * mean;
+        // Standard errors of the mean, the variance and the empty fraction of a Poisson sample.
+        assertEquals(lambda, mean, 4 * Math.sqrt(lambda / STOCKS));
+        assertEquals(lambda, variance, 4 * Math.sqrt((lambda + 2 * lambda * lambda) / STOCKS));
+        double empty = Math.exp(-lambda);
+        assertEquals(empty, (double) none / STOCKS, 4 * Math.sqrt(empty * (1 - empty) / STOCKS));
+    }
+
+    @Test
+    public void jumpCountsArePoissonInOneStep() {
+        assertPoissonJumps(1, 1.5);
+    }
+
+    @Test
+    public void jumpCountsArePoissonAcrossSteps() {
+        assertPoissonJumps(150, 0.01);
+    }
+
+    @Test
+    public void compensatedDriftKeepsTheExpectedReturn() {
+        double mu = 0.05;
+        var process = process(mu, 0.2, 0.8, -0.1, 0.15);
+        step(process, 10, 0.1);
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < STOCKS; i++) {
+            double growth = process.price(i);
+            sum += growth;
+            sumOfSquares += growth * growth;
+        }
+        double mean = sum / STOCKS;
+        double standardError = Math.sqrt((sumOfSquares / STOCKS - mean * mean) / STOCKS);
+        assertEquals(Math.exp(mu), mean, 4 * standardError);
+    }
+
+    @Test
+    public void jumpsDoNotDependOnHowTheGroupIsSplit() {
+        var whole = process(0.05, 0.2, 5.0, -0.1, 0.15);
+        var split = process(0.05, 0.2, 5.0, -0.1, 0.15);
+        step(whole, 20, 0.05);
+        step(split, 20, 0.05, 3, 997, 1, 12_345);
+        double[] wholePrices = new double[STOCKS];
+        double[] splitPrices = new double[STOCKS];
+        for (int i = 0; i < STOCKS; i++) {
+            wholePrices[i] = whole.price(i);
+            splitPrices[i] = split.price(i);
+        }
+        assertArrayEquals(wholePrices, splitPrices, 0.0);
+        assertTrue(wholePrices[0] != wholePrices[1]);
+    }
+}
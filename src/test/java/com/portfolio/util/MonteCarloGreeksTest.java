@@ -0,0 +1,102 @@
+package com.portfolio.util;
+
+import com.portfolio.util.MonteCarloGreeks.AdjointPayoff;
+import com.portfolio.util.MonteCarloGreeks.Result;
+import org.junit.Test;
+
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class MonteCarloGreeksTest {
+    private static final double SPOT = 100;
+    private static final double VOL = 0.3;
+    private static final double T = 1.0;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final int BATCHES = 16;
+    private static final long PATHS = 50_000;
+
+    private static GreeksCalculator.Greeks exact(boolean isCall, double strike) {
+        return GreeksCalculator.calculate(isCall, SPOT, strike, VOL, T, new GreeksCalculator.Greeks());
+    }
+
+    // Runs independent batches and checks one estimate's mean is within four standard errors of the closed form.
+    private static void assertWithinStandardErrors(String name, double expected, Result[] batches,
+            ToDoubleFunction<Result> estimate) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (var batch : batches) {
+            double x = estimate.applyAsDouble(batch);
+            sum += x;
+            sumOfSquares += x * x;
+        }
+        double mean = sum / BATCHES;
+        double standardError = Math.sqrt((sumOfSquares / BATCHES - mean * mean) / (BATCHES - 1));
+        assertEquals(name + " (s.e. " + standardError + ")", expected, mean, 4 * standardError);
+    }
+
+    private static Result[] batches(LongFunction<Result> run) {
+        var results = new Result[BATCHES];
+        for (int b = 0; b < BATCHES; b++) {
+            results[b] = run.apply(b + 1);
+        }
+        return results;
+    }
+
+    private static void assertMatchesClosedForm(String name, GreeksCalculator.Greeks exact, Result[] batches,
+            boolean hasGamma) {
+        assertWithinStandardErrors(name + " price", exact.price(), batches, Result::price);
+        assertWithinStandardErrors(name + " delta", exact.delta(), batches, Result::delta);
+        if (hasGamma) {
+            assertWithinStandardErrors(name + " gamma", exact.gamma(), batches, Result::gamma);
+        }
+        assertWithinStandardErrors(name + " vega", exact.vega(), batches, Result::vega);
+        assertWithinStandardErrors(name + " rho", exact.rho(), batches, Result::rho);
+    }
+
+    @Test
+    public void pathwiseGreeksMatchTheClosedForm() {
+        for (boolean isCall : new boolean[] { true, false }) {
+            for (double strike : new double[] { 90, 105 }) {
+                var results = batches(seed -> MonteCarloGreeks.european(isCall, SPOT, strike, VOL, RATE, T, PATHS,
+                        GaussianSource.pseudoRandom(seed)));
+                assertMatchesClosedForm((isCall ? "call K=" : "put K=") + strike, exact(isCall, strike), results,
+                        true);
+            }
+        }
+    }
+
+    @Test
+    public void adjointGreeksOfAEuropeanMatchTheClosedForm() {
+        for (int steps : new int[] { 1, 8 }) {
+            for (boolean isCall : new boolean[] { true, false }) {
+                var payoff = AdjointPayoff.european(isCall, 105);
+                var results = batches(seed -> MonteCarloGreeks.adjoint(payoff, SPOT, VOL, RATE, T, steps, PATHS,
+                        GaussianSource.pseudoRandom(seed)));
+                assertMatchesClosedForm((isCall ? "call" : "put") + ", " + steps + " steps", exact(isCall, 105),
+                        results, false);
+                assertEquals(Double.NaN, results[0].gamma(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void expiredOptionIsWorthItsIntrinsicValue() {
+        var source = GaussianSource.pseudoRandom(1);
+        for (double t : new double[] { 0.0, -0.5 }) {
+            var call = MonteCarloGreeks.european(true, 110, 100, VOL, RATE, t, PATHS, source);
+            assertEquals(new Result(10.0, 1.0, 0.0, 0.0, 0.0, PATHS), call);
+            var put = MonteCarloGreeks.european(false, 110, 100, VOL, RATE, t, PATHS, source);
+            assertEquals(new Result(0.0, 0.0, 0.0, 0.0, 0.0, PATHS), put);
+            var itmPut = MonteCarloGreeks.european(false, 90, 100, VOL, RATE, t, PATHS, source);
+            assertEquals(new Result(10.0, -1.0, 0.0, 0.0, 0.0, PATHS), itmPut);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expiredPathDependentPayoffIsRejected() {
+        MonteCarloGreeks.adjoint(AdjointPayoff.asian(true, 100), SPOT, VOL, RATE, 0.0, 16, PATHS,
+                GaussianSource.pseudoRandom(1));
+    }
+}
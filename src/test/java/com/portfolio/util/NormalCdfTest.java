@@ -0,0 +1,78 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NormalCdfTest {
+    // Phi(z) to 16 significant digits.
+    private static final double[][] REFERENCE = {
+            { -7.0, 1.279812543885835e-12 },
+            { -5.0, 2.866515718791939e-7 },
+            { -3.0, 1.349898031630095e-3 },
+            { -1.0, 0.1586552539314571 },
+            { 0.0, 0.5 },
+            { 0.5, 0.6914624612740131 },
+            { 1.0, 0.8413447460685429 },
+            { 1.96, 0.9750021048517795 },
+            { 2.0, 0.9772498680518208 },
+            { 4.0, 0.9999683287581669 },
+    };
+
+    // The documented absolute error of each engine.
+    private static double tolerance(NormalCdf engine) {
+        return switch (engine) {
+            case ABRAMOWITZ_STEGUN -> 7.5e-8;
+            case RATIONAL -> 1e-14;
+            case TABLE -> 1e-12;
+        };
+    }
+
+    @Test
+    public void everyEngineMatchesReferenceValues() {
+        for (var engine : NormalCdf.values()) {
+            for (double[] point : REFERENCE) {
+                assertEquals(engine + " at " + point[0], point[1], engine.cdf(point[0]), tolerance(engine));
+            }
+        }
+    }
+
+    @Test
+    public void everyEngineIsSymmetric() {
+        for (var engine : NormalCdf.values()) {
+            for (double z = 0; z <= 10; z += 1.0 / 64 + 1e-3) {
+                assertEquals(engine + " at " + z, 1.0, engine.cdf(z) + engine.cdf(-z), 2 * tolerance(engine));
+            }
+        }
+    }
+
+    @Test
+    public void accurateEnginesAreMonotone() {
+        for (var engine : new NormalCdf[] { NormalCdf.RATIONAL, NormalCdf.TABLE }) {
+            double previous = engine.cdf(-9);
+            for (double z = -9; z <= 9; z += 1.0 / 1024) {
+                double value = engine.cdf(z);
+                assertTrue(engine + " at " + z, value >= previous);
+                previous = value;
+            }
+        }
+    }
+
+    @Test
+    public void tailsSaturate() {
+        for (var engine : NormalCdf.values()) {
+            assertEquals(engine.toString(), 0.0, engine.cdf(-40), 1e-300);
+            assertEquals(engine.toString(), 1.0, engine.cdf(40), 0.0);
+        }
+    }
+
+    @Test
+    public void defaultEngineIsAbramowitzStegun() {
+        if (System.getProperty(NormalCdf.PROPERTY) == null) {
+            assertSame(NormalCdf.ABRAMOWITZ_STEGUN, NormalCdf.configured());
+            assertEquals(NormalCdf.ABRAMOWITZ_STEGUN.cdf(0.3), BlackScholesCalculator.cdf(0.3), 0.0);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.portfolio.util;
+
+import com.portfolio.domain.BarrierType;
+import com.portfolio.util.PathSimulationEngine.Dynamics;
+import com.portfolio.util.PathSimulationEngine.PathHistory;
+import com.portfolio.util.PathSimulationEngine.PathPayoff;
+import com.portfolio.util.PathSimulationEngine.Settings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PathSimulationEngineTest {
+    private static final double SPOT = 100;
+    private static final double VOL = 0.3;
+    private static final double RATE = BlackScholesCalculator.RISK_FREE_RATE;
+    private static final int BATCHES = 8;
+
+    private static double[] discountFactors(double[] timeToExpiry) {
+        double[] df = new double[timeToExpiry.length];
+        for (int i = 0; i < df.length; i++) {
+            df[i] = Math.exp(-RATE * Math.max(0, timeToExpiry[i]));
+        }
+        return df;
+    }
+
+    // Mean and standard error of each payoff's price over independent seeds.
+    private static double[][] batches(PathPayoff[] payoffs, double[] timeToExpiry, int paths, int stepsPerYear) {
+        double[] sum = new double[payoffs.length];
+        double[] sumOfSquares = new double[payoffs.length];
+        double[] out = new double[payoffs.length];
+        for (long seed = 1; seed <= BATCHES; seed++) {
+            PathSimulationEngine.price(SPOT, VOL, RATE, 0, payoffs, timeToExpiry, discountFactors(timeToExpiry),
+                    new Settings(paths, stepsPerYear, seed), out);
+            for (int i = 0; i < out.length; i++) {
+                sum[i] += out[i];
+                sumOfSquares[i] += out[i] * out[i];
+            }
+        }
+        double[][] meanAndError = new double[2][payoffs.length];
+        for (int i = 0; i < out.length; i++) {
+            double mean = sum[i] / BATCHES;
+            meanAndError[0][i] = mean;
+            meanAndError[1][i] = Math.sqrt((sumOfSquares[i] / BATCHES - mean * mean) / (BATCHES - 1));
+        }
+        return meanAndError;
+    }
+
+    @Test
+    public void vanillaMatchesBlackScholesOnAndBetweenSteps() {
+        // Monthly steps over a year: 0.5 is a step, 0.3 and 0.71 fall between steps.
+        double[] timeToExpiry = { 0.3, 0.5, 0.71, 1.0 };
+        var payoffs = new PathPayoff[timeToExpiry.length];
+        for (int i = 0; i < payoffs.length; i++) {
+            payoffs[i] = PathPayoff.vanilla(i % 2 == 0, 100);
+        }
+        double[][] result = batches(payoffs, timeToExpiry, 50_000, 12);
+        for (int i = 0; i < payoffs.length; i++) {
+            double exact = BlackScholesCalculator.price(i % 2 == 0, SPOT, 100, VOL, timeToExpiry[i]);
+            assertEquals("T=" + timeToExpiry[i] + " (s.e. " + result[1][i] + ")", exact, result[0][i],
+                    4 * result[1][i]);
+        }
+        // The expiry at 0.3 is priced at 0.3, not at its nearest step 0.333.
+        double rounded = BlackScholesCalculator.price(true, SPOT, 100, VOL, 4 / 12.0);
+        assertTrue(Math.abs(rounded - result[0][0]) > 20 * result[1][0]);
+    }
+
+    @Test
+    public void knockInPlusKnockOutIsTheVanilla() {
+        var payoffs = new PathPayoff[] {
+                PathPayoff.vanilla(true, 105),
+                PathPayoff.barrier(true, 105, BarrierType.UP_AND_OUT, 130),
+                PathPayoff.barrier(true, 105, BarrierType.UP_AND_IN, 130),
+                PathPayoff.vanilla(false, 95),
+                PathPayoff.barrier(false, 95, BarrierType.DOWN_AND_OUT, 80),
+                PathPayoff.barrier(false, 95, BarrierType.DOWN_AND_IN, 80) };
+        double[] timeToExpiry = { 0.45, 0.45, 0.45, 1.0, 1.0, 1.0 };
+        double[] out = new double[payoffs.length];
+        PathSimulationEngine.price(SPOT, VOL, RATE, 0, payoffs, timeToExpiry, discountFactors(timeToExpiry),
+                new Settings(20_000, 252, 7), out);
+        for (int vanilla : new int[] { 0, 3 }) {
+            assertTrue(out[vanilla + 1] > 0 && out[vanilla + 2] > 0);
+            assertEquals(out[vanilla], out[vanilla + 1] + out[vanilla + 2], 1e-9 * out[vanilla]);
+        }
+    }
+
+    @Test
+    public void averagesOnlyTheStepsUpToEachExpiry() {
+        // Without volatility the path is S exp(rt), so every average is known exactly.
+        double rate = 0.08;
+        var payoffs = new PathPayoff[] { PathPayoff.asian(true, 0), PathPayoff.asian(true, 0) };
+        double[] timeToExpiry = { 0.3, 1.0 };
+        double[] out = new double[2];
+        PathSimulationEngine.price(SPOT, Dynamics.flat(0, rate, 0), payoffs, timeToExpiry, new double[] { 1, 1 },
+                new Settings(1_024, 4, 1), GaussianSource.pseudoRandom(1), out);
+        // Quarterly steps: the 0.3 expiry averages the 0.25 step and its own date, not a step at 0.5.
+        assertEquals(SPOT * (Math.exp(rate * 0.25) + Math.exp(rate * 0.3)) / 2, out[0], 1e-9);
+        double yearly = 0;
+        for (int step = 1; step <= 4; step++) {
+            yearly += SPOT * Math.exp(rate * step * 0.25);
+        }
+        // The 0.3 expiry adds no fixing to the one-year average.
+        assertEquals(yearly / 4, out[1], 1e-9);
+    }
+
+    @Test
+    public void historySeedsThePathStatistics() {
+        var payoffs = new PathPayoff[] {
+                PathPayoff.barrier(true, 100, BarrierType.UP_AND_OUT, 130),
+                PathPayoff.barrier(true, 100, BarrierType.UP_AND_IN, 130),
+                PathPayoff.vanilla(true, 100),
+                PathPayoff.asian(true, 100) };
+        double[] timeToExpiry = { 0.5, 0.5, 0.5, 10 / 252.0 };
+        double[] df = discountFactors(timeToExpiry);
+        var settings = new Settings(20_000, 252, 3);
+        double[] fresh = new double[payoffs.length];
+        PathSimulationEngine.price(SPOT, Dynamics.flat(VOL, RATE, 0), payoffs, timeToExpiry, df, settings,
+                GaussianSource.pseudoRandom(3), fresh);
+
+        // The spot has already been to 135, and the Asian has ten fixings at 120.
+        var history = new PathHistory(payoffs.length);
+        for (int i = 0; i < 3; i++) {
+            history.observe(i, 135);
+            history.observe(i, SPOT);
+        }
+        for (int f = 0; f < 10; f++) {
+            history.fix(3, 120);
+        }
+        double[] seeded = new double[payoffs.length];
+        PathSimulationEngine.price(SPOT, Dynamics.flat(VOL, RATE, 0), payoffs, timeToExpiry, df, history, settings,
+                GaussianSource.pseudoRandom(3), seeded);
+
+        assertTrue(fresh[0] > 1);
+        assertEquals(0.0, seeded[0], 0.0);
+        assertEquals(seeded[2], seeded[1], 0.0);
+        assertEquals(fresh[2], seeded[2], 0.0);
+        // Half the Asian's fixings are at 120, so its average is near 110.
+        assertTrue("Asian " + seeded[3], seeded[3] > 9 && seeded[3] > fresh[3] + 5);
+    }
+
+    @Test
+    public void expiredPayoffsUseWhatTheyObserved() {
+        var payoffs = new PathPayoff[] {
+                PathPayoff.barrier(true, 100, BarrierType.UP_AND_OUT, 130),
+                PathPayoff.asian(true, 100),
+                PathPayoff.vanilla(true, 100) };
+        double[] timeToExpiry = { 0.0, -0.1, 0.0 };
+        var history = new PathHistory(payoffs.length);
+        history.observe(0, 140);
+        history.observe(0, 120);
+        history.fix(1, 110);
+        history.fix(1, 130);
+        double[] out = new double[payoffs.length];
+        PathSimulationEngine.price(SPOT, Dynamics.flat(VOL, RATE, 0), payoffs, timeToExpiry, new double[] { 1, 1, 1 },
+                history, new Settings(1_000, 252, 1), GaussianSource.pseudoRandom(1), out);
+        assertEquals(0.0, out[0], 0.0);
+        assertEquals(20.0, out[1], 1e-12);
+        // Nothing observed: today's spot.
+        assertEquals(0.0, out[2], 0.0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SobolSequenceTest {
+    // Past the Joe-Kuo rows, into the generated direction numbers.
+    private static final int DIMENSION = 20;
+
+    @Test
+    public void everyAlignedBlockStratifiesEachCoordinate() {
+        int block = 1024;
+        for (long seed : new long[] { 0, 7 }) {
+            var sequence = new SobolSequence(DIMENSION, seed);
+            // Points 1024 to 2047.
+            sequence.skipTo(block - 1);
+            int[][] counts = new int[DIMENSION][block];
+            double[] u = new double[DIMENSION];
+            for (int i = 0; i < block; i++) {
+                sequence.next(u);
+                for (int d = 0; d < DIMENSION; d++) {
+                    assertTrue(u[d] > 0 && u[d] < 1);
+                    counts[d][(int) (u[d] * block)]++;
+                }
+            }
+            for (int d = 0; d < DIMENSION; d++) {
+                for (int bin = 0; bin < block; bin++) {
+                    assertEquals("dimension " + d + ", bin " + bin, 1, counts[d][bin]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void skipToMatchesSequentialGeneration() {
+        var sequential = new SobolSequence(DIMENSION, 3);
+        double[] expected = new double[DIMENSION];
+        for (int i = 0; i < 701; i++) {
+            sequential.next(expected);
+        }
+        var skipped = new SobolSequence(DIMENSION, 3);
+        skipped.skipTo(700);
+        double[] actual = new double[DIMENSION];
+        skipped.next(actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        sequential.next(expected);
+        skipped.next(actual);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    public void seedSelectsTheShift() {
+        double[] a = new double[DIMENSION];
+        double[] b = new double[DIMENSION];
+        double[] c = new double[DIMENSION];
+        new SobolSequence(DIMENSION, 1).next(a);
+        new SobolSequence(DIMENSION, 1).next(b);
+        new SobolSequence(DIMENSION, 2).next(c);
+        assertArrayEquals(a, b, 0.0);
+        for (int d = 0; d < DIMENSION; d++) {
+            assertTrue(a[d] != c[d]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeIndexIsRejected() {
+        new SobolSequence(2, 0).skipTo(-1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.portfolio.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class YieldCurveTest {
+    private final YieldCurve curve = new YieldCurve(new double[] { 0.25, 1.0, 5.0 },
+            new double[] { 0.01, 0.03, 0.04 });
+
+    @Test
+    public void interpolatesLinearlyBetweenTenors() {
+        assertEquals(0.03, curve.rate(1.0), 0.0);
+        assertEquals(0.02, curve.rate(0.625), 1e-15);
+        assertEquals(0.0325, curve.rate(2.0), 1e-15);
+        assertEquals(0.0375, curve.rate(4.0), 1e-15);
+    }
+
+    @Test
+    public void isFlatBeyondItsTenors() {
+        assertEquals(0.01, curve.rate(0.0), 0.0);
+        assertEquals(0.01, curve.rate(0.1), 0.0);
+        assertEquals(0.01, curve.rate(-1.0), 0.0);
+        assertEquals(0.04, curve.rate(30.0), 0.0);
+        assertEquals(0.05, YieldCurve.flat(0.05).rate(7.0), 0.0);
+    }
+
+    @Test
+    public void discountsAtTheInterpolatedRate() {
+        assertEquals(Math.exp(-0.0325 * 2.0), curve.discountFactor(2.0), 1e-15);
+        assertEquals(1.0, curve.discountFactor(0.0), 0.0);
+    }
+
+    @Test
+    public void copiesItsInputs() {
+        double[] rates = { 0.01, 0.02 };
+        var copied = new YieldCurve(new double[] { 1, 2 }, rates);
+        rates[0] = 0.5;
+        assertEquals(0.01, copied.rate(1.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tenorsMustIncrease() {
+        new YieldCurve(new double[] { 1.0, 1.0 }, new double[] { 0.01, 0.02 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needsOneRatePerTenor() {
+        new YieldCurve(new double[] { 1.0, 2.0 }, new double[] { 0.01 });
+    }
+}